@@ -3,6 +3,7 @@ plugins {
     id("io.papermc.paperweight.userdev") version "2.0.0-beta.19"
     id("com.gradleup.shadow") version "9.3.1"
     id("xyz.jpenilla.run-paper") version "3.0.2"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "dev.officialmex.dee"
@@ -10,11 +11,29 @@ version = "2.0.0-beta"
 
 repositories {
     mavenCentral()
+    maven("https://repo.papermc.io/repository/maven-public/")
 }
 
 dependencies {
     paperweight.paperDevBundle("1.21.11-R0.1-SNAPSHOT")
     implementation("org.bstats:bstats-bukkit:3.1.0")
+
+    // Pinned, so benchmark results don't change with whatever release was the newest when they were run
+    jmh("org.mockbukkit.mockbukkit:mockbukkit-v1.21:4.33.2")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Reports the allocation rate next to the timings
+    profilers.set(listOf("gc"))
+    // MockBukkit brings its own copy of the Paper API
+    duplicateClassesStrategy.set(DuplicatesStrategy.EXCLUDE)
 }
 
 java {
@@ -38,6 +57,10 @@ tasks {
         dependsOn(shadowJar)
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     processResources {
         filesMatching("plugin.yml") {
             expand("version" to version)
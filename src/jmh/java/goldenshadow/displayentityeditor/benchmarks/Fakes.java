@@ -0,0 +1,254 @@
+package goldenshadow.displayentityeditor.benchmarks;
+
+import goldenshadow.displayentityeditor.ActionbarChannel;
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.EditingHandler;
+import goldenshadow.displayentityeditor.MessageManager;
+import goldenshadow.displayentityeditor.editing.MotionSmoother;
+import goldenshadow.displayentityeditor.editing.TransformationBuffer;
+import goldenshadow.displayentityeditor.index.DisplayIndex;
+import goldenshadow.displayentityeditor.index.LockStateCache;
+import goldenshadow.displayentityeditor.sessions.EditSessions;
+import goldenshadow.displayentityeditor.tools.ToolRegistry;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.*;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Hand-written stand-ins for the parts of the server the benchmarked code talks to. Worlds, players and displays are proxies
+ * that only keep the state the plugin actually reads, so the benchmarks measure the plugin and not a fake server.
+ */
+final class Fakes {
+
+    private static int nextEntityId = 1;
+
+    private Fakes() {}
+
+    /**
+     * Used to set up the plugin singleton without a server loading it. The instance is never constructed, only the fields
+     * the benchmarked code reads are filled in.
+     * @return The plugin
+     */
+    static DisplayEntityEditor plugin() throws ReflectiveOperationException {
+        Field unsafeField = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+        unsafeField.setAccessible(true);
+        Object unsafe = unsafeField.get(null);
+        DisplayEntityEditor plugin = (DisplayEntityEditor) unsafe.getClass().getMethod("allocateInstance", Class.class).invoke(unsafe, DisplayEntityEditor.class);
+
+        PluginDescriptionFile description = new PluginDescriptionFile("DisplayEntityEditor", "benchmark", DisplayEntityEditor.class.getName());
+        for (Field field : JavaPlugin.class.getDeclaredFields()) {
+            if (field.getType().isAssignableFrom(PluginDescriptionFile.class) && field.getType() != Object.class) {
+                set(plugin, field, description);
+            } else if (field.getType() == boolean.class && field.getName().equals("isEnabled")) {
+                set(plugin, field, true);
+            }
+        }
+
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("plugin"), plugin);
+        EditSessions editSessions = new EditSessions();
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("editSessions"), editSessions);
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("editingHandler"), new EditingHandler(editSessions));
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("displayIndex"), new DisplayIndex());
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("lockStateCache"), new LockStateCache());
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("transformationBuffer"), new TransformationBuffer());
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("motionSmoother"), new MotionSmoother());
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("actionbarChannel"), new ActionbarChannel());
+        set(plugin, DisplayEntityEditor.class.getDeclaredField("toolRegistry"), new ToolRegistry());
+
+        DisplayEntityEditor.toolSelectionModeKey = new NamespacedKey(plugin, "toolSelectionMode");
+        DisplayEntityEditor.toolSelectionRangeKey = new NamespacedKey(plugin, "toolSelectionRange");
+        DisplayEntityEditor.toolSelectionMultipleKey = new NamespacedKey(plugin, "toolSelectionMultiple");
+        DisplayEntityEditor.toolSelectionSearchModeKey = new NamespacedKey(plugin, "toolSelectionSearchMode");
+        DisplayEntityEditor.toolPrecisionKey = new NamespacedKey(plugin, "toolPrecision");
+        DisplayEntityEditor.toolKey = new NamespacedKey(plugin, "tool");
+        DisplayEntityEditor.toolIdKey = new NamespacedKey(plugin, "toolId");
+        return plugin;
+    }
+
+    /**
+     * Used to load the messages that ship with the plugin
+     * @return The message manager
+     */
+    static MessageManager messages() throws IOException {
+        InputStream fallback = DisplayEntityEditor.class.getClassLoader().getResourceAsStream("messages.yml");
+        InputStream messages = DisplayEntityEditor.class.getClassLoader().getResourceAsStream("messages.yml");
+        return new MessageManager(fallback, messages, false);
+    }
+
+    /**
+     * Used to create an empty world
+     * @return The world
+     */
+    static World world() {
+        UUID uuid = UUID.randomUUID();
+        return proxy(World.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getUID" -> uuid;
+            case "getName" -> "benchmark";
+            default -> common(proxy, method, args);
+        });
+    }
+
+    /**
+     * Used to create a player standing at a location. Its persistent data container is empty, so every tool setting is at its default.
+     * @param location The location, including where the player is looking
+     * @return The player
+     */
+    static Player player(Location location) {
+        UUID uuid = UUID.randomUUID();
+        PersistentDataContainer data = emptyDataContainer();
+        return proxy(Player.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getLocation" -> location.clone();
+            case "getEyeLocation" -> location.clone().add(0, 1.62, 0);
+            case "getWorld" -> location.getWorld();
+            case "getUniqueId" -> uuid;
+            case "getName" -> "Benchmark";
+            case "getPersistentDataContainer" -> data;
+            case "isOnline" -> true;
+            default -> common(proxy, method, args);
+        });
+    }
+
+    /**
+     * Used to create a display
+     * @param type The type of display
+     * @param location The location of the display
+     * @return The display
+     */
+    static <T extends Display> T display(Class<T> type, Location location) {
+        DisplayState state = new DisplayState(location.clone());
+        EntityType entityType = type == BlockDisplay.class ? EntityType.BLOCK_DISPLAY : type == ItemDisplay.class ? EntityType.ITEM_DISPLAY : EntityType.TEXT_DISPLAY;
+        return proxy(type, (proxy, method, args) -> switch (method.getName()) {
+            case "getLocation" -> {
+                if (args != null && args.length == 1 && args[0] instanceof Location target) {
+                    target.setWorld(state.location.getWorld());
+                    target.setX(state.location.getX());
+                    target.setY(state.location.getY());
+                    target.setZ(state.location.getZ());
+                    target.setYaw(state.location.getYaw());
+                    target.setPitch(state.location.getPitch());
+                    yield target;
+                }
+                yield state.location.clone();
+            }
+            case "teleport" -> {
+                if (args[0] instanceof Location target) {
+                    state.location = target.clone();
+                }
+                yield true;
+            }
+            case "setRotation" -> {
+                state.location.setYaw((float) args[0]);
+                state.location.setPitch((float) args[1]);
+                yield null;
+            }
+            case "getWorld" -> state.location.getWorld();
+            case "getEntityId" -> state.id;
+            case "getUniqueId" -> state.uuid;
+            case "getType" -> entityType;
+            case "isValid" -> true;
+            case "getTransformation" -> copy(state.transformation);
+            case "setTransformation" -> {
+                state.transformation = copy((Transformation) args[0]);
+                yield null;
+            }
+            case "getBillboard" -> state.billboard;
+            case "setBillboard" -> {
+                state.billboard = (Display.Billboard) args[0];
+                yield null;
+            }
+            case "getDisplayWidth" -> state.width;
+            case "getDisplayHeight" -> state.height;
+            case "getScoreboardTags" -> state.tags;
+            case "addScoreboardTag" -> state.tags.add((String) args[0]);
+            case "removeScoreboardTag" -> state.tags.remove((String) args[0]);
+            case "getPersistentDataContainer" -> state.data;
+            case "getText" -> "Benchmark";
+            default -> common(proxy, method, args);
+        });
+    }
+
+    private static PersistentDataContainer emptyDataContainer() {
+        return proxy(PersistentDataContainer.class, (proxy, method, args) -> switch (method.getName()) {
+            // getOrDefault(key, type, default)
+            case "getOrDefault" -> args[2];
+            case "has" -> false;
+            case "isEmpty" -> true;
+            default -> common(proxy, method, args);
+        });
+    }
+
+    private static Transformation copy(Transformation t) {
+        return new Transformation(new Vector3f(t.getTranslation()), new Quaternionf(t.getLeftRotation()), new Vector3f(t.getScale()), new Quaternionf(t.getRightRotation()));
+    }
+
+    /**
+     * Used to answer the methods every proxy has in common. Anything else returns the default value of its type.
+     */
+    private static Object common(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return args != null && args.length == 1 && proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return method.getDeclaringClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == char.class) return (char) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (type == Set.class) return new HashSet<>();
+        if (type == List.class || type == Collection.class) return new ArrayList<>();
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static void set(Object target, Field field, Object value) throws IllegalAccessException {
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * The state of a fake display
+     */
+    private static final class DisplayState {
+
+        private final int id = nextEntityId++;
+        private final UUID uuid = UUID.randomUUID();
+        private final Set<String> tags = new HashSet<>();
+        private final PersistentDataContainer data = emptyDataContainer();
+        private Location location;
+        private Transformation transformation = new Transformation(new Vector3f(), new Quaternionf(), new Vector3f(1, 1, 1), new Quaternionf());
+        private Display.Billboard billboard = Display.Billboard.FIXED;
+        private float width = 0;
+        private float height = 0;
+
+        private DisplayState(Location location) {
+            this.location = location;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package goldenshadow.displayentityeditor.benchmarks;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.inventories.InventoryFactory;
+import goldenshadow.displayentityeditor.items.GUIItems;
+import goldenshadow.displayentityeditor.items.InventoryItems;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.inventory.Inventory;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to build the edit gui of a display. MockBukkit provides the items and inventories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GUIBenchmark {
+
+    private InventoryFactory inventoryFactory;
+    private ItemDisplay itemDisplay;
+    private TextDisplay textDisplay;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException, IOException {
+        MockBukkit.mock();
+        Fakes.plugin();
+        DisplayEntityEditor.messageManager = Fakes.messages();
+        inventoryFactory = new InventoryFactory(new GUIItems(), new InventoryItems());
+
+        World world = Fakes.world();
+        itemDisplay = Fakes.display(ItemDisplay.class, new Location(world, 0, 64, 0));
+        textDisplay = Fakes.display(TextDisplay.class, new Location(world, 0, 64, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public Inventory createItemDisplayGUI() {
+        return inventoryFactory.createItemDisplayGUI(itemDisplay);
+    }
+
+    @Benchmark
+    public Inventory createTextDisplayGUI() {
+        return inventoryFactory.createTextDisplayGUI(textDisplay);
+    }
+}
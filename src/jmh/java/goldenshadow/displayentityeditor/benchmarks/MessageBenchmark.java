@@ -0,0 +1,46 @@
+package goldenshadow.displayentityeditor.benchmarks;
+
+import goldenshadow.displayentityeditor.MessageManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up and formatting messages, which happens for every tool click and every gui item
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MessageBenchmark {
+
+    private static final int MOVE_X = MessageManager.id("move_x");
+
+    private MessageManager messageManager;
+
+    @Setup
+    public void setup() throws IOException {
+        messageManager = Fakes.messages();
+    }
+
+    @Benchmark
+    public String getString() {
+        return messageManager.getString("yaw");
+    }
+
+    @Benchmark
+    public List<String> getList() {
+        return messageManager.getList("billboard");
+    }
+
+    @Benchmark
+    public String formatByKey() {
+        return messageManager.format("move_x", "1.5");
+    }
+
+    @Benchmark
+    public String formatById() {
+        return messageManager.format(MOVE_X, "1.5");
+    }
+}
@@ -0,0 +1,58 @@
+package goldenshadow.displayentityeditor.benchmarks;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.SelectionMode;
+import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the tools take to find the displays they act on, with the displays spread over a 96x24x96 area around the player
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SelectionBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int displays;
+
+    private Player player;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        DisplayEntityEditor plugin = Fakes.plugin();
+        World world = Fakes.world();
+        Random random = new Random(42);
+        for (int i = 0; i < displays; i++) {
+            Location location = new Location(world, random.nextDouble() * 96 - 48, 64 + random.nextDouble() * 24, random.nextDouble() * 96 - 48);
+            plugin.getDisplayIndex().add(Fakes.display(BlockDisplay.class, location));
+        }
+        // Looking along the x-axis, slightly downwards
+        player = Fakes.player(new Location(world, 0.5, 70, 0.5, -90, 10));
+    }
+
+    @Benchmark
+    public List<Display> nearby() {
+        return SelectionMode.NEARBY.select(player, LockSearchMode.UNLOCKED);
+    }
+
+    @Benchmark
+    public List<Display> raycast() {
+        return SelectionMode.RAYCAST.select(player, LockSearchMode.UNLOCKED);
+    }
+
+    @Benchmark
+    public Display nearestDisplayEntity() {
+        return Utilities.getNearestDisplayEntity(player.getLocation(), true);
+    }
+}
@@ -0,0 +1,102 @@
+package goldenshadow.displayentityeditor.benchmarks;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.editing.TransformationBuffer;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Transformation;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one click of the transformation tools on a selected group, including writing the edits and the actionbar message
+ * at the end of the tick. The edits are the same as the ones made by {@code Interact} and {@code OffhandSwap}.
+ * {@link #editAndFlush()} measures only the {@link TransformationBuffer} itself; its allocation rate in the gc profiler output
+ * is what buffering an edit costs per display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TransformationEditBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int groupSize;
+
+    private ServerMock server;
+    private TransformationBuffer transformationBuffer;
+    private Player player;
+    private final List<Display> displays = new ArrayList<>();
+
+    @Setup
+    public void setup() throws ReflectiveOperationException, IOException {
+        server = MockBukkit.mock();
+        DisplayEntityEditor plugin = Fakes.plugin();
+        DisplayEntityEditor.messageManager = Fakes.messages();
+        transformationBuffer = plugin.getTransformationBuffer();
+
+        World world = Fakes.world();
+        for (int i = 0; i < groupSize; i++) {
+            Display display = Fakes.display(BlockDisplay.class, new Location(world, i % 32, 64, i / 32));
+            plugin.getDisplayIndex().add(display);
+            displays.add(display);
+        }
+        player = Fakes.player(new Location(world, 0, 64, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public void translate() {
+        displays.forEach(display -> {
+            Transformation t = transformationBuffer.edit(display);
+            t.getTranslation().add((float) (0.1f * Utilities.getToolPrecision(player)), 0, 0);
+            Utilities.sendActionbarValue(player, "translation_x", t.getTranslation().x());
+        });
+        server.getScheduler().performOneTick();
+    }
+
+    @Benchmark
+    public void leftRotation() {
+        displays.forEach(display -> {
+            Transformation t = transformationBuffer.edit(display);
+            boolean b = Utilities.getData(display, "GUILRNormalize");
+            t.getLeftRotation().add((float) (0.1f * Utilities.getToolPrecision(player)), 0, 0, 0);
+            if (b) {
+                t.getLeftRotation().normalize();
+            }
+            Utilities.sendActionbarValue(player, "left_rot_x", t.getLeftRotation().x(), (b ? DisplayEntityEditor.messageManager.getString("normalized") : ""));
+        });
+        server.getScheduler().performOneTick();
+    }
+
+    @Benchmark
+    public void editAndFlush() {
+        for (Display display : displays) {
+            transformationBuffer.edit(display).getScale().x += 0.1f;
+        }
+        transformationBuffer.flush();
+    }
+
+    @Benchmark
+    public void reset() {
+        displays.forEach(display -> {
+            Transformation t = transformationBuffer.edit(display);
+            t.getScale().x = 1;
+        });
+        Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("value_reset"));
+        server.getScheduler().performOneTick();
+    }
+}
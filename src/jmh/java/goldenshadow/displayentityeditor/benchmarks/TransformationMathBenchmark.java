@@ -0,0 +1,75 @@
+package goldenshadow.displayentityeditor.benchmarks;
+
+import goldenshadow.displayentityeditor.editing.Transformations;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the transformation math of the rotation and scale tools and of smooth tool motion on its own, without writing to a display.
+ * Run with the gc profiler (enabled in the build script) to see the allocation rate, which should be close to 0 bytes per operation
+ * for everything apart from {@link #offsetAllocating()}, the way smooth motion used to work out its transformation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TransformationMathBenchmark {
+
+    private static final float DEG_TO_RAD = (float) (Math.PI / 180);
+
+    private final Transformation base = new Transformation(new Vector3f(-0.5f, 0, -0.5f), new Quaternionf().rotationX(0.3f),
+            new Vector3f(1, 2, 1), new Quaternionf().rotationY(0.2f));
+    private final float[] original = new float[Transformations.SIZE];
+    private float yaw = 45, pitch = 10;
+    private float step;
+
+    @Setup
+    public void setup() {
+        Transformations.write(base, original, 0);
+    }
+
+    @Benchmark
+    public Transformation offset() {
+        step += 0.1f;
+        return Transformations.offset(base, yaw, pitch, step, -step, 0.1f, 0, step);
+    }
+
+    @Benchmark
+    public Transformation offsetAllocating() {
+        step += 0.1f;
+        Quaternionf current = new Quaternionf().rotationYXZ(-yaw * DEG_TO_RAD, pitch * DEG_TO_RAD, 0);
+        Quaternionf target = new Quaternionf().rotationYXZ(-(yaw + step) * DEG_TO_RAD, (pitch - step) * DEG_TO_RAD, 0);
+        Quaternionf inverse = current.conjugate();
+        Quaternionf difference = new Quaternionf(inverse).mul(target);
+        Vector3f translation = difference.transform(new Vector3f(base.getTranslation())).add(inverse.transform(new Vector3f(0.1f, 0, step)));
+        Quaternionf leftRotation = new Quaternionf(difference).mul(base.getLeftRotation());
+        return new Transformation(translation, leftRotation, base.getScale(), base.getRightRotation());
+    }
+
+    @Benchmark
+    public void rotate(Blackhole blackhole) {
+        // One click of a rotation tool with normalizing enabled, followed by the check whether the display has to be written
+        Quaternionf q = base.getLeftRotation();
+        Transformations.set(q, 0, Transformations.get(q, 0) + 0.1f);
+        q.normalize();
+        blackhole.consume(Transformations.matches(base, original, 0));
+        base.getLeftRotation().set(original[3], original[4], original[5], original[6]);
+    }
+
+    @Benchmark
+    public void scale(Blackhole blackhole) {
+        Vector3f scale = base.getScale();
+        scale.setComponent(1, scale.get(1) + 0.1f);
+        blackhole.consume(Transformations.matches(base, original, 0));
+        scale.setComponent(1, original[8]);
+    }
+
+    @Benchmark
+    public Transformation restore() {
+        return Transformations.read(original, 0);
+    }
+}
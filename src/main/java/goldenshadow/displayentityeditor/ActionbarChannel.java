@@ -0,0 +1,152 @@
+package goldenshadow.displayentityeditor;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.*;
+
+/**
+ * Collects the actionbar messages sent to each player within one tick and only sends the last one at the end of it.
+ * When a tool edits a whole group of displays, the values reported for each display are summarised into one message
+ * showing the range of values instead.
+ * On Folia the regions editing the displays of a group all report to the same channel, so it is synchronized.
+ */
+public class ActionbarChannel {
+
+    private static final int DISPLAY_COUNT = MessageManager.id("actionbar_display_count");
+
+    private final DecimalFormat df = new DecimalFormat("#.####");
+    private final Map<UUID, Pending> pending = new LinkedHashMap<>();
+    private final Map<UUID, Sent> lastSent = new HashMap<>();
+    private boolean flushScheduled = false;
+
+    public ActionbarChannel() {
+        df.setRoundingMode(RoundingMode.CEILING);
+    }
+
+    /**
+     * Used to send a message. It replaces any other message sent to the player in this tick.
+     * @param player The player
+     * @param message The message
+     */
+    public synchronized void send(Player player, String message) {
+        Pending p = get(player);
+        p.messageId = -1;
+        p.message = message;
+    }
+
+    /**
+     * Used to send a message reporting a value of a single display. If several of these are sent with the same message in one tick,
+     * they are summarised into one message showing the lowest and highest value.
+     * @param player The player
+     * @param messageId The id of the message, the value fills in its last placeholder
+     * @param value The value
+     * @param args The values of the placeholders before the last one
+     */
+    public synchronized void sendValue(Player player, int messageId, double value, Object... args) {
+        Pending p = get(player);
+        if (p.messageId != messageId || !Arrays.equals(p.args, args)) {
+            p.messageId = messageId;
+            p.args = args;
+            p.count = 0;
+            p.min = Double.POSITIVE_INFINITY;
+            p.max = Double.NEGATIVE_INFINITY;
+        }
+        p.count++;
+        p.min = Math.min(p.min, value);
+        p.max = Math.max(p.max, value);
+    }
+
+    /**
+     * Used to send all collected messages
+     */
+    public synchronized void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        Pending[] toSend = pending.values().toArray(new Pending[0]);
+        pending.clear();
+        for (Pending p : toSend) {
+            if (p.player.isOnline()) {
+                p.player.sendActionBar(component(p.player.getUniqueId(), p.text()));
+            }
+        }
+    }
+
+    /**
+     * Used to drop everything stored for a player, for example when they leave
+     * @param player The player
+     */
+    public synchronized void forget(Player player) {
+        pending.remove(player.getUniqueId());
+        lastSent.remove(player.getUniqueId());
+    }
+
+    private Pending get(Player player) {
+        Pending p = pending.get(player.getUniqueId());
+        if (p == null) {
+            p = new Pending(player);
+            pending.put(player.getUniqueId(), p);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                Scheduling.run(this::flush);
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Used to get the component of a message. Players keep getting the same component for as long as the text does not change.
+     */
+    private Component component(UUID uuid, String text) {
+        Sent sent = lastSent.get(uuid);
+        if (sent != null && sent.text.equals(text)) {
+            return sent.component;
+        }
+        Component component = LegacyComponentSerializer.legacySection().deserialize(ChatColor.DARK_AQUA + text);
+        lastSent.put(uuid, new Sent(text, component));
+        return component;
+    }
+
+    private record Sent(String text, Component component) {}
+
+    /**
+     * The message a player is going to receive at the end of the tick
+     */
+    private class Pending {
+
+        private final Player player;
+        private String message;
+        private int messageId = -1;
+        private Object[] args;
+        private int count;
+        private double min;
+        private double max;
+
+        private Pending(Player player) {
+            this.player = player;
+        }
+
+        private String text() {
+            if (messageId == -1) {
+                return message;
+            }
+            Object[] values = Arrays.copyOf(args, args.length + 1);
+            if (count == 1 || min == max) {
+                values[args.length] = df.format(min);
+            } else {
+                values[args.length] = df.format(min) + ".." + df.format(max);
+            }
+            String text = DisplayEntityEditor.messageManager.format(messageId, values);
+            if (count > 1) {
+                text += " " + DisplayEntityEditor.messageManager.format(DISPLAY_COUNT, count);
+            }
+            return text;
+        }
+    }
+}
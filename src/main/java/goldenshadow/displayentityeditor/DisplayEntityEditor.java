@@ -1,10 +1,24 @@
 package goldenshadow.displayentityeditor;
 
+import goldenshadow.displayentityeditor.builds.BuildManager;
 import goldenshadow.displayentityeditor.commands.DisplayEntityEditorBrigadierCommand;
+import goldenshadow.displayentityeditor.editing.BulkCloner;
+import goldenshadow.displayentityeditor.editing.EditJournal;
+import goldenshadow.displayentityeditor.editing.MotionSmoother;
+import goldenshadow.displayentityeditor.editing.TransformationBuffer;
 import goldenshadow.displayentityeditor.events.*;
+import goldenshadow.displayentityeditor.index.DisplayIndex;
+import goldenshadow.displayentityeditor.index.LockStateCache;
 import goldenshadow.displayentityeditor.inventories.InventoryFactory;
+import goldenshadow.displayentityeditor.inventories.SavedInventoryStore;
 import goldenshadow.displayentityeditor.items.GUIItems;
 import goldenshadow.displayentityeditor.items.InventoryItems;
+import goldenshadow.displayentityeditor.prefabs.PrefabLibrary;
+import goldenshadow.displayentityeditor.sessions.BoxSelector;
+import goldenshadow.displayentityeditor.sessions.EditSessions;
+import goldenshadow.displayentityeditor.sessions.GroupSelector;
+import goldenshadow.displayentityeditor.tools.EditorTools;
+import goldenshadow.displayentityeditor.tools.ToolRegistry;
 import io.papermc.paper.command.brigadier.Commands;
 import io.papermc.paper.plugin.lifecycle.event.LifecycleEventManager;
 import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
@@ -14,27 +28,38 @@ import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.conversations.ConversationFactory;
-import org.bukkit.entity.Display;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.*;
-import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.function.Consumer;
 
 public final class DisplayEntityEditor extends JavaPlugin {
 
     private static DisplayEntityEditor plugin;
     public static ConversationFactory conversationFactory;
     public static InventoryFactory inventoryFactory;
-    public static HashMap<UUID, Display> currentEditMap = new HashMap<>();
     public static boolean alternateTextInput = false;
     public static boolean useMiniMessageFormat = false;
+    public static boolean smoothToolMotion = false;
+    public static double smoothToolMotionCommitDistance = 1;
+    public static int smoothToolMotionIdleTicks = 10;
+    public static int smoothToolMotionInterpolation = 2;
+    public static long undoMemoryBudget = 4096 * 1024;
+    public static double cloneTickBudget = 5;
+    public static int prefabCacheSize = 10000;
+    public static int boxSelectChunksPerTick = 8;
+    public static int boxSelectMaxChunks = 4096;
+    public static int groupSelectHighlightBudget = 64;
+    public static int displayIndexRefreshSeconds = 30;
+    public static String updateCheckUrl = "https://api.spigotmc.org/legacy/update.php?resource=110267";
+    public static long updateCheckInterval = 60;
+    public static long updateCheckTimeout = 5;
     public static MiniMessage miniMessage = MiniMessage.builder()
             .tags(TagResolver.builder()
                     .resolver(StandardTags.color())
@@ -58,9 +83,29 @@ public final class DisplayEntityEditor extends JavaPlugin {
     public static NamespacedKey toolSelectionSearchModeKey;
     public static NamespacedKey toolPrecisionKey;
     public static NamespacedKey toolKey;
+    public static NamespacedKey toolIdKey;
+    public static NamespacedKey selectedPrefabKey;
+    public static NamespacedKey groupFilterTypeKey;
+    public static NamespacedKey groupFilterNameKey;
+    public static NamespacedKey groupFilterMaterialKey;
 
     private final DisplayEntityEditorBrigadierCommand command = new DisplayEntityEditorBrigadierCommand();
+    private EditSessions editSessions;
     private EditingHandler editingHandler;
+    private DisplayIndex displayIndex;
+    private LockStateCache lockStateCache;
+    private TransformationBuffer transformationBuffer;
+    private MotionSmoother motionSmoother;
+    private ActionbarChannel actionbarChannel;
+    private EditJournal editJournal;
+    private BulkCloner bulkCloner;
+    private BuildManager buildManager;
+    private PrefabLibrary prefabLibrary;
+    private SavedInventoryStore savedInventoryStore;
+    private BoxSelector boxSelector;
+    private GroupSelector groupSelector;
+    private ToolRegistry toolRegistry;
+    private UpdateChecker updateChecker;
 
     /**
      * Used for when the plugin starts up
@@ -71,8 +116,7 @@ public final class DisplayEntityEditor extends JavaPlugin {
 
         getConfig().options().copyDefaults(true);
         saveConfig();
-        alternateTextInput = getConfig().getBoolean("alternate-text-input");
-        useMiniMessageFormat = getConfig().getBoolean("use-minimessage-format");
+        loadConfigValues();
 
         try {
             checkForMessageFile();
@@ -80,19 +124,48 @@ public final class DisplayEntityEditor extends JavaPlugin {
             plugin.getLogger().severe("Failed to load messages.yml!");
         }
 
-        this.editingHandler = new EditingHandler();
+        this.editSessions = new EditSessions();
+        this.editingHandler = new EditingHandler(editSessions);
+        this.displayIndex = new DisplayIndex();
+        this.lockStateCache = new LockStateCache();
+        this.transformationBuffer = new TransformationBuffer();
+        this.motionSmoother = new MotionSmoother();
+        this.actionbarChannel = new ActionbarChannel();
+        this.editJournal = new EditJournal();
+        this.bulkCloner = new BulkCloner();
+        this.buildManager = new BuildManager(new File(getDataFolder(), "builds"));
+        this.prefabLibrary = new PrefabLibrary(new File(getDataFolder(), "prefabs"));
+        this.savedInventoryStore = new SavedInventoryStore(new File(getDataFolder(), "inventories"));
+        this.boxSelector = new BoxSelector();
+        this.groupSelector = new GroupSelector();
+        this.toolRegistry = new ToolRegistry();
+        this.updateChecker = new UpdateChecker();
+        new EditorTools(editingHandler, transformationBuffer, motionSmoother, editJournal, bulkCloner, buildManager, prefabLibrary, boxSelector, groupSelector).registerAll(toolRegistry);
+        try {
+            prefabLibrary.load();
+        } catch (IOException e) {
+            getLogger().warning(messageManager.format("prefab_index_fail", e.getMessage()));
+        }
+        // Folia does not allow reading all entities of a world at once, there displays are indexed as their chunks load
+        if (!Scheduling.FOLIA) {
+            for (World world : Bukkit.getWorlds()) {
+                displayIndex.indexWorld(world);
+            }
+        }
+        Scheduling.runTimer(displayIndex::tick, 1L, 1L);
 
         conversationFactory = new ConversationFactory(plugin);
         inventoryFactory = new InventoryFactory(new GUIItems(), new InventoryItems());
 
         registerBrigadierCommand();
 
-        Bukkit.getPluginManager().registerEvents(new Interact(editingHandler), plugin);
-        Bukkit.getPluginManager().registerEvents(new OffhandSwap(editingHandler), plugin);
-        Bukkit.getPluginManager().registerEvents(new InventoryClick(), plugin);
+        Bukkit.getPluginManager().registerEvents(new Interact(toolRegistry), plugin);
+        Bukkit.getPluginManager().registerEvents(new OffhandSwap(toolRegistry), plugin);
+        Bukkit.getPluginManager().registerEvents(new InventoryClick(editJournal), plugin);
         Bukkit.getPluginManager().registerEvents(new InventoryClose(), plugin);
         Bukkit.getPluginManager().registerEvents(new PlayerJoin(), plugin);
         Bukkit.getPluginManager().registerEvents(new PlayerLeave(), plugin);
+        Bukkit.getPluginManager().registerEvents(new DisplayLifecycle(displayIndex, lockStateCache, editSessions, motionSmoother), plugin);
         
         toolSelectionModeKey = new NamespacedKey(plugin, "toolSelectionMode");
         toolSelectionRangeKey = new NamespacedKey(plugin, "toolSelectionRange");
@@ -100,10 +173,15 @@ public final class DisplayEntityEditor extends JavaPlugin {
         toolSelectionSearchModeKey = new NamespacedKey(plugin, "toolSelectionSearchMode");
         toolPrecisionKey = new NamespacedKey(plugin, "toolPrecision");
         toolKey = new NamespacedKey(plugin, "tool");
+        toolIdKey = new NamespacedKey(plugin, "toolId");
+        selectedPrefabKey = new NamespacedKey(plugin, "selectedPrefab");
+        groupFilterTypeKey = new NamespacedKey(plugin, "groupFilterType");
+        groupFilterNameKey = new NamespacedKey(plugin, "groupFilterName");
+        groupFilterMaterialKey = new NamespacedKey(plugin, "groupFilterMaterial");
 
         new Metrics(plugin, 18672);
 
-        getVersion(v -> {
+        updateChecker.getLatestVersion().thenAccept(v -> {
             if (this.getDescription().getVersion().equals(v)) {
                 getLogger().info(messageManager.getString("version_check_success"));
             } else {
@@ -124,9 +202,21 @@ public final class DisplayEntityEditor extends JavaPlugin {
     
     @Override
     public void onDisable() {
+        if (buildManager != null) {
+            buildManager.cancelAll();
+        }
+        if (motionSmoother != null) {
+            motionSmoother.commitAll();
+        }
         for (Player player : Bukkit.getOnlinePlayers()) {
             command.returnInventory(player);
         }
+        if (savedInventoryStore != null) {
+            savedInventoryStore.flush();
+        }
+        if (updateChecker != null) {
+            updateChecker.shutdown();
+        }
     }
 
     @SuppressWarnings("UnstableApiUsage")
@@ -147,19 +237,25 @@ public final class DisplayEntityEditor extends JavaPlugin {
     }
 
     /**
-     * Used to get the newest version of the plugin available on spigot
-     * @param consumer The consumer
+     * Used to read the config values that are accessed often into fields
      */
-    public static void getVersion(final Consumer<String> consumer) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (InputStream inputStream = new URL("https://api.spigotmc.org/legacy/update.php?resource=110267").openStream(); Scanner scanner = new Scanner(inputStream)) {
-                if (scanner.hasNext()) {
-                    consumer.accept(scanner.next());
-                }
-            } catch (IOException exception) {
-                plugin.getLogger().warning(messageManager.getString("version_check_error").formatted(exception.getMessage()));
-            }
-        });
+    public static void loadConfigValues() {
+        alternateTextInput = plugin.getConfig().getBoolean("alternate-text-input");
+        useMiniMessageFormat = plugin.getConfig().getBoolean("use-minimessage-format");
+        smoothToolMotion = plugin.getConfig().getBoolean("smooth-tool-motion");
+        smoothToolMotionCommitDistance = plugin.getConfig().getDouble("smooth-tool-motion-commit-distance");
+        smoothToolMotionIdleTicks = plugin.getConfig().getInt("smooth-tool-motion-idle-ticks");
+        smoothToolMotionInterpolation = plugin.getConfig().getInt("smooth-tool-motion-interpolation");
+        undoMemoryBudget = plugin.getConfig().getLong("undo-memory-budget-kb") * 1024;
+        cloneTickBudget = plugin.getConfig().getDouble("clone-tick-budget-ms");
+        prefabCacheSize = plugin.getConfig().getInt("prefab-cache-size");
+        boxSelectChunksPerTick = Math.max(1, plugin.getConfig().getInt("box-select-chunks-per-tick"));
+        boxSelectMaxChunks = Math.max(1, plugin.getConfig().getInt("box-select-max-chunks"));
+        groupSelectHighlightBudget = plugin.getConfig().getInt("group-select-highlight-budget");
+        displayIndexRefreshSeconds = Math.max(0, plugin.getConfig().getInt("display-index-refresh-seconds"));
+        updateCheckUrl = plugin.getConfig().getString("update-check-url", updateCheckUrl);
+        updateCheckInterval = Math.max(0, plugin.getConfig().getLong("update-check-interval-minutes"));
+        updateCheckTimeout = Math.max(1, plugin.getConfig().getLong("update-check-timeout-seconds"));
     }
 
     public static void checkForMessageFile() throws IOException {
@@ -171,12 +267,75 @@ public final class DisplayEntityEditor extends JavaPlugin {
             Files.copy(ip, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
         messageManager = new MessageManager();
+        if (inventoryFactory != null) {
+            inventoryFactory.clearItemTemplates();
+        }
+    }
+
+    public EditSessions getEditSessions() {
+        return editSessions;
     }
 
     public EditingHandler getEditingHandler() {
         return editingHandler;
     }
 
+    public DisplayIndex getDisplayIndex() {
+        return displayIndex;
+    }
+
+    public LockStateCache getLockStateCache() {
+        return lockStateCache;
+    }
+
+    public TransformationBuffer getTransformationBuffer() {
+        return transformationBuffer;
+    }
+
+    public MotionSmoother getMotionSmoother() {
+        return motionSmoother;
+    }
+
+    public ActionbarChannel getActionbarChannel() {
+        return actionbarChannel;
+    }
+
+    public EditJournal getEditJournal() {
+        return editJournal;
+    }
+
+    public BulkCloner getBulkCloner() {
+        return bulkCloner;
+    }
+
+    public BuildManager getBuildManager() {
+        return buildManager;
+    }
+
+    public PrefabLibrary getPrefabLibrary() {
+        return prefabLibrary;
+    }
+
+    public SavedInventoryStore getSavedInventoryStore() {
+        return savedInventoryStore;
+    }
+
+    public BoxSelector getBoxSelector() {
+        return boxSelector;
+    }
+
+    public GroupSelector getGroupSelector() {
+        return groupSelector;
+    }
+
+    public ToolRegistry getToolRegistry() {
+        return toolRegistry;
+    }
+
+    public UpdateChecker getUpdateChecker() {
+        return updateChecker;
+    }
+
     public DisplayEntityEditorBrigadierCommand command() {
         return command;
     }
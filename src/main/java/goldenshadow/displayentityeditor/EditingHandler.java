@@ -4,6 +4,8 @@ import org.bukkit.entity.Display;
 import org.bukkit.entity.Player;
 
 import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import goldenshadow.displayentityeditor.sessions.DisplaySelection;
+import goldenshadow.displayentityeditor.sessions.EditSessions;
 
 import javax.annotation.Nullable;
 import java.util.*;
@@ -11,23 +13,45 @@ import java.util.*;
 public class EditingHandler {
 
     /**
-     * The map of player UUIDs to the displays they are currently editing.
+     * The sessions the groups of displays players are currently editing are stored in.
      */
-    private final Map<UUID, Collection<Display>> editingDisplaysMap = new HashMap<>();
+    private final EditSessions sessions;
+
+    /**
+     * @param sessions The sessions the groups of displays should be stored in.
+     */
+    public EditingHandler(EditSessions sessions) {
+        this.sessions = sessions;
+    }
+
+    /**
+     * @return The sessions the groups of displays are stored in.
+     */
+    public EditSessions getSessions() {
+        return sessions;
+    }
 
     /**
      * @param player The player that should be editing the displays.
      * @param displays The collection of displays the player should be editing.
      */
     public void setEditingDisplays(Player player, Collection<Display> displays) {
-        editingDisplaysMap.put(player.getUniqueId(), displays);
+        setEditingDisplays(player, DisplaySelection.of(displays));
+    }
+
+    /**
+     * @param player The player that should be editing the displays.
+     * @param selection The selection of displays the player should be editing.
+     */
+    public void setEditingDisplays(Player player, DisplaySelection selection) {
+        sessions.setGroup(player.getUniqueId(), selection);
     }
 
     /**
      * @param player The player that should no longer be editing any displays.
      */
     public void removeEditingDisplays(Player player) {
-        editingDisplaysMap.remove(player.getUniqueId());
+        sessions.clearGroup(player.getUniqueId());
     }
 
     /**
@@ -41,19 +65,26 @@ public class EditingHandler {
     public Collection<Display> getEditingDisplays(Player player) {
         return getEditingDisplays(player, Utilities.getToolSearchMode(player));
     }
-    
+
     /**
      * @param player The player that is editing display(s).
      * @param lockSearchMode The lock search mode to check if an entity should be included in the selection or not.
      * @return The collection of displays the player is currently editing.
      * If the player is not editing any displays, an display search is being started according to the players' @{link SelectionMode}.
+     * Only the displays of the group that are loaded are returned, the ones that were removed are dropped from it.
+     * If none of them are loaded, null is returned and the group stays selected.
      * @see SelectionMode#select(Player, LockSearchMode)
      */
     @Nullable
     public Collection<Display> getEditingDisplays(Player player, LockSearchMode lockSearchMode) {
-        Collection<Display> displays = editingDisplaysMap.get(player.getUniqueId());
-        if (displays != null) {
-            return displays;
+        DisplaySelection group = sessions.getGroup(player.getUniqueId());
+        if (group != null) {
+            List<Display> displays = group.getLoaded();
+            if (group.isEmpty()) {
+                sessions.clearGroup(player.getUniqueId(), group);
+            }
+            // A group whose displays are all unloaded is still selected, so the displays near the player must not be edited instead
+            return displays.isEmpty() ? null : displays;
         }
         return Utilities.getToolSelectMode(player).select(player, lockSearchMode);
     }
@@ -1,78 +1,290 @@
 package goldenshadow.displayentityeditor;
 
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Loads the messages and compiles them into a catalog once, so that looking a message up does not have to check the config,
+ * search the raw yaml maps or translate colour codes again. Every message key is also given an integer id, which stays the
+ * same across reloads, for callers that look messages up very often. Messages are looked up by several regions at once on Folia,
+ * so the ids are given out through a concurrent map and the catalog is never changed once it is compiled.
+ */
 public class MessageManager {
 
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextId = new AtomicInteger();
+
     private final HashMap<String, Object> fallbackMap;
     private final HashMap<String, Object> messageMap;
+    private final Message[] catalog;
 
     public MessageManager() throws IOException {
+        this(DisplayEntityEditor.class.getClassLoader().getResourceAsStream("messages.yml"),
+                new FileInputStream(new File(DisplayEntityEditor.getPlugin().getDataFolder().getAbsolutePath() + "/messages.yml")),
+                DisplayEntityEditor.getPlugin().getConfig().getBoolean("use-messages-file"));
+    }
+
+    /**
+     * Used to create a message manager from any source, without needing the plugin to be enabled
+     * @param fallbackFileStream The messages that ship with the plugin
+     * @param configStream The messages from the messages file
+     * @param useMessagesFile If the messages from the messages file should be used
+     * @throws IOException If a stream could not be closed. Both streams are closed once they were read
+     */
+    public MessageManager(InputStream fallbackFileStream, InputStream configStream, boolean useMessagesFile) throws IOException {
         Yaml yaml = new Yaml();
-        InputStream fallbackFileStream = DisplayEntityEditor.class.getClassLoader().getResourceAsStream("messages.yml");
-        File f = new File(DisplayEntityEditor.getPlugin().getDataFolder().getAbsolutePath() + "/messages.yml");
-        InputStream configStream = new FileInputStream(f);
         assert fallbackFileStream != null;
         fallbackMap = yaml.load(fallbackFileStream);
         messageMap = yaml.load(configStream);
         configStream.close();
         fallbackFileStream.close();
-    }
 
-    public String getString(String key) {
-        String s = "";
-        if (messageMap.containsKey(key) && DisplayEntityEditor.getPlugin().getConfig().getBoolean("use-messages-file")) {
-            Object o = messageMap.get(key);
-            if (o instanceof String) {
-                s = (String) o;
-            }
-        } else {
-            if (fallbackMap.containsKey(key) && !key.equals("file_version")) { //file version should never be gotten from fallback
-                Object o = fallbackMap.get(key);
-                if (o instanceof String) {
-                    s = (String) o;
-                }
+        fallbackMap.keySet().forEach(MessageManager::id);
+        if (messageMap != null) {
+            messageMap.keySet().forEach(MessageManager::id);
+        }
+        // Keys that are given an id while the catalog is compiled don't have a message anyway
+        catalog = new Message[nextId.get()];
+        for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+            if (entry.getValue() < catalog.length) {
+                catalog[entry.getValue()] = compile(entry.getKey(), useMessagesFile);
             }
         }
-        return s;
     }
 
+    /**
+     * Used to get the id of a message key. Ids are given out once and stay valid for as long as the plugin is loaded,
+     * so they can be kept in static fields.
+     * @param key The message key
+     * @return The id
+     */
+    public static int id(String key) {
+        Integer id = ids.get(key);
+        return id != null ? id : ids.computeIfAbsent(key, k -> nextId.getAndIncrement());
+    }
+
+    public String getString(String key) {
+        return get(id(key)).string;
+    }
+
+    public String getString(int id) {
+        return get(id).string;
+    }
+
+    /**
+     * Used to get a list message
+     * @param key The message key
+     * @return The list, which cannot be modified
+     */
     public List<String> getList(String key) {
+        return get(id(key)).list;
+    }
+
+    /**
+     * Used to get a list message
+     * @param id The message id
+     * @return The list, which cannot be modified
+     */
+    public List<String> getList(int id) {
+        return get(id).list;
+    }
+
+    /**
+     * Used to get a message with its colour codes already translated
+     * @param id The message id
+     * @return The translated message
+     */
+    public String getTranslated(int id) {
+        return get(id).translated;
+    }
+
+    /**
+     * Used to fill in the placeholders of a message, the same as calling {@link String#formatted(Object...)} on it
+     * @param key The message key
+     * @param args The values of the placeholders
+     * @return The formatted message
+     */
+    public String format(String key, Object... args) {
+        return get(id(key)).format.format(args);
+    }
+
+    /**
+     * Used to fill in the placeholders of a message, the same as calling {@link String#formatted(Object...)} on it
+     * @param id The message id
+     * @param args The values of the placeholders
+     * @return The formatted message
+     */
+    public String format(int id, Object... args) {
+        return get(id).format.format(args);
+    }
+
+    /**
+     * Used to get a message as a component. The component is only built once.
+     * @param id The message id
+     * @return The component
+     */
+    public Component getComponent(int id) {
+        Message message = get(id);
+        if (message.component == null) {
+            message.component = LegacyComponentSerializer.legacySection().deserialize(message.translated);
+        }
+        return message.component;
+    }
+
+    /**
+     * Used to check if all messages are in the messages.yml being used
+     * @return True if everything is fine, false if the file should be updated
+     */
+    public boolean isMessageMapComplete() {
+        for (String key : fallbackMap.keySet()) {
+            if (!messageMap.containsKey(key)) return false;
+        }
+        return true;
+    }
+
+    private Message get(int id) {
+        if (id < 0 || id >= catalog.length || catalog[id] == null) {
+            return Message.EMPTY;
+        }
+        return catalog[id];
+    }
+
+    private Message compile(String key, boolean useMessagesFile) {
         Object o = null;
-        if (messageMap.containsKey(key) && DisplayEntityEditor.getPlugin().getConfig().getBoolean("use-messages-file")) {
+        if (useMessagesFile && messageMap != null && messageMap.containsKey(key)) {
             o = messageMap.get(key);
-        } else if (fallbackMap.containsKey(key)) {
+        } else if (fallbackMap.containsKey(key) && !key.equals("file_version")) { //file version should never be gotten from fallback
             o = fallbackMap.get(key);
         }
 
-        List<String> returnList = new ArrayList<>();
-        if (o instanceof ArrayList<?> list) {
-            for (Object ob : list) {
+        String string = "";
+        if (o instanceof String s) {
+            string = s;
+        }
+        List<String> list = new ArrayList<>();
+        if (o instanceof List<?> l) {
+            for (Object ob : l) {
                 if (ob instanceof String s) {
-                    returnList.add(s);
+                    list.add(s);
+                }
+            }
+            // A messages.yml from an older version lacks the names of options added since, e.g. the box selection mode,
+            // so those are taken from the messages that ship with the plugin instead of running off the end of the list
+            if (fallbackMap.get(key) instanceof List<?> fallback) {
+                for (int i = list.size(); i < fallback.size(); i++) {
+                    list.add(String.valueOf(fallback.get(i)));
                 }
             }
         }
-        return returnList;
+        return new Message(string, List.copyOf(list));
     }
 
     /**
-     * Used to check if all messages are in the messages.yml being used
-     * @return True if everything is fine, false if the file should be updated
+     * A compiled message
      */
-    public boolean isMessageMapComplete() {
-        for (String key : fallbackMap.keySet()) {
-            if (!messageMap.containsKey(key)) return false;
+    private static final class Message {
+
+        private static final Message EMPTY = new Message("", List.of());
+
+        private final String string;
+        private final List<String> list;
+        private final String translated;
+        private final CompiledFormat format;
+        private volatile Component component;
+
+        private Message(String string, List<String> list) {
+            this.string = string;
+            this.list = list;
+            this.translated = ChatColor.translateAlternateColorCodes('&', string);
+            this.format = new CompiledFormat(string);
         }
-        return true;
     }
 
+    /**
+     * A format string split into its literal parts and placeholders ahead of time. Only plain ({@code %s}, {@code %1$s}, {@code %%}
+     * and {@code %n}) placeholders are handled directly, anything else is passed on to {@link String#format(String, Object...)}.
+     */
+    private static final class CompiledFormat {
+
+        private final String pattern;
+        private final String[] literals;
+        private final int[] arguments;
+        private final boolean simple;
+
+        private CompiledFormat(String pattern) {
+            this.pattern = pattern;
+            List<String> literals = new ArrayList<>();
+            List<Integer> arguments = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            boolean simple = true;
+            int next = 0;
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c != '%') {
+                    literal.append(c);
+                    i++;
+                    continue;
+                }
+                int j = i + 1;
+                while (j < pattern.length() && Character.isDigit(pattern.charAt(j))) {
+                    j++;
+                }
+                if (j < pattern.length() && j > i + 1 && pattern.charAt(j) == '$' && j + 1 < pattern.length() && pattern.charAt(j + 1) == 's') {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    arguments.add(Integer.parseInt(pattern.substring(i + 1, j)) - 1);
+                    i = j + 2;
+                } else if (j == i + 1 && j < pattern.length() && pattern.charAt(j) == 's') {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    arguments.add(next++);
+                    i = j + 1;
+                } else if (j == i + 1 && j < pattern.length() && pattern.charAt(j) == '%') {
+                    literal.append('%');
+                    i = j + 1;
+                } else if (j == i + 1 && j < pattern.length() && pattern.charAt(j) == 'n') {
+                    literal.append(System.lineSeparator());
+                    i = j + 1;
+                } else {
+                    simple = false;
+                    break;
+                }
+            }
+            literals.add(literal.toString());
+            this.simple = simple;
+            this.literals = literals.toArray(new String[0]);
+            this.arguments = arguments.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private String format(Object... args) {
+            if (!simple) {
+                return pattern.formatted(args);
+            }
+            if (arguments.length == 0) {
+                return literals[0];
+            }
+            StringBuilder builder = new StringBuilder(pattern.length() + 16);
+            for (int i = 0; i < arguments.length; i++) {
+                builder.append(literals[i]);
+                int argument = arguments[i];
+                if (argument < 0 || argument >= args.length) {
+                    // Let the formatter throw the same exception it always did
+                    return pattern.formatted(args);
+                }
+                builder.append(args[argument]);
+            }
+            return builder.append(literals[arguments.length]).toString();
+        }
+    }
 }
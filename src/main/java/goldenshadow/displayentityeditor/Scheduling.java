@@ -0,0 +1,292 @@
+package goldenshadow.displayentityeditor;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Used to schedule tasks in a way that works on both Paper and Folia. On Paper every task that is not asynchronous runs on the
+ * main thread. On Folia there is no main thread, and a task runs on the thread of the region that owns the entity or location it
+ * was scheduled for, or on the global region thread if it is not tied to any of them.
+ */
+public class Scheduling {
+
+    /**
+     * True if the server is running Folia
+     */
+    public static final boolean FOLIA = isFolia();
+
+    /**
+     * Folia regions always own whole sections of 2^4 by 2^4 chunks, so entities in the same section can be edited in one task
+     */
+    private static final int SECTION_SHIFT = 4 + 4;
+
+    private static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Used to run a task in the next tick that is not tied to any entity or location
+     * @param task The task
+     */
+    public static void run(Runnable task) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().execute(DisplayEntityEditor.getPlugin(), task);
+        } else {
+            Bukkit.getScheduler().runTask(DisplayEntityEditor.getPlugin(), task);
+        }
+    }
+
+    /**
+     * Used to run a task after a delay that is not tied to any entity or location
+     * @param task The task
+     * @param delay The delay in ticks, at least 1
+     */
+    public static void runLater(Runnable task, long delay) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().runDelayed(DisplayEntityEditor.getPlugin(), t -> task.run(), Math.max(1, delay));
+        } else {
+            Bukkit.getScheduler().runTaskLater(DisplayEntityEditor.getPlugin(), task, delay);
+        }
+    }
+
+    /**
+     * Used to repeatedly run a task that is not tied to any entity or location
+     * @param task The task
+     * @param delay The ticks until it runs for the first time, at least 1
+     * @param period The ticks between two runs
+     * @return The scheduled task
+     */
+    public static Task runTimer(Runnable task, long delay, long period) {
+        if (FOLIA) {
+            return Bukkit.getGlobalRegionScheduler().runAtFixedRate(DisplayEntityEditor.getPlugin(), t -> task.run(), Math.max(1, delay), period)::cancel;
+        }
+        return Bukkit.getScheduler().runTaskTimer(DisplayEntityEditor.getPlugin(), task, delay, period)::cancel;
+    }
+
+    /**
+     * Used to run a task asynchronously
+     * @param task The task
+     */
+    public static void runAsync(Runnable task) {
+        if (FOLIA) {
+            Bukkit.getAsyncScheduler().runNow(DisplayEntityEditor.getPlugin(), t -> task.run());
+        } else {
+            Bukkit.getScheduler().runTaskAsynchronously(DisplayEntityEditor.getPlugin(), task);
+        }
+    }
+
+    /**
+     * Used to check if the current thread may change an entity
+     * @param entity The entity
+     * @return True if it may, otherwise false
+     */
+    public static boolean owns(Entity entity) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Used to run a task on the thread that owns an entity. If the current thread already owns it, the task is run right away.
+     * On Folia, nothing happens if the entity is removed before the task could run.
+     * @param entity The entity
+     * @param task The task
+     */
+    public static void run(Entity entity, Runnable task) {
+        if (owns(entity)) {
+            task.run();
+        } else if (FOLIA) {
+            entity.getScheduler().run(DisplayEntityEditor.getPlugin(), t -> task.run(), null);
+        } else {
+            Bukkit.getScheduler().runTask(DisplayEntityEditor.getPlugin(), task);
+        }
+    }
+
+    /**
+     * Used to run a task on the thread that owns an entity. If the current thread already owns it, the task is run right away.
+     * @param entity The entity
+     * @param task The task
+     * @param retired Run instead of the task if the entity is removed on Folia before the task could run, so callers waiting
+     *                for the task always hear back. May run on any thread
+     */
+    public static void run(Entity entity, Runnable task, Runnable retired) {
+        if (owns(entity)) {
+            task.run();
+        } else if (FOLIA) {
+            if (entity.getScheduler().run(DisplayEntityEditor.getPlugin(), t -> task.run(), retired) == null) {
+                retired.run();
+            }
+        } else {
+            Bukkit.getScheduler().runTask(DisplayEntityEditor.getPlugin(), task);
+        }
+    }
+
+    /**
+     * Used to run a task for every chunk column in a rectangle on the thread that owns it, and another task once all of them ran.
+     * On Paper everything runs right away.
+     * @param world The world
+     * @param minChunkX The smallest chunk x coordinate
+     * @param minChunkZ The smallest chunk z coordinate
+     * @param maxChunkX The largest chunk x coordinate
+     * @param maxChunkZ The largest chunk z coordinate
+     * @param action What should be done in each chunk column
+     * @param done Run once every chunk column was handled, on the thread that handled the last one
+     */
+    public static void forEachChunk(World world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, ChunkAction action, Runnable done) {
+        if (!FOLIA) {
+            for (int x = minChunkX; x <= maxChunkX; x++) {
+                for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                    action.accept(x, z);
+                }
+            }
+            done.run();
+            return;
+        }
+        // One extra count for the loop itself, so done can't run before every task was scheduled
+        AtomicInteger remaining = new AtomicInteger(1);
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                int chunkX = x, chunkZ = z;
+                remaining.incrementAndGet();
+                run(new Location(world, chunkX << 4, 0, chunkZ << 4), () -> {
+                    try {
+                        action.accept(chunkX, chunkZ);
+                    } finally {
+                        if (remaining.decrementAndGet() == 0) {
+                            done.run();
+                        }
+                    }
+                });
+            }
+        }
+        if (remaining.decrementAndGet() == 0) {
+            done.run();
+        }
+    }
+
+    /**
+     * Used to run a task on the thread that owns an entity after a delay.
+     * On Folia, nothing happens if the entity is removed before the task could run.
+     * @param entity The entity
+     * @param task The task
+     * @param delay The delay in ticks, at least 1
+     */
+    public static void runLater(Entity entity, Runnable task, long delay) {
+        if (FOLIA) {
+            entity.getScheduler().runDelayed(DisplayEntityEditor.getPlugin(), t -> task.run(), null, Math.max(1, delay));
+        } else {
+            Bukkit.getScheduler().runTaskLater(DisplayEntityEditor.getPlugin(), task, delay);
+        }
+    }
+
+    /**
+     * Used to repeatedly run a task on the thread that owns an entity. On Folia the task stops once the entity is removed,
+     * for example when a player leaves.
+     * @param entity The entity
+     * @param task The task
+     * @param delay The ticks until it runs for the first time, at least 1
+     * @param period The ticks between two runs
+     * @return The scheduled task, or null if the entity was already removed
+     */
+    public static Task runTimer(Entity entity, Runnable task, long delay, long period) {
+        if (FOLIA) {
+            ScheduledTask scheduled = entity.getScheduler().runAtFixedRate(DisplayEntityEditor.getPlugin(), t -> task.run(), null, Math.max(1, delay), period);
+            return scheduled == null ? null : scheduled::cancel;
+        }
+        return Bukkit.getScheduler().runTaskTimer(DisplayEntityEditor.getPlugin(), task, delay, period)::cancel;
+    }
+
+    /**
+     * Used to run a task on the thread that owns a location. If the current thread already owns it, the task is run right away.
+     * @param location The location
+     * @param task The task
+     */
+    public static void run(Location location, Runnable task) {
+        if (FOLIA ? Bukkit.isOwnedByCurrentRegion(location) : Bukkit.isPrimaryThread()) {
+            task.run();
+        } else if (FOLIA) {
+            Bukkit.getRegionScheduler().execute(DisplayEntityEditor.getPlugin(), location, task);
+        } else {
+            Bukkit.getScheduler().runTask(DisplayEntityEditor.getPlugin(), task);
+        }
+    }
+
+    /**
+     * Used to do something with every entity of a collection on the thread that owns it. Entities owned by the current thread
+     * are handled right away, in the order of the collection. The others are split up by region and handled in one task per region,
+     * so a group spanning several regions is edited by each of them in parallel. On Paper, everything is handled right away.
+     * @param entities The entities
+     * @param action What should be done with each entity
+     * @param <T> The type of the entities
+     */
+    public static <T extends Entity> void forEach(Collection<T> entities, Consumer<? super T> action) {
+        if (!FOLIA) {
+            entities.forEach(action);
+            return;
+        }
+        Map<SectionKey, List<T>> foreign = null;
+        for (T entity : entities) {
+            if (owns(entity)) {
+                action.accept(entity);
+                continue;
+            }
+            if (foreign == null) {
+                foreign = new HashMap<>();
+            }
+            Location location = entity.getLocation();
+            SectionKey key = new SectionKey(location.getWorld(), location.getBlockX() >> SECTION_SHIFT, location.getBlockZ() >> SECTION_SHIFT);
+            foreign.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+        }
+        if (foreign == null) {
+            return;
+        }
+        foreign.forEach((key, section) -> {
+            Location location = section.get(0).getLocation();
+            Bukkit.getRegionScheduler().execute(DisplayEntityEditor.getPlugin(), location, () -> {
+                for (T entity : section) {
+                    // An entity could have moved into another region in the meantime
+                    if (entity.isValid()) {
+                        run(entity, () -> action.accept(entity));
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Something that is done in a single chunk column
+     */
+    @FunctionalInterface
+    public interface ChunkAction {
+
+        /**
+         * @param chunkX The x coordinate of the chunk
+         * @param chunkZ The z coordinate of the chunk
+         */
+        void accept(int chunkX, int chunkZ);
+    }
+
+    /**
+     * A task that was scheduled to run repeatedly
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * Used to stop the task
+         */
+        void cancel();
+    }
+
+    private record SectionKey(World world, int x, int z) {}
+}
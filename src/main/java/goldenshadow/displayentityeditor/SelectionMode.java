@@ -3,24 +3,18 @@ package goldenshadow.displayentityeditor;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.entity.Display;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.util.Vector;
 
 import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import goldenshadow.displayentityeditor.index.DisplayRaycast;
 
 public abstract class SelectionMode {
 
-    private static final Predicate<Entity> DISPLAY_FILTER = entity -> entity instanceof Display;
-    private static final Function<Entity, Display> DISPLAY_CAST = entity -> (Display) entity;
-
     private static final HashMap<String, SelectionMode> idToMode = new HashMap<>();
     private static final ArrayList<String> idOrder = new ArrayList<>();
 
@@ -36,8 +30,7 @@ public abstract class SelectionMode {
 
         @Override
         protected Stream<Display> select(Player p, double range, Predicate<Display> lockFilter) {
-            return p.getWorld().getNearbyEntities(p.getLocation(), range, range, range).stream().filter(DISPLAY_FILTER).map(DISPLAY_CAST)
-                .filter(lockFilter);
+            return DisplayEntityEditor.getPlugin().getDisplayIndex().getNearby(p.getLocation(), range, range, range).stream().filter(lockFilter);
         }
 
     };
@@ -46,35 +39,22 @@ public abstract class SelectionMode {
 
         @Override
         protected Stream<Display> select(Player p, double range, Predicate<Display> lockFilter) {
-            Location loc = p.getEyeLocation();
-            Vector direction = loc.getDirection().normalize();
-            double x = loc.getX();
-            double y = loc.getY();
-            double z = loc.getZ();
-            double dx = direction.getX();
-            double dy = direction.getY();
-            double dz = direction.getZ();
-            World world = p.getWorld();
-            List<Display> displays;
-            for (double distance = 0d; distance < range; distance += 0.25d) {
-                displays = world.getNearbyEntities(loc = new Location(world, x + dx * distance, y + dy * distance, z + dz * distance),
-                    0.75d, 0.25d, 0.75d).stream().filter(DISPLAY_FILTER).map(DISPLAY_CAST).filter(lockFilter).toList();
-                if (displays.isEmpty()) {
-                    continue;
-                }
-                double tmp;
-                Display closest = null;
-                distance = Double.MAX_VALUE;
-                for (Display display : displays) {
-                    tmp = loc.distanceSquared(display.getLocation());
-                    if (tmp < distance) {
-                        distance = tmp;
-                        closest = display;
-                    }
-                }
-                return Stream.of(closest);
-            }
-            return Stream.empty();
+            Location eye = p.getEyeLocation();
+            Display display = DisplayRaycast.raycast(DisplayEntityEditor.getPlugin().getDisplayIndex(), eye, eye.getDirection(), range, lockFilter);
+            return display == null ? Stream.empty() : Stream.of(display);
+        }
+
+    };
+
+    /**
+     * Selects every display inside a box whose corners are marked with the group select tool, see {@link goldenshadow.displayentityeditor.sessions.BoxSelector}.
+     * Until a box was selected, the tools edit the displays near the player.
+     */
+    public static final SelectionMode BOX = new SelectionMode("box") {
+
+        @Override
+        protected Stream<Display> select(Player p, double range, Predicate<Display> lockFilter) {
+            return NEARBY.select(p, range, lockFilter);
         }
 
     };
@@ -110,24 +90,34 @@ public abstract class SelectionMode {
         if (displays.isEmpty()) {
             return null;
         }
-        if (displays.size() == 1) {
-            return displays;
-        }
         if (Utilities.getToolSelectMultiple(p)) {
+            // Reading the tags of every display would copy each of their tag sets, so a multi-select trusts the cached lock state.
+            // A tag changed with vanilla commands is only noticed once the display is picked on its own or its chunk is loaded again.
             return displays;
         }
-        Display closest = null;
-        double tmp, distance = Double.MAX_VALUE;
         Location pLoc = p.getLocation();
-        for (Display display : displays) {
-            tmp = pLoc.distanceSquared(display.getLocation());
-            if (tmp < distance) {
-                distance = tmp;
-                closest = display;
+        double[] distances = new double[displays.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = pLoc.distanceSquared(displays.get(i).getLocation());
+        }
+        // Only the closest display is edited, so only it is checked against its tags, unless it turns out to not match after all
+        while (true) {
+            int closest = -1;
+            double distance = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < distances.length; i++) {
+                if (distances[i] < distance) {
+                    distance = distances[i];
+                    closest = i;
+                }
+            }
+            if (closest < 0) {
+                return null;
+            }
+            if (lockSearchMode.confirm(displays.get(closest))) {
+                return List.of(displays.get(closest));
             }
+            distances[closest] = Double.POSITIVE_INFINITY;
         }
-        // Never null
-        return List.of(closest);
     }
 
     protected abstract Stream<Display> select(Player p, double range, Predicate<Display> lockFilter);
@@ -0,0 +1,133 @@
+package goldenshadow.displayentityeditor;
+
+import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The tool settings of a player. They are stored in the persistent data container of the player, which has to go through NBT
+ * every time it is read, so they are read once when the player joins and kept in memory while the player is online.
+ * A setting is only written back to the container when it is changed.
+ */
+public class ToolSettings {
+
+    private static final Map<UUID, ToolSettings> settings = new ConcurrentHashMap<>();
+
+    private static final float DEFAULT_PRECISION = 1;
+    private static final float DEFAULT_RANGE = 5;
+    private static final boolean DEFAULT_MULTIPLE = false;
+
+    private final Player player;
+    private volatile float precision;
+    private volatile float range;
+    private volatile SelectionMode selectionMode;
+    private volatile LockSearchMode searchMode;
+    private volatile boolean multiple;
+
+    private ToolSettings(Player player) {
+        this.player = player;
+        PersistentDataContainer container = player.getPersistentDataContainer();
+        precision = container.getOrDefault(DisplayEntityEditor.toolPrecisionKey, PersistentDataType.DOUBLE, (double) DEFAULT_PRECISION).floatValue();
+        range = container.getOrDefault(DisplayEntityEditor.toolSelectionRangeKey, PersistentDataType.DOUBLE, (double) DEFAULT_RANGE).floatValue();
+        multiple = container.getOrDefault(DisplayEntityEditor.toolSelectionMultipleKey, PersistentDataType.BOOLEAN, DEFAULT_MULTIPLE);
+        SelectionMode mode = SelectionMode.get(container.getOrDefault(DisplayEntityEditor.toolSelectionModeKey, PersistentDataType.STRING, SelectionMode.NEARBY.id()));
+        selectionMode = mode != null ? mode : SelectionMode.NEARBY;
+        try {
+            searchMode = LockSearchMode.valueOf(container.getOrDefault(DisplayEntityEditor.toolSelectionSearchModeKey, PersistentDataType.STRING, LockSearchMode.UNLOCKED.name()));
+        } catch (IllegalArgumentException e) {
+            searchMode = LockSearchMode.UNLOCKED;
+        }
+    }
+
+    /**
+     * Used to get the tool settings of a player, reading them from the player if they are not in memory yet
+     * @param player The player
+     * @return The settings
+     */
+    public static ToolSettings of(Player player) {
+        return settings.computeIfAbsent(player.getUniqueId(), uuid -> new ToolSettings(player));
+    }
+
+    /**
+     * Used to drop the tool settings of a player from memory, once they left. Every change was already written to the player.
+     * @param player The player
+     */
+    public static void forget(Player player) {
+        settings.remove(player.getUniqueId());
+    }
+
+    public float getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(double precision) {
+        this.precision = (float) precision;
+        write(DisplayEntityEditor.toolPrecisionKey, PersistentDataType.DOUBLE, precision);
+    }
+
+    public float getRange() {
+        return range;
+    }
+
+    public void setRange(double range) {
+        this.range = (float) range;
+        write(DisplayEntityEditor.toolSelectionRangeKey, PersistentDataType.DOUBLE, range);
+    }
+
+    public void resetRange() {
+        range = DEFAULT_RANGE;
+        player.getPersistentDataContainer().remove(DisplayEntityEditor.toolSelectionRangeKey);
+    }
+
+    public SelectionMode getSelectionMode() {
+        return selectionMode;
+    }
+
+    public void setSelectionMode(SelectionMode selectionMode) {
+        this.selectionMode = selectionMode;
+        write(DisplayEntityEditor.toolSelectionModeKey, PersistentDataType.STRING, selectionMode.id());
+    }
+
+    public void resetSelectionMode() {
+        selectionMode = SelectionMode.NEARBY;
+        player.getPersistentDataContainer().remove(DisplayEntityEditor.toolSelectionModeKey);
+    }
+
+    public LockSearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public void setSearchMode(LockSearchMode searchMode) {
+        this.searchMode = searchMode;
+        write(DisplayEntityEditor.toolSelectionSearchModeKey, PersistentDataType.STRING, searchMode.name());
+    }
+
+    public void resetSearchMode() {
+        searchMode = LockSearchMode.UNLOCKED;
+        player.getPersistentDataContainer().remove(DisplayEntityEditor.toolSelectionSearchModeKey);
+    }
+
+    public boolean isMultiple() {
+        return multiple;
+    }
+
+    public void setMultiple(boolean multiple) {
+        this.multiple = multiple;
+        write(DisplayEntityEditor.toolSelectionMultipleKey, PersistentDataType.BOOLEAN, multiple);
+    }
+
+    public void resetMultiple() {
+        multiple = DEFAULT_MULTIPLE;
+        player.getPersistentDataContainer().remove(DisplayEntityEditor.toolSelectionMultipleKey);
+    }
+
+    private <P, C> void write(NamespacedKey key, PersistentDataType<P, C> type, C value) {
+        player.getPersistentDataContainer().set(key, type, value);
+    }
+}
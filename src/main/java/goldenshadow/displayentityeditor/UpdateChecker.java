@@ -0,0 +1,87 @@
+package goldenshadow.displayentityeditor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Checks which version of the plugin is the newest one available. The answer is cached for the configured interval,
+ * so no matter how many operators join at once, at most one request is made per interval. Everyone asking while
+ * a request is running gets the same future. Requests never block a thread of the server, they are sent and
+ * answered by the http client, and give up once the configured timeout has passed.
+ */
+public class UpdateChecker {
+
+    private final HttpClient client;
+    private CompletableFuture<String> inFlight;
+    private CompletableFuture<String> result;
+    private long checkedAt;
+
+    public UpdateChecker() {
+        // The timeout is set on every request instead of the client, so a reload of the config applies to the next check
+        client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Used to get the newest version of the plugin
+     * @return A future that is completed with the version on a thread of the http client, or completed exceptionally if the check failed
+     */
+    public synchronized CompletableFuture<String> getLatestVersion() {
+        if (inFlight != null) {
+            return inFlight;
+        }
+        if (result != null && System.nanoTime() - checkedAt < Duration.ofMinutes(DisplayEntityEditor.updateCheckInterval).toNanos()) {
+            return result;
+        }
+        CompletableFuture<String> request = send();
+        inFlight = request;
+        request.whenComplete((version, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                DisplayEntityEditor.getPlugin().getLogger().warning(DisplayEntityEditor.messageManager.format("version_check_error", cause.getMessage()));
+            }
+            synchronized (this) {
+                if (inFlight == request) {
+                    inFlight = null;
+                }
+                // Failures are cached as well, so an unreachable server is not asked again on every join
+                result = request;
+                checkedAt = System.nanoTime();
+            }
+        });
+        return request;
+    }
+
+    /**
+     * Used to stop the http client, for when the plugin is disabled
+     */
+    public void shutdown() {
+        client.shutdownNow();
+    }
+
+    private CompletableFuture<String> send() {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(DisplayEntityEditor.updateCheckUrl))
+                    .timeout(Duration.ofSeconds(Math.max(1, DisplayEntityEditor.updateCheckTimeout)))
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            String version = response.body().trim();
+            if (response.statusCode() != 200 || version.isEmpty()) {
+                throw new CompletionException(new IOException("Unexpected response " + response.statusCode()));
+            }
+            return version;
+        });
+    }
+}
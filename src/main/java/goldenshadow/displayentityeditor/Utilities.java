@@ -1,6 +1,5 @@
 package goldenshadow.displayentityeditor;
 
-import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.*;
 import net.md_5.bungee.api.chat.hover.content.Text;
 import org.bukkit.ChatColor;
@@ -14,11 +13,21 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 
 import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import goldenshadow.displayentityeditor.index.LockStateCache;
 
 import javax.annotation.Nullable;
 import java.util.List;
 
 public class Utilities {
+
+    private static final int INFO_MESSAGE_FORMAT = MessageManager.id("info_message_format");
+    private static final int ERROR_MESSAGE_FORMAT = MessageManager.id("error_message_format");
+    private static final int BOOLEAN_NAMES = MessageManager.id("boolean");
+    private static final int BILLBOARD_NAMES = MessageManager.id("billboard");
+    private static final int TEXT_ALIGNMENT_NAMES = MessageManager.id("text_alignment");
+    private static final int ITEM_DISPLAY_TRANSFORM_NAMES = MessageManager.id("item_display_transform");
+    private static final int LOCK_SEARCH_MODE_NAMES = MessageManager.id("lock_search_mode");
+    private static final int SELECTION_MODE_NAMES = MessageManager.id("selection_mode");
     
     /**
      * Used to easily set an items meta
@@ -34,6 +43,7 @@ public class Utilities {
         lore.replaceAll(textToTranslate -> ChatColor.translateAlternateColorCodes('&', textToTranslate));
         meta.setLore(lore);
         meta.getPersistentDataContainer().set(DisplayEntityEditor.toolKey, PersistentDataType.STRING, data);
+        DisplayEntityEditor.getPlugin().getToolRegistry().tag(meta.getPersistentDataContainer(), data);
 
         meta.addItemFlags(ItemFlag.values());
         meta.setUnbreakable(true);
@@ -55,36 +65,13 @@ public class Utilities {
         lore.replaceAll(textToTranslate -> ChatColor.translateAlternateColorCodes('&', textToTranslate).formatted(formatData));
         meta.setLore(lore);
         meta.getPersistentDataContainer().set(DisplayEntityEditor.toolKey, PersistentDataType.STRING, data);
+        DisplayEntityEditor.getPlugin().getToolRegistry().tag(meta.getPersistentDataContainer(), data);
 
         meta.addItemFlags(ItemFlag.values());
         meta.setUnbreakable(true);
         item.setItemMeta(meta);
     }
 
-    /**
-     * Used to check if an item has a specific NamespacedKey
-     * @param item The item
-     * @return True if it does, otherwise false
-     */
-    public static boolean hasDataKey(ItemStack item) {
-        if (item.getItemMeta() != null) {
-            return item.getItemMeta().getPersistentDataContainer().has(DisplayEntityEditor.toolKey, PersistentDataType.STRING);
-        }
-        return false;
-    }
-
-    /**
-     * Used to get the specific tools type
-     * @param item The item
-     * @return The tool type
-     */
-    public static String getToolValue(ItemStack item) {
-        if (item.getItemMeta() != null) {
-            return item.getItemMeta().getPersistentDataContainer().get(DisplayEntityEditor.toolKey, PersistentDataType.STRING);
-        }
-        return null;
-    }
-
     /**
      * Used to add a new namespacedKey to an entity
      * @param entity The entity
@@ -114,7 +101,7 @@ public class Utilities {
      */
     public static String getColor(Color color) {
         if (color == null) return DisplayEntityEditor.messageManager.getString("none");
-        return DisplayEntityEditor.messageManager.getString("rgb").formatted(color.getRed(), color.getBlue(), color.getGreen());
+        return DisplayEntityEditor.messageManager.format("rgb", color.getRed(), color.getBlue(), color.getGreen());
     }
 
     /**
@@ -123,7 +110,7 @@ public class Utilities {
      * @return The formatted message
      */
     public static String getInfoMessageFormat(String message) {
-        return ChatColor.translateAlternateColorCodes('&', DisplayEntityEditor.messageManager.getString("info_message_format").formatted(message));
+        return ChatColor.translateAlternateColorCodes('&', DisplayEntityEditor.messageManager.format(INFO_MESSAGE_FORMAT, message));
     }
 
     /**
@@ -132,7 +119,7 @@ public class Utilities {
      * @return The formatted message
      */
     public static String getErrorMessageFormat(String message) {
-        return ChatColor.translateAlternateColorCodes('&', DisplayEntityEditor.messageManager.getString("error_message_format").formatted(message));
+        return ChatColor.translateAlternateColorCodes('&', DisplayEntityEditor.messageManager.format(ERROR_MESSAGE_FORMAT, message));
     }
 
     /**
@@ -143,42 +130,61 @@ public class Utilities {
      */
     @Nullable
     public static Display getNearestDisplayEntity(Location location, boolean lockSearchToggle) {
-        Display entity = null;
-        double distance = 5;
         assert location.getWorld() != null;
-        for (Entity e : location.getWorld().getNearbyEntities(location, 5,5,5)) {
-            if (e instanceof Display d) {
-                if (lockSearchToggle) {
-                    if (!d.getScoreboardTags().contains("dee:locked")) {
-                        double dis = d.getLocation().distance(location);
-                        if (dis < distance) {
-                            entity = d;
-                            distance = dis;
-                        }
-                    }
-                } else {
-                    if (d.getScoreboardTags().contains("dee:locked")) {
-                        double dis = d.getLocation().distance(location);
-                        if (dis < distance) {
-                            entity = d;
-                            distance = dis;
-                        }
-                    }
+        LockStateCache lockStateCache = DisplayEntityEditor.getPlugin().getLockStateCache();
+        List<Display> nearby = DisplayEntityEditor.getPlugin().getDisplayIndex().getNearby(location, 5,5,5);
+        double[] distances = new double[nearby.size()];
+        for (int i = 0; i < distances.length; i++) {
+            Display d = nearby.get(i);
+            distances[i] = lockStateCache.isLocked(d) != lockSearchToggle ? d.getLocation().distance(location) : Double.POSITIVE_INFINITY;
+        }
+        while (true) {
+            int closest = -1;
+            double distance = 5;
+            for (int i = 0; i < distances.length; i++) {
+                if (distances[i] < distance) {
+                    distance = distances[i];
+                    closest = i;
                 }
             }
+            if (closest < 0) {
+                return null;
+            }
+            // The cached lock state might be out of date if the tag was changed with vanilla commands, so the display found is checked again
+            Display d = nearby.get(closest);
+            if (lockStateCache.refresh(d) != lockSearchToggle) {
+                return d;
+            }
+            distances[closest] = Double.POSITIVE_INFINITY;
         }
-        return entity;
     }
 
     public static BaseComponent[] getCommandMessage(String commandMessage, String hint) {
-        TextComponent click = new TextComponent(net.md_5.bungee.api.ChatColor.translateAlternateColorCodes('&', DisplayEntityEditor.messageManager.getString("command_message").formatted(commandMessage, hint)));
+        TextComponent click = new TextComponent(net.md_5.bungee.api.ChatColor.translateAlternateColorCodes('&', DisplayEntityEditor.messageManager.format("command_message", commandMessage, hint)));
         click.setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/deeditor edit " + commandMessage));
 
         return new ComponentBuilder(click).create();
     }
 
+    /**
+     * Used to send an actionbar message. Only the last message sent to a player within a tick is actually shown
+     * @param p The player
+     * @param message The message
+     */
     public static void sendActionbarMessage(Player p, String message) {
-        p.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(net.md_5.bungee.api.ChatColor.DARK_AQUA + message));
+        DisplayEntityEditor.getPlugin().getActionbarChannel().send(p, message);
+    }
+
+    /**
+     * Used to send an actionbar message reporting a value of one display. If the same message is sent for several displays
+     * within a tick, the player gets one message showing the range of the values
+     * @param p The player
+     * @param messageKey The key of the message, the value fills in its last placeholder
+     * @param value The value
+     * @param args The values of the placeholders before the last one
+     */
+    public static void sendActionbarValue(Player p, String messageKey, double value, Object... args) {
+        DisplayEntityEditor.getPlugin().getActionbarChannel().sendValue(p, MessageManager.id(messageKey), value, args);
     }
 
     public static BaseComponent[] getClipboardMessage(String messageKey, String clipboardContent) {
@@ -191,45 +197,44 @@ public class Utilities {
 
     public static String getObjectNameMessage(Object object) {
         if (object instanceof Boolean b) {
-            return DisplayEntityEditor.messageManager.getList("boolean").get(b ? 0 : 1);
+            return DisplayEntityEditor.messageManager.getList(BOOLEAN_NAMES).get(b ? 0 : 1);
         }
         else if (object instanceof Display.Billboard b) {
-            return DisplayEntityEditor.messageManager.getList("billboard").get(b.ordinal());
+            return DisplayEntityEditor.messageManager.getList(BILLBOARD_NAMES).get(b.ordinal());
         }
         else if (object instanceof TextDisplay.TextAlignment t) {
-            return DisplayEntityEditor.messageManager.getList("text_alignment").get(t.ordinal());
+            return DisplayEntityEditor.messageManager.getList(TEXT_ALIGNMENT_NAMES).get(t.ordinal());
         }
         else if (object instanceof ItemDisplay.ItemDisplayTransform t) {
-            return DisplayEntityEditor.messageManager.getList("item_display_transform").get(t.ordinal());
+            return DisplayEntityEditor.messageManager.getList(ITEM_DISPLAY_TRANSFORM_NAMES).get(t.ordinal());
         }
         else if (object instanceof LockSearchMode m) {
-            return DisplayEntityEditor.messageManager.getList("lock_search_mode").get(m.ordinal());
+            return DisplayEntityEditor.messageManager.getList(LOCK_SEARCH_MODE_NAMES).get(m.ordinal());
         }
         else if (object instanceof SelectionMode m) {
-            return DisplayEntityEditor.messageManager.getList("selection_mode").get(m.index());
+            return DisplayEntityEditor.messageManager.getList(SELECTION_MODE_NAMES).get(m.index());
         }
         else return "";
     }
     
     public static SelectionMode getToolSelectMode(Player p) {
-        return SelectionMode.get(p.getPersistentDataContainer().getOrDefault(DisplayEntityEditor.toolSelectionModeKey, PersistentDataType.STRING, "nearby"));
+        return ToolSettings.of(p).getSelectionMode();
     }
     
     public static LockSearchMode getToolSearchMode(Player p) {
-        return LockSearchMode.valueOf(p.getPersistentDataContainer().getOrDefault(DisplayEntityEditor.toolSelectionSearchModeKey, PersistentDataType.STRING, "UNLOCKED"));
+        return ToolSettings.of(p).getSearchMode();
     }
     
     public static boolean getToolSelectMultiple(Player p) {
-        return p.getPersistentDataContainer().getOrDefault(DisplayEntityEditor.toolSelectionMultipleKey,  PersistentDataType.BOOLEAN, false);
+        return ToolSettings.of(p).isMultiple();
     }
     
     public static float getToolSelectRange(Player p) {
-        return p.getPersistentDataContainer().getOrDefault(DisplayEntityEditor.toolSelectionRangeKey,  PersistentDataType.DOUBLE, 5d).floatValue();
+        return ToolSettings.of(p).getRange();
     }
 
     public static float getToolPrecision(Player p) {
-        Double i = p.getPersistentDataContainer().get(DisplayEntityEditor.toolPrecisionKey,  PersistentDataType.DOUBLE);
-        return i != null ? i.floatValue() : 1;
+        return ToolSettings.of(p).getPrecision();
     }
 
     public static String reduceFloatLength(String s) {
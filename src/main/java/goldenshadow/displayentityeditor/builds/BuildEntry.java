@@ -0,0 +1,322 @@
+package goldenshadow.displayentityeditor.builds;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.editing.Transformations;
+import org.bukkit.Bukkit;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Transformation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single display of a build, with its position stored relative to the anchor of the build
+ */
+public class BuildEntry {
+
+    private static final byte ITEM_DISPLAY = 0;
+    private static final byte BLOCK_DISPLAY = 1;
+    private static final byte TEXT_DISPLAY = 2;
+
+    private static final int FLAG_GLOWING = 1;
+    private static final int FLAG_NAME_VISIBLE = 1 << 1;
+    private static final int FLAG_SHADOWED = 1 << 2;
+    private static final int FLAG_SEE_THROUGH = 1 << 3;
+    private static final int FLAG_DEFAULT_BACKGROUND = 1 << 4;
+
+    /**
+     * The largest item or string that is accepted when reading, so a corrupt length can't allocate a huge array
+     */
+    private static final int MAX_LENGTH = 8 * 1024 * 1024;
+
+    private static final Display.Billboard[] BILLBOARDS = Display.Billboard.values();
+    private static final ItemDisplay.ItemDisplayTransform[] ITEM_TRANSFORMS = ItemDisplay.ItemDisplayTransform.values();
+    private static final TextDisplay.TextAlignment[] ALIGNMENTS = TextDisplay.TextAlignment.values();
+
+    private byte type;
+    private float x, y, z, yaw, pitch;
+    private final float[] transformation = new float[Transformations.SIZE];
+    private byte billboard;
+    private int flags;
+    private float viewRange, shadowRadius, shadowStrength, width, height;
+    private int brightness;
+    private Integer glowColor;
+    private String name;
+
+    private byte[] item;
+    private byte itemTransform;
+    private String block;
+    private String text;
+    private Integer backgroundColor;
+    private byte textOpacity;
+    private byte alignment;
+    private int lineWidth;
+
+    private BuildEntry() {}
+
+    /**
+     * Used to take a snapshot of a display
+     * @param display The display
+     * @param anchor The location the position of the display should be relative to
+     * @return The entry
+     */
+    @SuppressWarnings("deprecation")
+    public static BuildEntry of(Display display, Location anchor) {
+        BuildEntry e = new BuildEntry();
+        Location location = display.getLocation();
+        e.x = (float) (location.getX() - anchor.getX());
+        e.y = (float) (location.getY() - anchor.getY());
+        e.z = (float) (location.getZ() - anchor.getZ());
+        e.yaw = location.getYaw();
+        e.pitch = location.getPitch();
+
+        Transformation t = DisplayEntityEditor.getPlugin().getTransformationBuffer().peek(display);
+        Transformations.write(t, e.transformation, 0);
+
+        e.billboard = (byte) display.getBillboard().ordinal();
+        e.flags = (display.isGlowing() ? FLAG_GLOWING : 0) | (display.isCustomNameVisible() ? FLAG_NAME_VISIBLE : 0);
+        e.viewRange = display.getViewRange();
+        e.shadowRadius = display.getShadowRadius();
+        e.shadowStrength = display.getShadowStrength();
+        e.width = display.getDisplayWidth();
+        e.height = display.getDisplayHeight();
+        Display.Brightness brightness = display.getBrightness();
+        e.brightness = brightness == null ? -1 : brightness.getBlockLight() << 4 | brightness.getSkyLight();
+        e.glowColor = display.getGlowColorOverride() == null ? null : display.getGlowColorOverride().asARGB();
+        e.name = display.getCustomName();
+
+        if (display instanceof ItemDisplay itemDisplay) {
+            e.type = ITEM_DISPLAY;
+            ItemStack itemStack = itemDisplay.getItemStack();
+            e.item = itemStack == null || itemStack.isEmpty() ? new byte[0] : itemStack.serializeAsBytes();
+            e.itemTransform = (byte) itemDisplay.getItemDisplayTransform().ordinal();
+        } else if (display instanceof BlockDisplay blockDisplay) {
+            e.type = BLOCK_DISPLAY;
+            e.block = blockDisplay.getBlock().getAsString();
+        } else {
+            TextDisplay textDisplay = (TextDisplay) display;
+            e.type = TEXT_DISPLAY;
+            e.text = textDisplay.getText();
+            e.backgroundColor = textDisplay.getBackgroundColor() == null ? null : textDisplay.getBackgroundColor().asARGB();
+            e.textOpacity = textDisplay.getTextOpacity();
+            e.alignment = (byte) textDisplay.getAlignment().ordinal();
+            e.lineWidth = textDisplay.getLineWidth();
+            e.flags |= (textDisplay.isShadowed() ? FLAG_SHADOWED : 0) | (textDisplay.isSeeThrough() ? FLAG_SEE_THROUGH : 0) | (textDisplay.isDefaultBackground() ? FLAG_DEFAULT_BACKGROUND : 0);
+        }
+        return e;
+    }
+
+    /**
+     * Used to get the class of display this entry has to be spawned as
+     * @return The class
+     */
+    public Class<? extends Display> getType() {
+        return switch (type) {
+            case ITEM_DISPLAY -> ItemDisplay.class;
+            case BLOCK_DISPLAY -> BlockDisplay.class;
+            default -> TextDisplay.class;
+        };
+    }
+
+    /**
+     * Used to get where this entry has to be spawned
+     * @param anchor The anchor the build is placed at
+     * @return The location, including the rotation
+     */
+    public Location getLocation(Location anchor) {
+        Location location = anchor.clone().add(x, y, z);
+        location.setYaw(yaw);
+        location.setPitch(pitch);
+        return location;
+    }
+
+    /**
+     * Used to apply everything stored in this entry, apart from the location, to a display
+     * @param display The display, which has to be of the type returned by {@link #getType()}
+     */
+    @SuppressWarnings("deprecation")
+    public void apply(Display display) {
+        display.setTransformation(Transformations.read(transformation, 0));
+        display.setBillboard(BILLBOARDS[billboard]);
+        display.setGlowing((flags & FLAG_GLOWING) != 0);
+        display.setViewRange(viewRange);
+        display.setShadowRadius(shadowRadius);
+        display.setShadowStrength(shadowStrength);
+        display.setDisplayWidth(width);
+        display.setDisplayHeight(height);
+        display.setBrightness(brightness < 0 ? null : new Display.Brightness(brightness >> 4, brightness & 15));
+        display.setGlowColorOverride(glowColor == null ? null : Color.fromARGB(glowColor));
+        display.setCustomName(name);
+        display.setCustomNameVisible((flags & FLAG_NAME_VISIBLE) != 0);
+
+        if (display instanceof ItemDisplay itemDisplay) {
+            itemDisplay.setItemStack(item.length == 0 ? null : ItemStack.deserializeBytes(item));
+            itemDisplay.setItemDisplayTransform(ITEM_TRANSFORMS[itemTransform]);
+        } else if (display instanceof BlockDisplay blockDisplay) {
+            blockDisplay.setBlock(Bukkit.createBlockData(block));
+        } else if (display instanceof TextDisplay textDisplay) {
+            textDisplay.setText(text);
+            textDisplay.setBackgroundColor(backgroundColor == null ? null : Color.fromARGB(backgroundColor));
+            textDisplay.setTextOpacity(textOpacity);
+            textDisplay.setAlignment(ALIGNMENTS[alignment]);
+            textDisplay.setLineWidth(lineWidth);
+            textDisplay.setShadowed((flags & FLAG_SHADOWED) != 0);
+            textDisplay.setSeeThrough((flags & FLAG_SEE_THROUGH) != 0);
+            textDisplay.setDefaultBackground((flags & FLAG_DEFAULT_BACKGROUND) != 0);
+        }
+    }
+
+    /**
+     * Used to write this entry
+     * @param out The output
+     * @throws IOException If writing failed
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(type);
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeFloat(z);
+        out.writeFloat(yaw);
+        out.writeFloat(pitch);
+        for (float f : transformation) {
+            out.writeFloat(f);
+        }
+        out.writeByte(billboard);
+        out.writeByte(flags);
+        out.writeFloat(viewRange);
+        out.writeFloat(shadowRadius);
+        out.writeFloat(shadowStrength);
+        out.writeFloat(width);
+        out.writeFloat(height);
+        out.writeShort(brightness);
+        writeColor(out, glowColor);
+        writeString(out, name);
+        switch (type) {
+            case ITEM_DISPLAY -> {
+                out.writeInt(item.length);
+                out.write(item);
+                out.writeByte(itemTransform);
+            }
+            case BLOCK_DISPLAY -> writeString(out, block);
+            default -> {
+                writeString(out, text);
+                writeColor(out, backgroundColor);
+                out.writeByte(textOpacity);
+                out.writeByte(alignment);
+                out.writeInt(lineWidth);
+            }
+        }
+    }
+
+    /**
+     * Used to read an entry
+     * @param in The input
+     * @param version The format version of the file the entry is read from
+     * @return The entry
+     * @throws IOException If reading failed
+     */
+    public static BuildEntry read(DataInput in, int version) throws IOException {
+        BuildEntry e = new BuildEntry();
+        e.type = in.readByte();
+        e.x = in.readFloat();
+        e.y = in.readFloat();
+        e.z = in.readFloat();
+        e.yaw = in.readFloat();
+        e.pitch = in.readFloat();
+        for (int i = 0; i < e.transformation.length; i++) {
+            e.transformation[i] = in.readFloat();
+        }
+        e.billboard = readOrdinal(in, BILLBOARDS.length, "billboard");
+        e.flags = in.readUnsignedByte();
+        e.viewRange = in.readFloat();
+        e.shadowRadius = in.readFloat();
+        e.shadowStrength = in.readFloat();
+        e.width = in.readFloat();
+        e.height = in.readFloat();
+        e.brightness = in.readShort();
+        e.glowColor = readColor(in);
+        e.name = readString(in);
+        switch (e.type) {
+            case ITEM_DISPLAY -> {
+                e.item = new byte[readLength(in, "item")];
+                in.readFully(e.item);
+                e.itemTransform = readOrdinal(in, ITEM_TRANSFORMS.length, "item transform");
+            }
+            case BLOCK_DISPLAY -> e.block = readString(in);
+            case TEXT_DISPLAY -> {
+                e.text = readString(in);
+                e.backgroundColor = readColor(in);
+                e.textOpacity = in.readByte();
+                e.alignment = readOrdinal(in, ALIGNMENTS.length, "alignment");
+                e.lineWidth = in.readInt();
+            }
+            default -> throw new IOException("Unknown display type " + e.type);
+        }
+        return e;
+    }
+
+    private static void writeColor(DataOutput out, Integer color) throws IOException {
+        out.writeBoolean(color != null);
+        if (color != null) {
+            out.writeInt(color);
+        }
+    }
+
+    private static Integer readColor(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    /**
+     * Strings are written as length prefixed utf-8, as {@link DataOutput#writeUTF(String)} can't handle more than 64KB of text
+     */
+    private static void writeString(DataOutput out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Enum values are stored as their ordinal, which is checked here so that a corrupt file fails while it is read,
+     * instead of throwing once the entry is placed
+     */
+    private static byte readOrdinal(DataInput in, int values, String what) throws IOException {
+        byte ordinal = in.readByte();
+        if (ordinal < 0 || ordinal >= values) {
+            throw new IOException("Corrupt build entry: " + what + " " + ordinal);
+        }
+        return ordinal;
+    }
+
+    private static int readLength(DataInput in, String what) throws IOException {
+        return checkLength(in.readInt(), what);
+    }
+
+    private static int checkLength(int length, String what) throws IOException {
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("Corrupt build entry: " + what + " of " + length + " bytes");
+        }
+        return length;
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[checkLength(length, "string")];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
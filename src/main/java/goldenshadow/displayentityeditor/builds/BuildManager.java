@@ -0,0 +1,248 @@
+package goldenshadow.displayentityeditor.builds;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.Utilities;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Used to export displays into build files in the plugin folder and import them again.
+ * Imports are spread over several ticks in the same way as clones, reading the file one chunk at a time. The next chunk is read
+ * asynchronously while the current one is placed, see {@link PrefetchingSource}. Prefabs are placed through the same imports.
+ */
+public class BuildManager {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String EXTENSION = ".deeb";
+
+    private final File folder;
+    private final Map<UUID, Import> imports = new ConcurrentHashMap<>();
+
+    /**
+     * Used to create a new build manager
+     * @param folder The folder the builds are stored in
+     */
+    public BuildManager(File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Used to check if a name can be used as the name of a build
+     * @param name The name
+     * @return True if it can, otherwise false
+     */
+    public static boolean isValidName(String name) {
+        return NAME_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * Used to export displays. The displays are read right away, the entries are compressed and streamed into the file asynchronously,
+     * so the server never holds the whole file in memory. The position of the displays is stored relative to the block the player is standing on.
+     * @param player The player exporting the displays, who is told once the file was written
+     * @param name The name of the build
+     * @param displays The displays
+     */
+    public void export(Player player, String name, Collection<Display> displays) {
+        Location anchor = player.getLocation().getBlock().getLocation();
+        // Only the snapshot has to be taken on the thread of the displays
+        List<BuildEntry> entries = new ArrayList<>(displays.size());
+        for (Display display : displays) {
+            if (display.isValid()) {
+                DisplayEntityEditor.getPlugin().getMotionSmoother().commit(display);
+                entries.add(BuildEntry.of(display, anchor));
+            }
+        }
+
+        Path target = new File(folder, name + EXTENSION).toPath();
+        Scheduling.runAsync(() -> {
+            String message;
+            Path temp = null;
+            try {
+                Files.createDirectories(folder.toPath());
+                // Write next to the target first, so a crash never leaves half a build behind
+                temp = Files.createTempFile(folder.toPath(), name, ".tmp");
+                try (BuildWriter writer = new BuildWriter(Files.newOutputStream(temp))) {
+                    for (BuildEntry entry : entries) {
+                        writer.write(entry);
+                    }
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("export_success", entries.size(), name));
+            } catch (IOException e) {
+                if (temp != null) {
+                    try {
+                        Files.deleteIfExists(temp);
+                    } catch (IOException ignored) {
+                    }
+                }
+                message = Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("export_fail", e.getMessage()));
+            }
+            String finalMessage = message;
+            Scheduling.run(player, () -> player.sendMessage(finalMessage));
+        });
+    }
+
+    /**
+     * Used to start importing a build at the block the player is standing on
+     * @param player The player
+     * @param name The name of the build
+     * @return False if the player is already importing a build, otherwise true
+     * @throws FileNotFoundException If there is no build with that name
+     * @throws IOException If the build could not be opened
+     */
+    public boolean importBuild(Player player, String name) throws IOException {
+        if (imports.containsKey(player.getUniqueId())) {
+            return false;
+        }
+        File file = new File(folder, name + EXTENSION);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(name);
+        }
+        start(player, new PrefetchingSource(new BuildReader(new FileInputStream(file))), player.getLocation().getBlock().getLocation(), "import_progress", "import_success");
+        return true;
+    }
+
+    /**
+     * Used to start placing entries that were already read, for example a prefab, at the block the player is standing on.
+     * Placing counts as importing, so a player can't place something while an import is still running.
+     * @param player The player
+     * @param entries The entries
+     * @return False if the player is already importing a build, otherwise true
+     */
+    public boolean place(Player player, List<BuildEntry> entries) {
+        if (imports.containsKey(player.getUniqueId())) {
+            return false;
+        }
+        Iterator<BuildEntry> iterator = entries.iterator();
+        start(player, () -> iterator.hasNext() ? iterator.next() : null, player.getLocation().getBlock().getLocation(), "prefab_progress", "prefab_success");
+        return true;
+    }
+
+    /**
+     * Used to stop importing. Displays that were already spawned are kept.
+     * @param player The player
+     * @return True if the player was importing something, otherwise false
+     */
+    public boolean cancel(Player player) {
+        Import job = imports.remove(player.getUniqueId());
+        if (job == null) {
+            return false;
+        }
+        job.stop();
+        return true;
+    }
+
+    /**
+     * Used to stop all imports, for example when the plugin is disabled
+     */
+    public void cancelAll() {
+        imports.values().forEach(Import::stop);
+        imports.clear();
+    }
+
+    private void start(Player player, BuildSource source, Location anchor, String progressKey, String successKey) {
+        Import job = new Import(player, source, anchor, progressKey, successKey);
+        imports.put(player.getUniqueId(), job);
+        // Runs on the thread of the player, the displays themselves are spawned by the regions they end up in
+        job.task = Scheduling.runTimer(player, () -> {
+            if (job.run()) {
+                imports.remove(player.getUniqueId());
+                job.stop();
+            }
+        }, 1L, 1L);
+        if (job.task == null) {
+            imports.remove(player.getUniqueId());
+            job.stop();
+        }
+    }
+
+    /**
+     * A build that is being imported
+     */
+    private static class Import {
+
+        private final Player player;
+        private final BuildSource source;
+        private final Location anchor;
+        private final World world;
+        private final String progressKey;
+        private final String successKey;
+        // Displays are spawned by the regions they end up in on Folia, so these are counted from there
+        private final AtomicInteger spawned = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger spawning = new AtomicInteger();
+        private boolean read;
+        private Scheduling.Task task;
+
+        private Import(Player player, BuildSource source, Location anchor, String progressKey, String successKey) {
+            this.player = player;
+            this.source = source;
+            this.anchor = anchor;
+            this.world = anchor.getWorld();
+            this.progressKey = progressKey;
+            this.successKey = successKey;
+        }
+
+        /**
+         * Used to spawn displays until the time budget of this tick is used up, or until the entries that were read ahead run out
+         * @return True if the import is done, otherwise false
+         */
+        private boolean run() {
+            long deadline = System.nanoTime() + (long) (DisplayEntityEditor.cloneTickBudget * 1_000_000);
+            try {
+                while (!read && source.isReady() && System.nanoTime() < deadline) {
+                    BuildEntry entry = source.next();
+                    if (entry == null) {
+                        read = true;
+                        break;
+                    }
+                    Location location = entry.getLocation(anchor);
+                    spawning.incrementAndGet();
+                    Scheduling.run(location, () -> {
+                        try {
+                            world.spawn(location, entry.getType(), false, entry::apply);
+                            spawned.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            // For example block data or items from a newer version
+                            skipped.incrementAndGet();
+                        } finally {
+                            spawning.decrementAndGet();
+                        }
+                    });
+                }
+            } catch (IOException e) {
+                player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("import_fail", e.getMessage())));
+                return true;
+            }
+            // The success message waits until the regions spawned everything, so it counts the displays that were skipped there
+            if (read && spawning.get() == 0) {
+                player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format(successKey, spawned.get(), skipped.get())));
+                return true;
+            }
+            Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format(progressKey, spawned.get()));
+            return false;
+        }
+
+        private void stop() {
+            if (task != null) {
+                task.cancel();
+            }
+            try {
+                source.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package goldenshadow.displayentityeditor.builds;
+
+import java.io.*;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads builds written by a {@link BuildWriter}, one chunk at a time. Every length read from the file is checked before
+ * anything is allocated for it, so a corrupt or cut off file fails with an error instead of running out of memory.
+ */
+public class BuildReader implements BuildSource {
+
+    /**
+     * The largest compressed chunk that is accepted, far more than {@link BuildWriter#CHUNK_SIZE} entries ever need
+     */
+    private static final int MAX_CHUNK_LENGTH = 64 * 1024 * 1024;
+
+    private final DataInputStream in;
+    private final int version;
+    private DataInputStream chunk;
+    private int chunkEntries;
+    private boolean finished;
+
+    /**
+     * Used to start reading a build
+     * @param in The stream the build is read from. It is closed together with the reader
+     * @throws IOException If the stream does not contain a build or its version is not supported
+     */
+    public BuildReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != BuildWriter.MAGIC) {
+            this.in.close();
+            throw new IOException("Not a build file");
+        }
+        version = this.in.readUnsignedShort();
+        if (version < 1 || version > BuildWriter.VERSION) {
+            this.in.close();
+            throw new IOException("Unsupported build file version " + version);
+        }
+    }
+
+    @Override
+    public BuildEntry next() throws IOException {
+        while (chunkEntries == 0) {
+            if (finished || !nextChunk()) {
+                return null;
+            }
+        }
+        chunkEntries--;
+        return BuildEntry.read(chunk, version);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (chunk != null) {
+            chunk.close();
+        }
+        in.close();
+    }
+
+    private boolean nextChunk() throws IOException {
+        int entries = in.readInt();
+        if (entries == 0) {
+            finished = true;
+            return false;
+        }
+        if (entries < 0 || entries > BuildWriter.CHUNK_SIZE) {
+            throw new IOException("Corrupt build file: chunk with " + entries + " entries");
+        }
+        int length = in.readInt();
+        if (length <= 0 || length > MAX_CHUNK_LENGTH) {
+            throw new IOException("Corrupt build file: chunk of " + length + " bytes");
+        }
+        // Reads in small steps, so a file that is cut off does not allocate the whole length first
+        byte[] compressed = in.readNBytes(length);
+        if (compressed.length != length) {
+            throw new EOFException("Build file is cut off");
+        }
+        if (chunk != null) {
+            chunk.close();
+        }
+        chunk = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)));
+        chunkEntries = entries;
+        return true;
+    }
+}
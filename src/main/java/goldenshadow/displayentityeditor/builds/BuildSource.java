@@ -0,0 +1,29 @@
+package goldenshadow.displayentityeditor.builds;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Something build entries can be read from one after another, such as a build file or an already decoded prefab
+ */
+@FunctionalInterface
+public interface BuildSource extends Closeable {
+
+    /**
+     * Used to read the next entry
+     * @return The entry, or null if there are no entries left
+     * @throws IOException If reading failed
+     */
+    BuildEntry next() throws IOException;
+
+    /**
+     * Used to check if the next entry can be read without waiting for the disk
+     * @return False if {@link #next()} would have to wait for entries that are still being read, otherwise true
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    @Override
+    default void close() throws IOException {}
+}
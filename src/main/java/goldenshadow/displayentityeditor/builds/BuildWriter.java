@@ -0,0 +1,93 @@
+package goldenshadow.displayentityeditor.builds;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes builds in the binary build format. Entries are collected into chunks of up to {@link #CHUNK_SIZE} entries,
+ * and every chunk is compressed and written on its own, so neither writing nor reading a build ever has to hold more than one chunk.
+ * <p>
+ * A file starts with {@link #MAGIC} and the format version, followed by the chunks. Each chunk is its amount of entries,
+ * its compressed length and the compressed entries. A chunk with 0 entries marks the end of the file.
+ */
+public class BuildWriter implements Closeable {
+
+    public static final int MAGIC = 0x44454542; // "DEEB"
+    public static final int VERSION = 1;
+    public static final int CHUNK_SIZE = 256;
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(16 * 1024);
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private DataOutputStream chunk;
+    private int chunkEntries;
+    private int written;
+
+    /**
+     * Used to start writing a build
+     * @param out The stream the build is written to. It is closed together with the writer
+     * @throws IOException If the header could not be written
+     */
+    public BuildWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+        startChunk();
+    }
+
+    /**
+     * Used to write an entry
+     * @param entry The entry
+     * @throws IOException If writing failed
+     */
+    public void write(BuildEntry entry) throws IOException {
+        entry.write(chunk);
+        written++;
+        if (++chunkEntries == CHUNK_SIZE) {
+            flushChunk();
+        }
+    }
+
+    /**
+     * Used to get the amount of entries written so far
+     * @return The amount
+     */
+    public int getWritten() {
+        return written;
+    }
+
+    /**
+     * Used to write the last chunk and the end marker and close the stream
+     * @throws IOException If writing failed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushChunk();
+            out.writeInt(0);
+            out.flush();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void startChunk() {
+        chunkBytes.reset();
+        deflater.reset();
+        chunk = new DataOutputStream(new DeflaterOutputStream(chunkBytes, deflater));
+        chunkEntries = 0;
+    }
+
+    private void flushChunk() throws IOException {
+        if (chunkEntries == 0) {
+            return;
+        }
+        chunk.close();
+        out.writeInt(chunkEntries);
+        out.writeInt(chunkBytes.size());
+        chunkBytes.writeTo(out);
+        startChunk();
+    }
+}
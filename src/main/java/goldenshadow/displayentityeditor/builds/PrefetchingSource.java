@@ -0,0 +1,95 @@
+package goldenshadow.displayentityeditor.builds;
+
+import goldenshadow.displayentityeditor.Scheduling;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reads the entries of another source asynchronously, one chunk ahead of the entries that are being used. While the entries
+ * of one chunk are placed, the next chunk is already read and decompressed off the thread placing them, so an import never waits for the disk.
+ * <p>
+ * Only one chunk is ever read at a time, and only after the previous one was taken, so the wrapped source is never used by two threads at once.
+ */
+class PrefetchingSource implements BuildSource {
+
+    private final BuildSource source;
+    private List<BuildEntry> chunk = List.of();
+    private int position;
+    /** The chunk that is being read, or null once the source has no entries left */
+    private CompletableFuture<List<BuildEntry>> next;
+
+    /**
+     * Used to start reading the first chunk of a source
+     * @param source The source, which is closed together with this one
+     */
+    PrefetchingSource(BuildSource source) {
+        this.source = source;
+        this.next = fetch();
+    }
+
+    @Override
+    public boolean isReady() {
+        return position < chunk.size() || next == null || next.isDone();
+    }
+
+    @Override
+    public BuildEntry next() throws IOException {
+        if (position == chunk.size()) {
+            if (next == null) {
+                return null;
+            }
+            try {
+                chunk = next.join();
+            } catch (CompletionException e) {
+                next = null;
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+            position = 0;
+            // A chunk that is not full was the last one
+            next = chunk.size() < BuildWriter.CHUNK_SIZE ? null : fetch();
+            if (chunk.isEmpty()) {
+                return null;
+            }
+        }
+        return chunk.get(position++);
+    }
+
+    @Override
+    public void close() throws IOException {
+        CompletableFuture<List<BuildEntry>> pending = next;
+        next = null;
+        if (pending == null || pending.isDone()) {
+            source.close();
+            return;
+        }
+        // The source is still being read on another thread, so it is closed once that is done
+        pending.whenComplete((entries, e) -> {
+            try {
+                source.close();
+            } catch (IOException ignored) {
+            }
+        });
+    }
+
+    private CompletableFuture<List<BuildEntry>> fetch() {
+        CompletableFuture<List<BuildEntry>> future = new CompletableFuture<>();
+        Scheduling.runAsync(() -> {
+            List<BuildEntry> entries = new ArrayList<>(BuildWriter.CHUNK_SIZE);
+            try {
+                BuildEntry entry;
+                while (entries.size() < BuildWriter.CHUNK_SIZE && (entry = source.next()) != null) {
+                    entries.add(entry);
+                }
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            future.complete(entries);
+        });
+        return future;
+    }
+}
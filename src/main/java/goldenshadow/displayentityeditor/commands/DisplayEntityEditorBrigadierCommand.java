@@ -7,23 +7,27 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import goldenshadow.displayentityeditor.DisplayEntityEditor;
 import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.builds.BuildManager;
 import goldenshadow.displayentityeditor.conversation.InputData;
 import goldenshadow.displayentityeditor.conversation.InputManager;
 import goldenshadow.displayentityeditor.enums.InputType;
+import goldenshadow.displayentityeditor.sessions.GroupFilter;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.Commands;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.entity.BlockDisplay;
 import org.bukkit.entity.Display;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.TextDisplay;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.UUID;
+import java.util.Collection;
 
 /**
  * Brigadier command handler for the DisplayEntityEditor plugin.
@@ -33,9 +37,6 @@ import java.util.UUID;
 @SuppressWarnings("UnstableApiUsage")
 public class DisplayEntityEditorBrigadierCommand {
 
-    /** Stores saved player inventories mapped by player UUID for later restoration */
-    private final HashMap<UUID, ItemStack[]> savedInventories = new HashMap<>();
-
     /**
      * Creates and registers the main displayentityeditor command with all subcommands.
      *
@@ -47,7 +48,7 @@ public class DisplayEntityEditorBrigadierCommand {
                     Player p = getPlayerOrFail(ctx);
                     if (p == null) return 0;
 
-                    if (savedInventories.containsKey(p.getUniqueId())) {
+                    if (DisplayEntityEditor.getPlugin().getEditSessions().hasSavedInventory(p.getUniqueId())) {
                         returnInventory(p);
                         p.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("inventory_returned")));
                         return Command.SINGLE_SUCCESS;
@@ -72,8 +73,8 @@ public class DisplayEntityEditorBrigadierCommand {
 
                             try {
                                 DisplayEntityEditor.getPlugin().reloadConfig();
-                                DisplayEntityEditor.alternateTextInput = DisplayEntityEditor.getPlugin().getConfig().getBoolean("alternate-text-input");
-                                DisplayEntityEditor.useMiniMessageFormat = DisplayEntityEditor.getPlugin().getConfig().getBoolean("use-minimessage-format");
+                                DisplayEntityEditor.getPlugin().getMotionSmoother().commitAll();
+                                DisplayEntityEditor.loadConfigValues();
                                 DisplayEntityEditor.checkForMessageFile();
                                 p.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("config_reload")));
                             } catch (IOException e) {
@@ -81,6 +82,185 @@ public class DisplayEntityEditorBrigadierCommand {
                             }
                             return Command.SINGLE_SUCCESS;
                         }))
+                .then(Commands.literal("undo")
+                        .executes(ctx -> {
+                            Player p = getPlayerOrFail(ctx);
+                            if (p == null) return 0;
+
+                            int changed = DisplayEntityEditor.getPlugin().getEditJournal().undo(p);
+                            if (changed < 0) {
+                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("undo_fail")));
+                                return 0;
+                            }
+                            p.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("undo_success", changed)));
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                .then(Commands.literal("redo")
+                        .executes(ctx -> {
+                            Player p = getPlayerOrFail(ctx);
+                            if (p == null) return 0;
+
+                            int changed = DisplayEntityEditor.getPlugin().getEditJournal().redo(p);
+                            if (changed < 0) {
+                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("redo_fail")));
+                                return 0;
+                            }
+                            p.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("redo_success", changed)));
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                .then(Commands.literal("export")
+                        .then(Commands.argument("name", StringArgumentType.word())
+                                .executes(ctx -> {
+                                    Player p = getPlayerOrFail(ctx);
+                                    if (p == null) return 0;
+
+                                    String name = StringArgumentType.getString(ctx, "name");
+                                    if (!BuildManager.isValidName(name)) {
+                                        p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("build_invalid_name")));
+                                        return 0;
+                                    }
+                                    Collection<Display> displays = DisplayEntityEditor.getPlugin().getEditingHandler().getEditingDisplays(p);
+                                    if (displays == null) {
+                                        p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("generic_fail")));
+                                        return 0;
+                                    }
+                                    DisplayEntityEditor.getPlugin().getBuildManager().export(p, name, displays);
+                                    return Command.SINGLE_SUCCESS;
+                                })))
+                .then(Commands.literal("import")
+                        .then(Commands.argument("name", StringArgumentType.word())
+                                .executes(ctx -> {
+                                    Player p = getPlayerOrFail(ctx);
+                                    if (p == null) return 0;
+
+                                    String name = StringArgumentType.getString(ctx, "name");
+                                    if (!BuildManager.isValidName(name)) {
+                                        p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("build_invalid_name")));
+                                        return 0;
+                                    }
+                                    try {
+                                        if (!DisplayEntityEditor.getPlugin().getBuildManager().importBuild(p, name)) {
+                                            p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("import_busy")));
+                                            return 0;
+                                        }
+                                    } catch (FileNotFoundException e) {
+                                        p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("build_not_found", name)));
+                                        return 0;
+                                    } catch (IOException e) {
+                                        p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("import_fail", e.getMessage())));
+                                        return 0;
+                                    }
+                                    return Command.SINGLE_SUCCESS;
+                                })))
+                .then(Commands.literal("prefab")
+                        .then(Commands.literal("save")
+                                .then(Commands.argument("name", StringArgumentType.word())
+                                        .executes(ctx -> {
+                                            Player p = getPlayerOrFail(ctx);
+                                            if (p == null) return 0;
+
+                                            String name = StringArgumentType.getString(ctx, "name");
+                                            if (!BuildManager.isValidName(name)) {
+                                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("build_invalid_name")));
+                                                return 0;
+                                            }
+                                            Collection<Display> displays = DisplayEntityEditor.getPlugin().getEditingHandler().getEditingDisplays(p);
+                                            if (displays == null) {
+                                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("generic_fail")));
+                                                return 0;
+                                            }
+                                            DisplayEntityEditor.getPlugin().getPrefabLibrary().save(name, displays, p.getLocation().getBlock().getLocation()).whenComplete((saved, e) -> {
+                                                if (e != null) {
+                                                    p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("prefab_save_fail", e.getMessage())));
+                                                } else {
+                                                    p.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("prefab_save_success", saved, name)));
+                                                }
+                                            });
+                                            return Command.SINGLE_SUCCESS;
+                                        })))
+                        .then(Commands.literal("select")
+                                .then(Commands.argument("name", StringArgumentType.word())
+                                        .suggests((ctx, builder) -> {
+                                            DisplayEntityEditor.getPlugin().getPrefabLibrary().getNames().stream()
+                                                    .filter(name -> name.startsWith(builder.getRemaining()))
+                                                    .sorted()
+                                                    .forEach(builder::suggest);
+                                            return builder.buildFuture();
+                                        })
+                                        .executes(ctx -> {
+                                            Player p = getPlayerOrFail(ctx);
+                                            if (p == null) return 0;
+
+                                            String name = StringArgumentType.getString(ctx, "name");
+                                            if (!DisplayEntityEditor.getPlugin().getPrefabLibrary().contains(name)) {
+                                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("prefab_not_found", name)));
+                                                return 0;
+                                            }
+                                            p.getPersistentDataContainer().set(DisplayEntityEditor.selectedPrefabKey, PersistentDataType.STRING, name);
+                                            p.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("prefab_selected", name)));
+                                            return Command.SINGLE_SUCCESS;
+                                        }))))
+                .then(Commands.literal("filter")
+                        .then(Commands.literal("type")
+                                .then(Commands.argument("type", StringArgumentType.word())
+                                        .suggests((ctx, builder) -> {
+                                            for (String type : new String[]{"item_display", "block_display", "text_display"}) {
+                                                if (type.startsWith(builder.getRemainingLowerCase())) {
+                                                    builder.suggest(type);
+                                                }
+                                            }
+                                            return builder.buildFuture();
+                                        })
+                                        .executes(ctx -> {
+                                            Player p = getPlayerOrFail(ctx);
+                                            if (p == null) return 0;
+
+                                            String value = StringArgumentType.getString(ctx, "type");
+                                            EntityType type = GroupFilter.parseType(value);
+                                            if (type == null) {
+                                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("group_filter_invalid", value)));
+                                                return 0;
+                                            }
+                                            return setGroupFilter(p, DisplayEntityEditor.groupFilterTypeKey, "type", type.name());
+                                        })))
+                        .then(Commands.literal("material")
+                                .then(Commands.argument("material", StringArgumentType.word())
+                                        .executes(ctx -> {
+                                            Player p = getPlayerOrFail(ctx);
+                                            if (p == null) return 0;
+
+                                            String value = StringArgumentType.getString(ctx, "material");
+                                            Material material = Material.matchMaterial(value);
+                                            if (material == null) {
+                                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("group_filter_invalid", value)));
+                                                return 0;
+                                            }
+                                            return setGroupFilter(p, DisplayEntityEditor.groupFilterMaterialKey, "material", material.getKey().toString());
+                                        })))
+                        .then(Commands.literal("name")
+                                .then(Commands.argument("pattern", StringArgumentType.greedyString())
+                                        .executes(ctx -> {
+                                            Player p = getPlayerOrFail(ctx);
+                                            if (p == null) return 0;
+
+                                            String value = StringArgumentType.getString(ctx, "pattern");
+                                            if (GroupFilter.compile(value) == null) {
+                                                p.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("group_filter_invalid", value)));
+                                                return 0;
+                                            }
+                                            return setGroupFilter(p, DisplayEntityEditor.groupFilterNameKey, "name", value);
+                                        })))
+                        .then(Commands.literal("clear")
+                                .executes(ctx -> {
+                                    Player p = getPlayerOrFail(ctx);
+                                    if (p == null) return 0;
+
+                                    p.getPersistentDataContainer().remove(DisplayEntityEditor.groupFilterTypeKey);
+                                    p.getPersistentDataContainer().remove(DisplayEntityEditor.groupFilterMaterialKey);
+                                    p.getPersistentDataContainer().remove(DisplayEntityEditor.groupFilterNameKey);
+                                    p.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("group_filter_clear")));
+                                    return Command.SINGLE_SUCCESS;
+                                })))
                 .then(Commands.literal("edit")
                         .then(editCommand("name", InputType.NAME, false))
                         .then(editCommand("text", InputType.TEXT, true))
@@ -237,6 +417,21 @@ public class DisplayEntityEditorBrigadierCommand {
                 .build();
     }
 
+    /**
+     * Stores a filter the group select tool should use for a player.
+     *
+     * @param player the player
+     * @param key the key the filter is stored under
+     * @param filter the name of the filter, as shown to the player
+     * @param value the value of the filter
+     * @return the command result
+     */
+    private int setGroupFilter(Player player, NamespacedKey key, String filter, String value) {
+        player.getPersistentDataContainer().set(key, PersistentDataType.STRING, value);
+        player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("group_filter_set", filter, value)));
+        return Command.SINGLE_SUCCESS;
+    }
+
     /**
      * Extracts the Player from the command context and validates it.
      * Sends an error message if the command sender is not a player.
@@ -261,7 +456,9 @@ public class DisplayEntityEditorBrigadierCommand {
      */
     private void saveInventory(Player player) {
         // Store a clone of the current inventory contents
-        savedInventories.put(player.getUniqueId(), player.getInventory().getContents().clone());
+        ItemStack[] contents = player.getInventory().getContents().clone();
+        DisplayEntityEditor.getPlugin().getEditSessions().setSavedInventory(player.getUniqueId(), contents);
+        DisplayEntityEditor.getPlugin().getSavedInventoryStore().save(player.getUniqueId(), contents);
         player.getInventory().clear();
     }
 
@@ -272,11 +469,9 @@ public class DisplayEntityEditorBrigadierCommand {
      * @param player the player whose inventory should be restored
      */
     public void returnInventory(Player player) {
-        // Check if an inventory is saved for this player
-        if (!savedInventories.containsKey(player.getUniqueId())) return;
-
-        // Retrieve the saved inventory
-        ItemStack[] saved = savedInventories.get(player.getUniqueId());
+        // Retrieve and forget the saved inventory, if one is saved for this player
+        ItemStack[] saved = DisplayEntityEditor.getPlugin().getEditSessions().takeSavedInventory(player.getUniqueId());
+        if (saved == null) return;
         player.getInventory().clear();
 
         // Restore all items from the saved inventory
@@ -285,6 +480,18 @@ public class DisplayEntityEditorBrigadierCommand {
         }
 
         // Remove the saved inventory from storage
-        savedInventories.remove(player.getUniqueId());
+        DisplayEntityEditor.getPlugin().getSavedInventoryStore().remove(player.getUniqueId());
+    }
+
+    /**
+     * Restores an inventory that was saved before the server stopped without returning it, for example because it crashed.
+     * The tools the player still has are replaced.
+     *
+     * @param player the player whose inventory should be restored
+     * @param contents the saved inventory contents
+     */
+    public void restoreInventory(Player player, ItemStack[] contents) {
+        DisplayEntityEditor.getPlugin().getEditSessions().setSavedInventory(player.getUniqueId(), contents);
+        returnInventory(player);
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package goldenshadow.displayentityeditor.conversation;
 
 import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
 import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.editing.DisplayProperty;
 import goldenshadow.displayentityeditor.enums.InputType;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
@@ -29,7 +31,7 @@ public class InputManager {
      * @param data The data about the input
      */
     public static void createTextInput(Player player, String message, InputData data) {
-        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("generic_prompt").formatted(message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
+        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("generic_prompt", message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
         Conversation c = DisplayEntityEditor.conversationFactory.withFirstPrompt(new TextPrompt(message)).thatExcludesNonPlayersWithMessage("This must be done by a player!").withLocalEcho(false).withEscapeSequence(DisplayEntityEditor.messageManager.getString("prompt_escape_word")).buildConversation(player);
         c.getContext().setSessionData("data", data);
         c.begin();
@@ -42,7 +44,7 @@ public class InputManager {
      * @param data The data about the input
      */
     public static void createIntegerInput(Player player, String message, InputData data) {
-        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("generic_prompt").formatted(message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
+        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("generic_prompt", message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
         Conversation c = DisplayEntityEditor.conversationFactory.withFirstPrompt(new IntegerPrompt(message)).thatExcludesNonPlayersWithMessage("This must be done by a player!").withLocalEcho(false).withEscapeSequence(DisplayEntityEditor.messageManager.getString("prompt_escape_word")).buildConversation(player);
         c.getContext().setSessionData("data", data);
         c.begin();
@@ -55,7 +57,7 @@ public class InputManager {
      * @param data The data about the input
      */
     public static void createFloatInput(Player player, String message, InputData data) {
-        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("generic_prompt").formatted(message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
+        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("generic_prompt", message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
         Conversation c = DisplayEntityEditor.conversationFactory.withFirstPrompt(new FloatPrompt(message)).thatExcludesNonPlayersWithMessage("This must be done by a player!").withLocalEcho(false).withEscapeSequence(DisplayEntityEditor.messageManager.getString("prompt_escape_word")).buildConversation(player);
         c.getContext().setSessionData("data", data);
         c.begin();
@@ -68,7 +70,7 @@ public class InputManager {
      * @param data The data about the input
      */
     public static void createByteInput(Player player, String message, InputData data) {
-        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("generic_prompt").formatted(message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
+        message = Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("generic_prompt", message, DisplayEntityEditor.messageManager.getString("prompt_escape_word")));
         Conversation c = DisplayEntityEditor.conversationFactory.withFirstPrompt(new BytePrompt(message)).thatExcludesNonPlayersWithMessage("This must be done by a player!").withLocalEcho(false).withEscapeSequence(DisplayEntityEditor.messageManager.getString("prompt_escape_word")).buildConversation(player);
         c.getContext().setSessionData("data", data);
         c.begin();
@@ -102,6 +104,7 @@ public class InputManager {
     }
 
     public static void successfulIntegerInput(InputData inputData, int i, Player player) {
+        record(inputData, player);
         if (inputData.inputType() == InputType.LINE_WIDTH) {
             ((TextDisplay) inputData.entity()).setLineWidth(i);
             player.sendRawMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("line_width_success")));
@@ -110,6 +113,7 @@ public class InputManager {
 
     @SuppressWarnings("deprecation")
     public static void successfulByteInput(InputData inputData, int integer, Player player) {
+        record(inputData, player);
         switch (inputData.inputType()) {
             case TEXT_OPACITY -> {
                 byte b = (byte) integer;
@@ -130,6 +134,7 @@ public class InputManager {
     }
 
     public static void successfulFloatInput(InputData inputData, float f, Player player) {
+        record(inputData, player);
         switch (inputData.inputType()) {
             case VIEW_RANGE -> {
                 inputData.entity().setViewRange(f);
@@ -160,6 +165,7 @@ public class InputManager {
 
     @SuppressWarnings("deprecation")
     public static void successfulTextInput(InputData inputData, String s ,Player player) {
+        record(inputData, player);
         switch (inputData.inputType()) {
             case NAME -> {
 
@@ -227,7 +233,7 @@ public class InputManager {
                     inputData.entity().setGlowColorOverride(Color.fromRGB(array[0], array[1], array[2]));
 
                     if (inputData.entity() instanceof BlockDisplay) {
-                        Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> ((BlockDisplay) inputData.entity()).setBlock(blockData), 1L);
+                        Scheduling.runLater(inputData.entity(), () -> ((BlockDisplay) inputData.entity()).setBlock(blockData), 1L);
                     }
 
                     player.sendRawMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("glow_color_success")));
@@ -249,6 +255,29 @@ public class InputManager {
         }
     }
 
+    /**
+     * Used to record the property an input is about to change, so that it can be undone
+     * @param inputData The data about the input
+     * @param player The player who made the input
+     */
+    private static void record(InputData inputData, Player player) {
+        DisplayProperty property = switch (inputData.inputType()) {
+            case NAME -> DisplayProperty.NAME;
+            case VIEW_RANGE -> DisplayProperty.VIEW_RANGE;
+            case DISPLAY_HEIGHT -> DisplayProperty.DISPLAY_HEIGHT;
+            case DISPLAY_WIDTH -> DisplayProperty.DISPLAY_WIDTH;
+            case SHADOW_RADIUS -> DisplayProperty.SHADOW_RADIUS;
+            case SHADOW_STRENGTH -> DisplayProperty.SHADOW_STRENGTH;
+            case TEXT_OPACITY -> DisplayProperty.TEXT_OPACITY;
+            case LINE_WIDTH -> DisplayProperty.TEXT_LINE_WIDTH;
+            case BACKGROUND_OPACITY, BACKGROUND_COLOR -> DisplayProperty.TEXT_BACKGROUND_COLOR;
+            case TEXT, TEXT_APPEND -> DisplayProperty.TEXT;
+            case GLOW_COLOR -> DisplayProperty.GLOW_COLOR;
+            case BLOCK_STATE -> DisplayProperty.BLOCK;
+        };
+        DisplayEntityEditor.getPlugin().getEditJournal().recordProperty(player, inputData.entity(), property);
+    }
+
     /**
      * Used to parse a text input for an RBG value into an array of those values
      * @param input The text input
@@ -0,0 +1,161 @@
+package goldenshadow.displayentityeditor.editing;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.Utilities;
+import org.bukkit.entity.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clones displays for the clone tool. Large selections are spread over several ticks, with only as many clones spawned
+ * per tick as fit into the configured time budget, so that cloning a whole build does not freeze the server.
+ */
+public class BulkCloner {
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Used to start cloning displays. As many clones as fit into the time budget are spawned right away, the rest in the following ticks.
+     * @param player The player cloning the displays
+     * @param displays The displays that should be cloned
+     * @return False if the player is already cloning something, otherwise true
+     */
+    public boolean clone(Player player, Collection<Display> displays) {
+        if (jobs.containsKey(player.getUniqueId())) {
+            return false;
+        }
+        MotionSmoother motionSmoother = DisplayEntityEditor.getPlugin().getMotionSmoother();
+        Scheduling.forEach(displays, motionSmoother::commit);
+
+        Job job = new Job(player, displays);
+        if (job.run()) {
+            return true;
+        }
+        jobs.put(player.getUniqueId(), job);
+        job.task = Scheduling.runTimer(player, () -> {
+            if (job.run()) {
+                jobs.remove(player.getUniqueId());
+                job.task.cancel();
+            }
+        }, 1L, 1L);
+        if (job.task == null) {
+            jobs.remove(player.getUniqueId());
+        }
+        return true;
+    }
+
+    /**
+     * Used to stop cloning. Clones that were already spawned are kept.
+     * @param player The player
+     * @return True if the player was cloning something, otherwise false
+     */
+    public boolean cancel(Player player) {
+        Job job = jobs.remove(player.getUniqueId());
+        if (job == null || job.task == null) {
+            return false;
+        }
+        job.task.cancel();
+        return true;
+    }
+
+    /**
+     * Used to copy all properties of a display onto another one
+     * @param clone The clone
+     * @param template The template
+     */
+    @SuppressWarnings("deprecation")
+    public static void copy(Display clone, Display template) {
+        clone.setBrightness(template.getBrightness());
+        clone.setBillboard(template.getBillboard());
+        clone.setCustomName(template.getCustomName());
+        clone.setGlowColorOverride(template.getGlowColorOverride());
+        clone.setGlowing(template.isGlowing());
+        clone.setCustomNameVisible(template.isCustomNameVisible());
+        clone.setShadowStrength(template.getShadowStrength());
+        clone.setShadowRadius(template.getShadowRadius());
+        clone.setDisplayHeight(template.getDisplayHeight());
+        clone.setDisplayWidth(template.getDisplayWidth());
+        clone.setViewRange(template.getViewRange());
+        clone.setTransformation(DisplayEntityEditor.getPlugin().getTransformationBuffer().peek(template));
+        if (clone instanceof ItemDisplay itemDisplay) {
+            itemDisplay.setItemStack(((ItemDisplay) template).getItemStack());
+            itemDisplay.setItemDisplayTransform(((ItemDisplay) template).getItemDisplayTransform());
+        }
+        if (clone instanceof BlockDisplay blockDisplay) {
+            blockDisplay.setBlock(((BlockDisplay) template).getBlock());
+        }
+        if (clone instanceof TextDisplay textDisplay) {
+            TextDisplay templateText = (TextDisplay) template;
+            textDisplay.setText(templateText.getText());
+            textDisplay.setBackgroundColor(templateText.getBackgroundColor());
+            textDisplay.setShadowed(templateText.isShadowed());
+            textDisplay.setAlignment(templateText.getAlignment());
+            textDisplay.setTextOpacity(templateText.getTextOpacity());
+            textDisplay.setSeeThrough(templateText.isSeeThrough());
+            textDisplay.setDefaultBackground(templateText.isDefaultBackground());
+            textDisplay.setLineWidth(templateText.getLineWidth());
+        }
+    }
+
+    /**
+     * The displays a single player still has to clone
+     */
+    private static class Job {
+
+        private final Player player;
+        private final Deque<Display> templates;
+        private final int total;
+        private int cloned;
+        private Scheduling.Task task;
+
+        private Job(Player player, Collection<Display> displays) {
+            this.player = player;
+            this.templates = new ArrayDeque<>(displays);
+            this.total = displays.size();
+        }
+
+        /**
+         * Used to spawn clones until the time budget of this tick is used up
+         * @return True if everything was cloned, otherwise false
+         */
+        private boolean run() {
+            long deadline = System.nanoTime() + (long) (DisplayEntityEditor.cloneTickBudget * 1_000_000);
+            while (!templates.isEmpty()) {
+                Display template = templates.poll();
+                if (template.isValid() && spawn(template)) {
+                    cloned++;
+                }
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            if (templates.isEmpty()) {
+                if (cloned == 1) {
+                    Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("clone"));
+                } else {
+                    Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("clone_finished", cloned));
+                }
+                return true;
+            }
+            Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("clone_progress", total - templates.size(), total));
+            return false;
+        }
+
+        /**
+         * Used to spawn a clone, with all of its properties set before it is sent to any player.
+         * On Folia the clone is spawned by the region the template is in.
+         * @return True if the clone was spawned, otherwise false
+         */
+        @SuppressWarnings("unchecked")
+        private boolean spawn(Display template) {
+            Class<? extends Display> type = (Class<? extends Display>) template.getType().getEntityClass();
+            if (type == null) {
+                return false;
+            }
+            Scheduling.run(template, () -> template.getWorld().spawn(template.getLocation(), type, false, clone -> copy(clone, template)));
+            return true;
+        }
+    }
+}
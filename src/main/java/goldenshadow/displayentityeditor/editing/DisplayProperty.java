@@ -0,0 +1,87 @@
+package goldenshadow.displayentityeditor.editing;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import org.bukkit.Color;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The properties of a display, other than its location and transformation, that can be changed through the gui or text input
+ * and therefore have to be recorded in the {@link EditJournal}
+ */
+@SuppressWarnings("deprecation")
+public enum DisplayProperty {
+
+    NAME(Display.class, Display::getCustomName, (d, v) -> {
+        d.setCustomName((String) v);
+        d.setCustomNameVisible(v != null);
+    }),
+    GLOWING(Display.class, Display::isGlowing, (d, v) -> d.setGlowing((Boolean) v)),
+    GLOW_COLOR(Display.class, Display::getGlowColorOverride, (d, v) -> d.setGlowColorOverride((Color) v)),
+    VIEW_RANGE(Display.class, Display::getViewRange, (d, v) -> d.setViewRange((Float) v)),
+    DISPLAY_WIDTH(Display.class, Display::getDisplayWidth, (d, v) -> d.setDisplayWidth((Float) v)),
+    DISPLAY_HEIGHT(Display.class, Display::getDisplayHeight, (d, v) -> d.setDisplayHeight((Float) v)),
+    BILLBOARD(Display.class, Display::getBillboard, (d, v) -> d.setBillboard((Display.Billboard) v)),
+    SHADOW_RADIUS(Display.class, Display::getShadowRadius, (d, v) -> d.setShadowRadius((Float) v)),
+    SHADOW_STRENGTH(Display.class, Display::getShadowStrength, (d, v) -> d.setShadowStrength((Float) v)),
+    BRIGHTNESS(Display.class, Display::getBrightness, (d, v) -> d.setBrightness((Display.Brightness) v)),
+    LOCKED(Display.class, d -> DisplayEntityEditor.getPlugin().getLockStateCache().isLocked(d), (d, v) -> DisplayEntityEditor.getPlugin().getLockStateCache().setLocked(d, (Boolean) v)),
+    ITEM(ItemDisplay.class, d -> {
+        ItemStack item = ((ItemDisplay) d).getItemStack();
+        return item == null ? null : item.clone();
+    }, (d, v) -> ((ItemDisplay) d).setItemStack((ItemStack) v)),
+    ITEM_DISPLAY_TRANSFORM(ItemDisplay.class, d -> ((ItemDisplay) d).getItemDisplayTransform(), (d, v) -> ((ItemDisplay) d).setItemDisplayTransform((ItemDisplay.ItemDisplayTransform) v)),
+    BLOCK(BlockDisplay.class, d -> ((BlockDisplay) d).getBlock(), (d, v) -> ((BlockDisplay) d).setBlock((BlockData) v)),
+    TEXT(TextDisplay.class, d -> ((TextDisplay) d).getText(), (d, v) -> ((TextDisplay) d).setText((String) v)),
+    TEXT_OPACITY(TextDisplay.class, d -> ((TextDisplay) d).getTextOpacity(), (d, v) -> ((TextDisplay) d).setTextOpacity((Byte) v)),
+    TEXT_BACKGROUND_COLOR(TextDisplay.class, d -> ((TextDisplay) d).getBackgroundColor(), (d, v) -> ((TextDisplay) d).setBackgroundColor((Color) v)),
+    TEXT_DEFAULT_BACKGROUND(TextDisplay.class, d -> ((TextDisplay) d).isDefaultBackground(), (d, v) -> ((TextDisplay) d).setDefaultBackground((Boolean) v)),
+    TEXT_SEE_THROUGH(TextDisplay.class, d -> ((TextDisplay) d).isSeeThrough(), (d, v) -> ((TextDisplay) d).setSeeThrough((Boolean) v)),
+    TEXT_SHADOW(TextDisplay.class, d -> ((TextDisplay) d).isShadowed(), (d, v) -> ((TextDisplay) d).setShadowed((Boolean) v)),
+    TEXT_ALIGNMENT(TextDisplay.class, d -> ((TextDisplay) d).getAlignment(), (d, v) -> ((TextDisplay) d).setAlignment((TextDisplay.TextAlignment) v)),
+    TEXT_LINE_WIDTH(TextDisplay.class, d -> ((TextDisplay) d).getLineWidth(), (d, v) -> ((TextDisplay) d).setLineWidth((Integer) v));
+
+    private final Class<? extends Display> type;
+    private final Function<Display, Object> getter;
+    private final BiConsumer<Display, Object> setter;
+
+    DisplayProperty(Class<? extends Display> type, Function<Display, Object> getter, BiConsumer<Display, Object> setter) {
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Used to check if a display has this property
+     * @param display The display
+     * @return True if it does, otherwise false
+     */
+    public boolean appliesTo(Display display) {
+        return type.isInstance(display);
+    }
+
+    /**
+     * Used to get the value of this property
+     * @param display The display
+     * @return The value. Mutable values are copied
+     */
+    public Object get(Display display) {
+        return getter.apply(display);
+    }
+
+    /**
+     * Used to set the value of this property
+     * @param display The display
+     * @param value The value, as returned by {@link #get(Display)}
+     */
+    public void set(Display display, Object value) {
+        setter.accept(display, value);
+    }
+}
@@ -0,0 +1,381 @@
+package goldenshadow.displayentityeditor.editing;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Transformation;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Keeps an undo and redo history of the edits each player makes to displays.
+ * Everything a player changes within one tick is grouped into one step. Only the values before and after the step are kept:
+ * locations and transformations are packed into primitive arrays, so that undoing a click on a large group stays cheap,
+ * and other properties are kept one by one. Once the history of a player grows beyond the memory budget, the oldest steps are dropped.
+ * <p>
+ * The values after a step are read on the thread that owns each display. On Folia, a step that touched displays of other regions
+ * is therefore only added to the history once those regions read them, which may be a tick after the step was closed.
+ */
+public class EditJournal {
+
+    /**
+     * The amount of values stored for the location and transformation of one display in one state
+     */
+    private static final int POSITION_STRIDE = 3;
+    private static final int VALUE_STRIDE = 2 + Transformations.SIZE;
+
+    private final Map<UUID, History> histories = new HashMap<>();
+    private final Map<UUID, Recording> recordings = new LinkedHashMap<>();
+    private boolean closeScheduled = false;
+
+    /**
+     * Used to record the location and transformation of displays before a player changes them
+     * @param player The player
+     * @param displays The displays
+     */
+    public synchronized void record(Player player, Collection<Display> displays) {
+        Recording recording = getRecording(player);
+        for (Display display : displays) {
+            recording.add(display);
+        }
+    }
+
+    /**
+     * Used to record the value of a property of a display before a player changes it
+     * @param player The player
+     * @param display The display
+     * @param property The property
+     */
+    public synchronized void recordProperty(Player player, Display display, DisplayProperty property) {
+        if (property.appliesTo(display)) {
+            getRecording(player).addProperty(display, property);
+        }
+    }
+
+    /**
+     * Used to undo the last step of a player
+     * @param player The player
+     * @return The amount of displays that were changed, or -1 if there was nothing to undo
+     */
+    public synchronized int undo(Player player) {
+        close();
+        History history = histories.get(player.getUniqueId());
+        if (history == null || history.undo.isEmpty()) {
+            return -1;
+        }
+        Step step = history.undo.pop();
+        history.redo.push(step);
+        return step.apply(false);
+    }
+
+    /**
+     * Used to redo the last step of a player that was undone
+     * @param player The player
+     * @return The amount of displays that were changed, or -1 if there was nothing to redo
+     */
+    public synchronized int redo(Player player) {
+        close();
+        History history = histories.get(player.getUniqueId());
+        if (history == null || history.redo.isEmpty()) {
+            return -1;
+        }
+        Step step = history.redo.pop();
+        history.undo.push(step);
+        return step.apply(true);
+    }
+
+    /**
+     * Used to drop the history of a player, for example when they leave
+     * @param player The player
+     */
+    public synchronized void forget(Player player) {
+        recordings.remove(player.getUniqueId());
+        histories.remove(player.getUniqueId());
+    }
+
+    /**
+     * Used to turn everything recorded so far into steps. Called at the end of every tick in which something was recorded.
+     */
+    public synchronized void close() {
+        closeScheduled = false;
+        if (recordings.isEmpty()) {
+            return;
+        }
+        Recording[] toClose = recordings.values().toArray(new Recording[0]);
+        recordings.clear();
+        for (Recording recording : toClose) {
+            recording.close(step -> push(recording.player, step));
+        }
+    }
+
+    private synchronized void push(UUID player, Step step) {
+        // The player could have left while the values after the step were read
+        if (Bukkit.getPlayer(player) != null) {
+            histories.computeIfAbsent(player, uuid -> new History()).push(step);
+        }
+    }
+
+    private Recording getRecording(Player player) {
+        Recording recording = recordings.get(player.getUniqueId());
+        if (recording == null) {
+            recording = new Recording(player.getUniqueId());
+            recordings.put(player.getUniqueId(), recording);
+            if (!closeScheduled) {
+                closeScheduled = true;
+                Scheduling.run(this::close);
+            }
+        }
+        return recording;
+    }
+
+    /**
+     * Used to write the location and transformation a display will have once all smooth motions and buffered edits are applied
+     */
+    private static void capture(Display display, double[] positions, int positionOffset, float[] values, int valueOffset) {
+        MotionSmoother motionSmoother = DisplayEntityEditor.getPlugin().getMotionSmoother();
+        Location location = motionSmoother.getLocation(display);
+        Transformation t = motionSmoother.getTransformation(display);
+        positions[positionOffset] = location.getX();
+        positions[positionOffset + 1] = location.getY();
+        positions[positionOffset + 2] = location.getZ();
+        values[valueOffset] = location.getYaw();
+        values[valueOffset + 1] = location.getPitch();
+        Transformations.write(t, values, valueOffset + 2);
+    }
+
+    /**
+     * Used to put a display back into a captured location and transformation
+     */
+    private static void restore(Display display, double[] positions, int positionOffset, float[] values, int valueOffset) {
+        DisplayEntityEditor.getPlugin().getMotionSmoother().commit(display);
+        DisplayEntityEditor.getPlugin().getTransformationBuffer().flush(display);
+        Location location = display.getLocation();
+        location.setX(positions[positionOffset]);
+        location.setY(positions[positionOffset + 1]);
+        location.setZ(positions[positionOffset + 2]);
+        location.setYaw(values[valueOffset]);
+        location.setPitch(values[valueOffset + 1]);
+        // The interpolation duration is not part of a step, so it is left as the owner of the display configured it
+        display.setTransformation(Transformations.read(values, valueOffset + 2));
+        display.teleport(location);
+        DisplayEntityEditor.getPlugin().getDisplayIndex().update(display);
+    }
+
+    private static Display resolve(long most, long least) {
+        Entity entity = Bukkit.getEntity(new UUID(most, least));
+        return entity instanceof Display display && display.isValid() ? display : null;
+    }
+
+    /**
+     * The history of a single player
+     */
+    private static class History {
+
+        private final Deque<Step> undo = new ArrayDeque<>();
+        private final Deque<Step> redo = new ArrayDeque<>();
+        private long bytes;
+
+        private void push(Step step) {
+            for (Step s : redo) {
+                bytes -= s.bytes;
+            }
+            redo.clear();
+            undo.push(step);
+            bytes += step.bytes;
+            long budget = DisplayEntityEditor.undoMemoryBudget;
+            // The newest step is always kept, even if it is larger than the budget on its own
+            while (bytes > budget && undo.size() > 1) {
+                bytes -= undo.removeLast().bytes;
+            }
+        }
+    }
+
+    /**
+     * Everything a player changed in the current tick, together with the values from before the changes
+     */
+    private static class Recording {
+
+        private final UUID player;
+        private final Set<Integer> recorded = new HashSet<>();
+        private Display[] displays = new Display[16];
+        private double[] positions = new double[16 * POSITION_STRIDE];
+        private float[] values = new float[16 * VALUE_STRIDE];
+        private int size;
+        private final Map<PropertyKey, Object> properties = new LinkedHashMap<>();
+
+        private Recording(UUID player) {
+            this.player = player;
+        }
+
+        private void add(Display display) {
+            if (!recorded.add(display.getEntityId())) {
+                return;
+            }
+            if (size == displays.length) {
+                displays = Arrays.copyOf(displays, size * 2);
+                positions = Arrays.copyOf(positions, size * 2 * POSITION_STRIDE);
+                values = Arrays.copyOf(values, size * 2 * VALUE_STRIDE);
+            }
+            displays[size] = display;
+            capture(display, positions, size * POSITION_STRIDE, values, size * VALUE_STRIDE);
+            size++;
+        }
+
+        private void addProperty(Display display, DisplayProperty property) {
+            PropertyKey key = new PropertyKey(display, property);
+            if (!properties.containsKey(key)) {
+                properties.put(key, property.get(display));
+            }
+        }
+
+        /**
+         * Used to read the current values of every recorded display on the thread that owns it, and then turn the recording into a step
+         * @param done Called with the step once every display was read, unless nothing changed. Runs on the thread that read the last display.
+         */
+        private void close(Consumer<Step> done) {
+            double[] afterPositions = new double[size * POSITION_STRIDE];
+            float[] afterValues = new float[size * VALUE_STRIDE];
+            // Only set for displays that could be read, so a display removed in the meantime is left out of the step
+            boolean[] read = new boolean[size];
+            PropertyKey[] keys = properties.keySet().toArray(new PropertyKey[0]);
+            Object[] afterProperties = new Object[keys.length];
+            boolean[] readProperties = new boolean[keys.length];
+
+            // One extra count for this thread, so the step can't be built before every task was scheduled.
+            // Every slot is written by exactly one task, and the counter makes the writes visible to the thread that builds the step.
+            AtomicInteger remaining = new AtomicInteger(1 + size + keys.length);
+            Runnable countDown = () -> {
+                if (remaining.decrementAndGet() == 0) {
+                    Step step = build(afterPositions, afterValues, read, keys, afterProperties, readProperties);
+                    if (step != null) {
+                        done.accept(step);
+                    }
+                }
+            };
+            for (int i = 0; i < size; i++) {
+                Display display = displays[i];
+                int index = i;
+                Scheduling.run(display, () -> {
+                    if (display.isValid()) {
+                        capture(display, afterPositions, index * POSITION_STRIDE, afterValues, index * VALUE_STRIDE);
+                        read[index] = true;
+                    }
+                    countDown.run();
+                }, countDown);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                PropertyKey key = keys[i];
+                int index = i;
+                Scheduling.run(key.display(), () -> {
+                    if (key.display().isValid()) {
+                        afterProperties[index] = key.property().get(key.display());
+                        readProperties[index] = true;
+                    }
+                    countDown.run();
+                }, countDown);
+            }
+            countDown.run();
+        }
+
+        /**
+         * Used to compare the recorded values with the ones read after the step and keep only what actually changed
+         * @return The step, or null if nothing changed
+         */
+        private Step build(double[] afterPositions, float[] afterValues, boolean[] read, PropertyKey[] keys, Object[] afterProperties, boolean[] readProperties) {
+            int changed = 0;
+            long[] uuids = new long[size * 2];
+            double[] stepPositions = new double[size * POSITION_STRIDE * 2];
+            float[] stepValues = new float[size * VALUE_STRIDE * 2];
+            for (int i = 0; i < size; i++) {
+                if (!read[i]) {
+                    continue;
+                }
+                if (Arrays.equals(positions, i * POSITION_STRIDE, (i + 1) * POSITION_STRIDE, afterPositions, i * POSITION_STRIDE, (i + 1) * POSITION_STRIDE)
+                        && Arrays.equals(values, i * VALUE_STRIDE, (i + 1) * VALUE_STRIDE, afterValues, i * VALUE_STRIDE, (i + 1) * VALUE_STRIDE)) {
+                    continue;
+                }
+                UUID uuid = displays[i].getUniqueId();
+                uuids[changed * 2] = uuid.getMostSignificantBits();
+                uuids[changed * 2 + 1] = uuid.getLeastSignificantBits();
+                // Before and after are stored next to each other
+                System.arraycopy(positions, i * POSITION_STRIDE, stepPositions, changed * POSITION_STRIDE * 2, POSITION_STRIDE);
+                System.arraycopy(afterPositions, i * POSITION_STRIDE, stepPositions, changed * POSITION_STRIDE * 2 + POSITION_STRIDE, POSITION_STRIDE);
+                System.arraycopy(values, i * VALUE_STRIDE, stepValues, changed * VALUE_STRIDE * 2, VALUE_STRIDE);
+                System.arraycopy(afterValues, i * VALUE_STRIDE, stepValues, changed * VALUE_STRIDE * 2 + VALUE_STRIDE, VALUE_STRIDE);
+                changed++;
+            }
+
+            List<PropertyChange> propertyChanges = new ArrayList<>();
+            for (int i = 0; i < keys.length; i++) {
+                Object before = properties.get(keys[i]);
+                if (readProperties[i] && !Objects.equals(before, afterProperties[i])) {
+                    propertyChanges.add(new PropertyChange(keys[i].display().getUniqueId(), keys[i].property(), before, afterProperties[i]));
+                }
+            }
+
+            if (changed == 0 && propertyChanges.isEmpty()) {
+                return null;
+            }
+            return new Step(Arrays.copyOf(uuids, changed * 2), Arrays.copyOf(stepPositions, changed * POSITION_STRIDE * 2),
+                    Arrays.copyOf(stepValues, changed * VALUE_STRIDE * 2), propertyChanges.toArray(new PropertyChange[0]));
+        }
+    }
+
+    private record PropertyKey(Display display, DisplayProperty property) {}
+
+    private record PropertyChange(UUID display, DisplayProperty property, Object before, Object after) {}
+
+    /**
+     * One undoable step. For every display, the state before the step is followed by the state after it.
+     */
+    private static class Step {
+
+        private final long[] uuids;
+        private final double[] positions;
+        private final float[] values;
+        private final PropertyChange[] properties;
+        private final long bytes;
+
+        private Step(long[] uuids, double[] positions, float[] values, PropertyChange[] properties) {
+            this.uuids = uuids;
+            this.positions = positions;
+            this.values = values;
+            this.properties = properties;
+            // A rough estimate: the arrays themselves plus a fixed amount for every property change and the step
+            this.bytes = 64 + uuids.length * 8L + positions.length * 8L + values.length * 4L + properties.length * 96L;
+        }
+
+        /**
+         * Used to put all displays into the state before or after this step
+         * @param forward True to redo the step, false to undo it
+         * @return The amount of displays that were changed
+         */
+        private int apply(boolean forward) {
+            int changed = 0;
+            int state = forward ? 1 : 0;
+            for (int i = 0; i < uuids.length / 2; i++) {
+                Display display = resolve(uuids[i * 2], uuids[i * 2 + 1]);
+                if (display == null) {
+                    continue;
+                }
+                int offset = i * 2 + state;
+                Scheduling.run(display, () -> restore(display, positions, offset * POSITION_STRIDE, values, offset * VALUE_STRIDE));
+                changed++;
+            }
+            for (PropertyChange change : properties) {
+                Entity entity = Bukkit.getEntity(change.display());
+                if (entity instanceof Display display && display.isValid()) {
+                    Scheduling.run(display, () -> change.property().set(display, forward ? change.after() : change.before()));
+                    changed++;
+                }
+            }
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package goldenshadow.displayentityeditor.editing;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Transformation;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Used by the move and rotate tools when smooth tool motion is enabled.
+ * Instead of teleporting a display on every click, the offset is shown through the translation of the display and interpolated
+ * by the client. The display is only really teleported once the offset gets too large or the player stops editing it.
+ * <p>
+ * Smooth motion is not used on Folia, as the motions of all displays are updated together by one task.
+ */
+public class MotionSmoother {
+
+    private final Map<Integer, Motion> motions = new ConcurrentHashMap<>();
+    /** The interpolation settings of displays whose motion was committed, until they are restored a tick later */
+    private final Map<Integer, Interpolation> restoring = new ConcurrentHashMap<>();
+    private Scheduling.Task task;
+
+    /**
+     * Used to check if a display can be moved smoothly. Displays that turn towards the viewer can't, as their translation would turn with them.
+     * @param display The display
+     * @return True if it can be moved smoothly, otherwise false
+     */
+    public boolean canSmooth(Display display) {
+        return DisplayEntityEditor.smoothToolMotion && !Scheduling.FOLIA && display.getBillboard() == Display.Billboard.FIXED;
+    }
+
+    /**
+     * Used to smoothly move a display
+     * @param player The player moving the display
+     * @param display The display
+     * @param x The offset along the x-axis
+     * @param y The offset along the y-axis
+     * @param z The offset along the z-axis
+     */
+    public void move(Player player, Display display, double x, double y, double z) {
+        Motion motion = start(player, display);
+        motion.x += x;
+        motion.y += y;
+        motion.z += z;
+        if (motion.x * motion.x + motion.y * motion.y + motion.z * motion.z >= DisplayEntityEditor.smoothToolMotionCommitDistance * DisplayEntityEditor.smoothToolMotionCommitDistance) {
+            commit(display);
+        }
+    }
+
+    /**
+     * Used to smoothly rotate a display
+     * @param player The player rotating the display
+     * @param display The display
+     * @param yaw The amount the yaw should change by
+     * @param pitch The amount the pitch should change by
+     */
+    public void rotate(Player player, Display display, float yaw, float pitch) {
+        Motion motion = start(player, display);
+        Location location = display.getLocation();
+        motion.yaw += yaw;
+        motion.pitch = Math.max(-90, Math.min(90, location.getPitch() + motion.pitch + pitch)) - location.getPitch();
+    }
+
+    /**
+     * Used to get where a display is going to be once its smooth motion is committed
+     * @param display The display
+     * @return The location, including the rotation
+     */
+    public Location getLocation(Display display) {
+        Location location = display.getLocation();
+        Motion motion = motions.get(display.getEntityId());
+        if (motion != null) {
+            location.add(motion.x, motion.y, motion.z);
+            location.setYaw(location.getYaw() + motion.yaw);
+            location.setPitch(location.getPitch() + motion.pitch);
+        }
+        return location;
+    }
+
+    /**
+     * Used to get the transformation a display is going to have once its smooth motion is committed and its buffered edits are written
+     * @param display The display
+     * @return The transformation. Changes to it will not necessarily be applied to the display
+     */
+    public Transformation getTransformation(Display display) {
+        Motion motion = motions.get(display.getEntityId());
+        return motion != null ? motion.base : DisplayEntityEditor.getPlugin().getTransformationBuffer().peek(display);
+    }
+
+    /**
+     * Used to teleport a display to where its smooth motion is supposed to take it. Has to be called before anything else
+     * changes the location or transformation of a display that might be moving.
+     * @param display The display
+     */
+    public void commit(Display display) {
+        Motion motion = motions.remove(display.getEntityId());
+        if (motion != null) {
+            finish(motion, true);
+        }
+    }
+
+    /**
+     * Used to commit the smooth motion of all displays that are being moved by a player
+     * @param player The player
+     */
+    public void commitAll(Player player) {
+        UUID uuid = player.getUniqueId();
+        motions.values().removeIf(motion -> {
+            if (motion.editor.equals(uuid)) {
+                finish(motion, true);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Used to commit the smooth motion of all displays, for example when the plugin is disabled. The interpolation settings
+     * of the displays are restored right away, as there might not be a next tick to do it in.
+     */
+    public void commitAll() {
+        List<Motion> toCommit = new ArrayList<>(motions.values());
+        motions.clear();
+        toCommit.forEach(motion -> finish(motion, false));
+        restoring.clear();
+    }
+
+    /**
+     * Used to commit a motion and give the display back the interpolation settings it had before the motion started
+     * @param later If the settings should only be restored in the next tick, so the client does not interpolate the jump
+     *              from the shown offset back to the base transformation
+     */
+    private void finish(Motion motion, boolean later) {
+        motion.commit();
+        Display display = motion.display;
+        if (!later || !display.isValid()) {
+            motion.interpolation.apply(display);
+            return;
+        }
+        int id = display.getEntityId();
+        restoring.put(id, motion.interpolation);
+        Scheduling.runLater(display, () -> {
+            // A motion that started again in the meantime took the settings over
+            if (restoring.remove(id, motion.interpolation)) {
+                motion.interpolation.apply(display);
+            }
+        }, 1L);
+    }
+
+    private Motion start(Player player, Display display) {
+        Motion motion = motions.get(display.getEntityId());
+        if (motion == null) {
+            DisplayEntityEditor.getPlugin().getTransformationBuffer().flush(display);
+            Interpolation interpolation = restoring.remove(display.getEntityId());
+            if (interpolation == null) {
+                interpolation = new Interpolation(display.getInterpolationDelay(), display.getInterpolationDuration());
+            }
+            motion = new Motion(display, player.getUniqueId(), display.getTransformation(), interpolation);
+            motions.put(display.getEntityId(), motion);
+            if (task == null) {
+                task = Scheduling.runTimer(this::tick, 1L, 1L);
+            }
+        }
+        motion.idleTicks = 0;
+        motion.dirty = true;
+        return motion;
+    }
+
+    private void tick() {
+        Iterator<Motion> iterator = motions.values().iterator();
+        while (iterator.hasNext()) {
+            Motion motion = iterator.next();
+            if (!motion.display.isValid()) {
+                iterator.remove();
+                finish(motion, false);
+                continue;
+            }
+            if (motion.dirty) {
+                motion.dirty = false;
+                motion.show();
+            } else if (++motion.idleTicks >= DisplayEntityEditor.smoothToolMotionIdleTicks) {
+                iterator.remove();
+                finish(motion, true);
+            }
+        }
+        if (motions.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * The pending motion of a single display
+     */
+    private static class Motion {
+
+        private final Display display;
+        private final UUID editor;
+        private final Transformation base;
+        private final Interpolation interpolation;
+        private final Location location = new Location(null, 0, 0, 0);
+        private double x, y, z;
+        private float yaw, pitch;
+        private int idleTicks;
+        private boolean dirty;
+
+        private Motion(Display display, UUID editor, Transformation base, Interpolation interpolation) {
+            this.display = display;
+            this.editor = editor;
+            this.base = base;
+            this.interpolation = interpolation;
+        }
+
+        /**
+         * Used to show the motion through the transformation of the display, which the client interpolates
+         */
+        private void show() {
+            display.getLocation(location);
+            display.setInterpolationDelay(0);
+            display.setInterpolationDuration(DisplayEntityEditor.smoothToolMotionInterpolation);
+            display.setTransformation(Transformations.offset(base, location.getYaw(), location.getPitch(), yaw, pitch, (float) x, (float) y, (float) z));
+        }
+
+        /**
+         * Used to actually teleport the display and restore its transformation. A display that is no longer valid can't be teleported,
+         * so it only gets its transformation back and stays where it was before the motion.
+         */
+        private void commit() {
+            if (!display.isValid()) {
+                display.setInterpolationDuration(0);
+                display.setTransformation(base);
+                return;
+            }
+            Location location = display.getLocation();
+            location.add(x, y, z);
+            location.setYaw(location.getYaw() + yaw);
+            location.setPitch(location.getPitch() + pitch);
+            display.setInterpolationDuration(0);
+            display.setTransformation(base);
+            display.teleport(location);
+            DisplayEntityEditor.getPlugin().getDisplayIndex().update(display);
+        }
+    }
+
+    /**
+     * The interpolation settings a display had before its motion started, which the motion has to overwrite to be shown
+     * @param delay The interpolation delay
+     * @param duration The interpolation duration
+     */
+    private record Interpolation(int delay, int duration) {
+
+        private void apply(Display display) {
+            display.setInterpolationDelay(delay);
+            display.setInterpolationDuration(duration);
+        }
+    }
+}
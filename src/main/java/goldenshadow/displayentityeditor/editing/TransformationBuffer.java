@@ -0,0 +1,129 @@
+package goldenshadow.displayentityeditor.editing;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import org.bukkit.entity.Display;
+import org.bukkit.util.Transformation;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects all transformation edits made to a display within one tick and writes them to the display once at the end of it.
+ * Every {@link Display#setTransformation(Transformation)} call is sent to all viewers as its own metadata packet, so holding
+ * right-click on a large group would otherwise send several packets per display per tick.
+ * <p>
+ * On Folia every display is written by its own region at the end of the tick instead, as no thread may touch the displays of all regions.
+ */
+public class TransformationBuffer {
+
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Used to get the transformation of a display for editing. Changes made to the returned transformation (and its vectors)
+     * will be written to the display at the end of the tick.
+     * @param display The display that should be edited
+     * @return The transformation including all edits made so far in this tick
+     */
+    public Transformation edit(Display display) {
+        Pending p = pending.get(display.getEntityId());
+        if (p == null) {
+            // A display that is being moved smoothly shows its motion through its transformation, so it has to be put in place first
+            DisplayEntityEditor.getPlugin().getMotionSmoother().commit(display);
+            p = Pending.of(display);
+            pending.put(display.getEntityId(), p);
+            if (Scheduling.FOLIA) {
+                Scheduling.runLater(display, () -> flush(display), 1L);
+            } else {
+                scheduleFlush();
+            }
+        }
+        return p.transformation;
+    }
+
+    /**
+     * Used to get the transformation a display will have once all buffered edits are written, without starting an edit
+     * @param display The display
+     * @return The transformation. Changes to it will not necessarily be applied to the display
+     */
+    public Transformation peek(Display display) {
+        Pending p = pending.get(display.getEntityId());
+        return p != null ? p.transformation : display.getTransformation();
+    }
+
+    /**
+     * Used to immediately write the buffered edits of a single display
+     * @param display The display
+     */
+    public void flush(Display display) {
+        Pending p = pending.remove(display.getEntityId());
+        if (p != null) {
+            p.write();
+        }
+    }
+
+    /**
+     * Used to write all buffered edits
+     */
+    public void flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        Pending[] toWrite = pending.values().toArray(new Pending[0]);
+        pending.clear();
+        for (Pending p : toWrite) {
+            p.write();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            Scheduling.run(this::flush);
+        }
+    }
+
+    /**
+     * A buffered edit of a single display, together with the transformation it had before the edit.
+     * <p>
+     * The arrays holding the transformation from before the edit are only read while the edit is written, so they are handed back
+     * to a pool of the writing thread afterwards and reused by the next edit, instead of allocating one for every display every tick.
+     * The transformation itself is a copy made by the server and can't be reused, as {@link #peek(Display)} hands it out.
+     */
+    private record Pending(Display display, Transformation transformation, float[] original) {
+
+        /** The most arrays a single thread keeps for reuse, enough for a large group without holding on to much memory */
+        private static final int POOL_SIZE = 1024;
+        private static final ThreadLocal<ArrayDeque<float[]>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+        private static Pending of(Display display) {
+            Transformation transformation = display.getTransformation();
+            float[] original = POOL.get().poll();
+            if (original == null) {
+                original = new float[Transformations.SIZE];
+            }
+            Transformations.write(transformation, original, 0);
+            return new Pending(display, transformation, original);
+        }
+
+        private void write() {
+            try {
+                // Edits that cancel each other out, or resets of a value that already was reset, don't need a packet
+                if (!display.isValid() || Transformations.matches(transformation, original, 0)) {
+                    return;
+                }
+                display.setTransformation(transformation);
+                DisplayEntityEditor.getPlugin().getDisplayIndex().update(display);
+            } finally {
+                // Only the thread that removed this edit from the buffer writes it, so nothing else can still be reading the array
+                ArrayDeque<float[]> pool = POOL.get();
+                if (pool.size() < POOL_SIZE) {
+                    pool.push(original);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package goldenshadow.displayentityeditor.editing;
+
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Math on display transformations that does not allocate. Transformations are stored as 14 floats (translation, left rotation,
+ * scale and right rotation, in that order), and anything that has to be built for a single write is built in scratch objects
+ * that every thread reuses. This is safe because {@link org.bukkit.entity.Display#setTransformation(Transformation)} copies
+ * the vectors and quaternions it is given.
+ */
+public final class Transformations {
+
+    /**
+     * The number of floats a transformation is stored as
+     */
+    public static final int SIZE = 14;
+
+    private static final float DEG_TO_RAD = (float) (Math.PI / 180);
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private Transformations() {}
+
+    /**
+     * Used to get the x, y or z component of a quaternion
+     * @param q The quaternion
+     * @param axis 0 for x, 1 for y and 2 for z
+     * @return The component
+     */
+    public static float get(Quaternionf q, int axis) {
+        return switch (axis) {
+            case 0 -> q.x;
+            case 1 -> q.y;
+            default -> q.z;
+        };
+    }
+
+    /**
+     * Used to set the x, y or z component of a quaternion
+     * @param q The quaternion
+     * @param axis 0 for x, 1 for y and 2 for z
+     * @param value The new value of the component
+     */
+    public static void set(Quaternionf q, int axis, float value) {
+        switch (axis) {
+            case 0 -> q.x = value;
+            case 1 -> q.y = value;
+            default -> q.z = value;
+        }
+    }
+
+    /**
+     * Used to store a transformation as floats
+     * @param t The transformation
+     * @param values The array the transformation should be stored in
+     * @param offset The index of the first of the {@link #SIZE} floats that are written
+     */
+    public static void write(Transformation t, float[] values, int offset) {
+        Vector3f translation = t.getTranslation();
+        Quaternionf left = t.getLeftRotation();
+        Vector3f scale = t.getScale();
+        Quaternionf right = t.getRightRotation();
+        values[offset] = translation.x;
+        values[offset + 1] = translation.y;
+        values[offset + 2] = translation.z;
+        values[offset + 3] = left.x;
+        values[offset + 4] = left.y;
+        values[offset + 5] = left.z;
+        values[offset + 6] = left.w;
+        values[offset + 7] = scale.x;
+        values[offset + 8] = scale.y;
+        values[offset + 9] = scale.z;
+        values[offset + 10] = right.x;
+        values[offset + 11] = right.y;
+        values[offset + 12] = right.z;
+        values[offset + 13] = right.w;
+    }
+
+    /**
+     * Used to check if a transformation is still the same as one that was stored
+     * @param t The transformation
+     * @param values The array the other transformation is stored in
+     * @param offset The index of the first float of the other transformation
+     * @return True if every component is exactly the same, otherwise false
+     */
+    public static boolean matches(Transformation t, float[] values, int offset) {
+        Vector3f translation = t.getTranslation();
+        Quaternionf left = t.getLeftRotation();
+        Vector3f scale = t.getScale();
+        Quaternionf right = t.getRightRotation();
+        return translation.x == values[offset] && translation.y == values[offset + 1] && translation.z == values[offset + 2]
+                && left.x == values[offset + 3] && left.y == values[offset + 4] && left.z == values[offset + 5] && left.w == values[offset + 6]
+                && scale.x == values[offset + 7] && scale.y == values[offset + 8] && scale.z == values[offset + 9]
+                && right.x == values[offset + 10] && right.y == values[offset + 11] && right.z == values[offset + 12] && right.w == values[offset + 13];
+    }
+
+    /**
+     * Used to turn stored floats back into a transformation that can be set on a display
+     * @param values The array the transformation is stored in
+     * @param offset The index of the first float of the transformation
+     * @return The scratch transformation of this thread, which is only valid until the next call to this class on the same thread
+     */
+    public static Transformation read(float[] values, int offset) {
+        Transformation t = SCRATCH.get().transformation;
+        t.getTranslation().set(values[offset], values[offset + 1], values[offset + 2]);
+        t.getLeftRotation().set(values[offset + 3], values[offset + 4], values[offset + 5], values[offset + 6]);
+        t.getScale().set(values[offset + 7], values[offset + 8], values[offset + 9]);
+        t.getRightRotation().set(values[offset + 10], values[offset + 11], values[offset + 12], values[offset + 13]);
+        return t;
+    }
+
+    /**
+     * Used to get the transformation that makes a display look as if it was moved and rotated, without changing its location.
+     * The rotation is applied around the origin of the display, in the space of the entity rotation it currently has.
+     * @param base The transformation the display has at its current location
+     * @param yaw The current yaw of the display
+     * @param pitch The current pitch of the display
+     * @param yawOffset The amount the yaw should look changed by
+     * @param pitchOffset The amount the pitch should look changed by
+     * @param x The offset along the x-axis, in world space
+     * @param y The offset along the y-axis, in world space
+     * @param z The offset along the z-axis, in world space
+     * @return The scratch transformation of this thread, which is only valid until the next call to this class on the same thread
+     */
+    public static Transformation offset(Transformation base, float yaw, float pitch, float yawOffset, float pitchOffset, float x, float y, float z) {
+        Scratch s = SCRATCH.get();
+        Quaternionf inverse = s.inverse.rotationYXZ(-yaw * DEG_TO_RAD, pitch * DEG_TO_RAD, 0).conjugate();
+        // The rotation that has to be applied on top of the current entity rotation to end up at the target rotation
+        Quaternionf difference = s.difference.rotationYXZ(-(yaw + yawOffset) * DEG_TO_RAD, (pitch + pitchOffset) * DEG_TO_RAD, 0).premul(inverse);
+
+        Transformation t = s.transformation;
+        difference.transform(base.getTranslation(), t.getTranslation()).add(inverse.transform(x, y, z, s.offset));
+        difference.mul(base.getLeftRotation(), t.getLeftRotation());
+        t.getScale().set(base.getScale());
+        t.getRightRotation().set(base.getRightRotation());
+        return t;
+    }
+
+    /**
+     * The objects a single thread reuses
+     */
+    private static final class Scratch {
+
+        private final Quaternionf inverse = new Quaternionf();
+        private final Quaternionf difference = new Quaternionf();
+        private final Vector3f offset = new Vector3f();
+        private final Transformation transformation = new Transformation(new Vector3f(), new Quaternionf(), new Vector3f(1, 1, 1), new Quaternionf());
+    }
+}
@@ -0,0 +1,34 @@
+package goldenshadow.displayentityeditor.enums;
+
+/**
+ * An enum used to define what clicking on a slot of a display gui does
+ */
+public enum GUIAction {
+    FILLER,
+    NAME,
+    GLOW,
+    GLOW_COLOR,
+    LEFT_ROTATION_NORMALIZE,
+    RIGHT_ROTATION_NORMALIZE,
+    VIEW_RANGE,
+    WIDTH,
+    HEIGHT,
+    BILLBOARD,
+    SHADOW_RADIUS,
+    SHADOW_STRENGTH,
+    LOCK,
+    SKY_LIGHT,
+    BLOCK_LIGHT,
+    DELETE,
+    ITEM_DISPLAY_TRANSFORM,
+    BLOCK_STATE,
+    TEXT,
+    TEXT_OPACITY,
+    TEXT_LINE_WIDTH,
+    TEXT_DEFAULT_BACKGROUND,
+    TEXT_SEE_THROUGH,
+    TEXT_SHADOW,
+    TEXT_BACKGROUND_COLOR,
+    TEXT_BACKGROUND_OPACITY,
+    TEXT_ALIGNMENT
+}
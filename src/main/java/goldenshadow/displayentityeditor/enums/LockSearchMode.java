@@ -4,11 +4,13 @@ import java.util.function.Predicate;
 
 import org.bukkit.entity.Display;
 
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+
 public enum LockSearchMode {
 
     ALL(display -> true),
-    LOCKED(display -> display.getScoreboardTags().contains("dee:locked")),
-    UNLOCKED(display -> !display.getScoreboardTags().contains("dee:locked"));
+    LOCKED(display -> DisplayEntityEditor.getPlugin().getLockStateCache().isLocked(display)),
+    UNLOCKED(display -> !DisplayEntityEditor.getPlugin().getLockStateCache().isLocked(display));
 
     private static final LockSearchMode[] MODES = LockSearchMode.values();
 
@@ -22,6 +24,19 @@ public enum LockSearchMode {
         return predicate;
     }
 
+    /**
+     * Used to check a display that matched the predicate again, against its scoreboard tags instead of the cached lock state.
+     * The tags might have been changed with vanilla commands since the lock state was cached.
+     * @param display The display
+     * @return True if the display still matches, otherwise false
+     */
+    public boolean confirm(Display display) {
+        if (this == ALL) {
+            return true;
+        }
+        return DisplayEntityEditor.getPlugin().getLockStateCache().refresh(display) == (this == LOCKED);
+    }
+
     public LockSearchMode previousMode() {
         int i = ordinal();
         return i == 0 ? MODES[MODES.length - 1] : MODES[i - 1];
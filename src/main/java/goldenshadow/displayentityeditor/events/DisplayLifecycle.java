@@ -0,0 +1,137 @@
+package goldenshadow.displayentityeditor.events;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import goldenshadow.displayentityeditor.editing.MotionSmoother;
+import goldenshadow.displayentityeditor.index.DisplayIndex;
+import goldenshadow.displayentityeditor.index.LockStateCache;
+import goldenshadow.displayentityeditor.sessions.EditSessions;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityMountEvent;
+import org.bukkit.event.entity.EntityTeleportEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps the {@link DisplayIndex} and the {@link LockStateCache} in sync with the displays that are loaded in the worlds,
+ * and makes the {@link EditSessions} forget displays that are removed or unloaded. Displays that are being moved smoothly are put
+ * in place before they are unloaded, so the offset shown through their transformation is never saved.
+ */
+public class DisplayLifecycle implements Listener {
+
+    private final DisplayIndex displayIndex;
+    private final LockStateCache lockStateCache;
+    private final EditSessions editSessions;
+    private final MotionSmoother motionSmoother;
+
+    public DisplayLifecycle(DisplayIndex displayIndex, LockStateCache lockStateCache, EditSessions editSessions, MotionSmoother motionSmoother) {
+        this.displayIndex = displayIndex;
+        this.lockStateCache = lockStateCache;
+        this.editSessions = editSessions;
+        this.motionSmoother = motionSmoother;
+    }
+
+    /**
+     * Used to listen for when a display is spawned or loaded
+     * @param event The event
+     */
+    @EventHandler
+    public void onAdd(EntityAddToWorldEvent event) {
+        if (event.getEntity() instanceof Display display) {
+            displayIndex.add(display);
+        }
+    }
+
+    /**
+     * Used to listen for when a display is removed or unloaded
+     * @param event The event
+     */
+    @EventHandler
+    public void onRemove(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof Display display) {
+            motionSmoother.commit(display);
+            displayIndex.remove(display);
+            lockStateCache.forget(display);
+            editSessions.forgetDisplay(display.getUniqueId());
+        }
+    }
+
+    /**
+     * Used to listen for when a display is teleported by something other than this plugin (e.g. /tp)
+     * @param event The event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(EntityTeleportEvent event) {
+        if (event.getEntity() instanceof Display display && event.getTo() != null) {
+            displayIndex.update(display, event.getTo());
+        }
+    }
+
+    /**
+     * Used to listen for when a display starts riding another entity, after which it moves without teleport events.
+     * The index notices on its own once the display dismounts again.
+     * @param event The event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMount(EntityMountEvent event) {
+        if (event.getEntity() instanceof Display display) {
+            displayIndex.setRiding(display, true);
+        }
+    }
+
+    /**
+     * Used to listen for when the entities of a chunk are loaded
+     * @param event The event
+     */
+    @EventHandler
+    public void onChunkLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Display display) {
+                displayIndex.add(display);
+                // Tags might have been changed by other means while the chunk was unloaded
+                lockStateCache.refresh(display);
+            }
+        }
+    }
+
+    /**
+     * Used to listen for when the entities of a chunk are unloaded
+     * @param event The event
+     */
+    @EventHandler
+    public void onChunkUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Display display) {
+                // The entities are still valid here and are saved afterwards
+                motionSmoother.commit(display);
+                lockStateCache.forget(display);
+                editSessions.forgetDisplay(entity.getUniqueId());
+            }
+        }
+        displayIndex.removeAll(event.getEntities());
+    }
+
+    /**
+     * Used to listen for when a world is loaded
+     * @param event The event
+     */
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        displayIndex.indexWorld(event.getWorld());
+    }
+
+    /**
+     * Used to listen for when a world is unloaded
+     * @param event The event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        displayIndex.clearWorld(event.getWorld());
+    }
+}
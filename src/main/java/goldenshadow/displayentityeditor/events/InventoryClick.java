@@ -1,12 +1,16 @@
 package goldenshadow.displayentityeditor.events;
 
 import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
 import goldenshadow.displayentityeditor.Utilities;
 import goldenshadow.displayentityeditor.conversation.InputData;
 import goldenshadow.displayentityeditor.conversation.InputManager;
+import goldenshadow.displayentityeditor.editing.DisplayProperty;
+import goldenshadow.displayentityeditor.editing.EditJournal;
+import goldenshadow.displayentityeditor.enums.GUIAction;
 import goldenshadow.displayentityeditor.enums.InputType;
+import goldenshadow.displayentityeditor.inventories.DisplayGUIHolder;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.*;
@@ -18,6 +22,11 @@ import org.bukkit.inventory.ItemStack;
 
 public class InventoryClick implements Listener {
 
+    private final EditJournal editJournal;
+
+    public InventoryClick(EditJournal editJournal) {
+        this.editJournal = editJournal;
+    }
 
     /**
      * Used to listen for when a player clicks on a gui item
@@ -25,429 +34,447 @@ public class InventoryClick implements Listener {
      */
     @EventHandler
     public void inventoryClick(InventoryClickEvent event) {
+        if (!(event.getInventory().getHolder(false) instanceof DisplayGUIHolder holder)) {
+            return;
+        }
         Player player = (Player) event.getWhoClicked();
-        if (player.getOpenInventory().getTitle().equals(ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("item_display_gui_name"))) || player.getOpenInventory().getTitle().equals(ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("block_display_gui_name"))) || player.getOpenInventory().getTitle().equals(ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("text_display_gui_name")))) {
-            Display entity = DisplayEntityEditor.currentEditMap.get(player.getUniqueId());
-            if (event.getClickedInventory() != null && !event.getClickedInventory().equals(player.getInventory())) {
-                if (event.getCurrentItem() != null && Utilities.hasDataKey(event.getCurrentItem())) {
-                    event.setCancelled(true);
-                    String value = Utilities.getToolValue(event.getCurrentItem());
-                    if (value != null) {
-                        switch (value) {
-                            case "GUIName" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        if (DisplayEntityEditor.useMiniMessageFormat) {
-                                            player.spigot().sendMessage(Utilities.getCommandMessage("name <new_name>", DisplayEntityEditor.messageManager.getString("name_command_hint_mm")));
-                                        } else {
-                                            player.spigot().sendMessage(Utilities.getCommandMessage("name <new_name>", DisplayEntityEditor.messageManager.getString("name_command_hint")));
-                                        }
-                                    } else {
-                                        if (DisplayEntityEditor.useMiniMessageFormat) {
-                                            InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("name_hint_mm"), new InputData(entity, InputType.NAME, null));
-                                        } else {
-                                            InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("name_hint"), new InputData(entity, InputType.NAME, null));
-                                        }
-                                    }
+        Display entity = holder.getDisplay();
+        if (event.getClickedInventory() == event.getInventory()) {
+            GUIAction action = holder.getAction(event.getSlot());
+            if (action != null) {
+                event.setCancelled(true);
+                switch (action) {
+                    case FILLER -> {}
+                    case NAME -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                if (DisplayEntityEditor.useMiniMessageFormat) {
+                                    player.spigot().sendMessage(Utilities.getCommandMessage("name <new_name>", DisplayEntityEditor.messageManager.getString("name_command_hint_mm")));
                                 } else {
-                                    entity.setCustomNameVisible(false);
-                                    entity.setCustomName(null);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().name(null));
+                                    player.spigot().sendMessage(Utilities.getCommandMessage("name <new_name>", DisplayEntityEditor.messageManager.getString("name_command_hint")));
                                 }
-                            }
-                            case "GUIGlow" -> {
-                                if (event.isLeftClick()) {
-                                    boolean b = !entity.isGlowing();
-
-                                    BlockData blockData;
-                                    if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
-                                    else {
-                                        blockData = null;
-                                    }
-
-                                    entity.setGlowing(b);
-
-                                    if (entity instanceof BlockDisplay) {
-                                        Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
-                                    }
-
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().glowing(b));
+                            } else {
+                                if (DisplayEntityEditor.useMiniMessageFormat) {
+                                    InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("name_hint_mm"), new InputData(entity, InputType.NAME, null));
+                                } else {
+                                    InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("name_hint"), new InputData(entity, InputType.NAME, null));
                                 }
                             }
-                            case "GUIGlowColor" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("glow_color <R, G, B>", DisplayEntityEditor.messageManager.getString("generic_color_command_hint")));
-                                    } else {
-                                        InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("generic_color_hint"), new InputData(entity, InputType.GLOW_COLOR, null));
-                                    }
-                                }
+                        } else {
+                            editJournal.recordProperty(player, entity, DisplayProperty.NAME);
+                            entity.setCustomNameVisible(false);
+                            entity.setCustomName(null);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().name(null));
+                        }
+                    }
+                    case GLOW -> {
+                        if (event.isLeftClick()) {
+                            boolean b = !entity.isGlowing();
+
+                            BlockData blockData;
+                            if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
+                            else {
+                                blockData = null;
                             }
-                            case "GUILRNormalize" -> {
-                                if (event.isLeftClick()) {
-                                    boolean b = !Utilities.getData(entity, "GUILRNormalize");
-                                    Utilities.setData(entity, "GUILRNormalize", b);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().leftRotNormalize(b));
-                                }
+
+                            editJournal.recordProperty(player, entity, DisplayProperty.GLOWING);
+                            entity.setGlowing(b);
+
+                            if (entity instanceof BlockDisplay) {
+                                Scheduling.runLater(entity, () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
                             }
-                            case "GUIRRNormalize" -> {
-                                if (event.isLeftClick()) {
-                                    boolean b = !Utilities.getData(entity, "GUIRRNormalize");
-                                    Utilities.setData(entity, "GUIRRNormalize", b);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().rightRotNormalize(b));
-                                }
+
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().glowing(b));
+                        }
+                    }
+                    case GLOW_COLOR -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("glow_color <R, G, B>", DisplayEntityEditor.messageManager.getString("generic_color_command_hint")));
+                            } else {
+                                InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("generic_color_hint"), new InputData(entity, InputType.GLOW_COLOR, null));
                             }
-                            case "GUIViewRange" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("view_range <value>", ""));
-                                    } else {
-                                        InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.VIEW_RANGE, null));
-                                    }
-                                }
+                        }
+                    }
+                    case LEFT_ROTATION_NORMALIZE -> {
+                        if (event.isLeftClick()) {
+                            boolean b = !Utilities.getData(entity, "GUILRNormalize");
+                            Utilities.setData(entity, "GUILRNormalize", b);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().leftRotNormalize(b));
+                        }
+                    }
+                    case RIGHT_ROTATION_NORMALIZE -> {
+                        if (event.isLeftClick()) {
+                            boolean b = !Utilities.getData(entity, "GUIRRNormalize");
+                            Utilities.setData(entity, "GUIRRNormalize", b);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().rightRotNormalize(b));
+                        }
+                    }
+                    case VIEW_RANGE -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("view_range <value>", ""));
+                            } else {
+                                InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.VIEW_RANGE, null));
                             }
-                            case "GUIWidth" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("display_width <value>",""));
-                                    } else {
-                                        InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.DISPLAY_WIDTH, null));
-                                    }
-                                }
+                        }
+                    }
+                    case WIDTH -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("display_width <value>",""));
+                            } else {
+                                InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.DISPLAY_WIDTH, null));
                             }
-                            case "GUIHeight" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("display_height <value>", ""));
-                                    } else {
-                                        InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.DISPLAY_HEIGHT, null));
-                                    }
-                                }
+                        }
+                    }
+                    case HEIGHT -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("display_height <value>", ""));
+                            } else {
+                                InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.DISPLAY_HEIGHT, null));
                             }
-                            case "GUIBillboard" -> {
-                                if (event.isLeftClick()) {
-
-                                    BlockData blockData;
-                                    if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
-                                    else {
-                                        blockData = null;
-                                    }
+                        }
+                    }
+                    case BILLBOARD -> {
+                        if (event.isLeftClick()) {
 
-                                    Display.Billboard billboard = entity.getBillboard();
-                                    billboard = Display.Billboard.values()[(billboard.ordinal()+1) % Display.Billboard.values().length];
-                                    entity.setBillboard(billboard);
+                            BlockData blockData;
+                            if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
+                            else {
+                                blockData = null;
+                            }
 
-                                    if (entity instanceof BlockDisplay) {
-                                        Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
-                                    }
+                            Display.Billboard billboard = entity.getBillboard();
+                            billboard = Display.Billboard.values()[(billboard.ordinal()+1) % Display.Billboard.values().length];
+                            editJournal.recordProperty(player, entity, DisplayProperty.BILLBOARD);
+                            entity.setBillboard(billboard);
 
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().billboard(billboard));
-                                }
+                            if (entity instanceof BlockDisplay) {
+                                Scheduling.runLater(entity, () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
                             }
-                            case "GUIShadowRadius" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("shadow_radius <value>", ""));
-                                    } else {
-                                        InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.SHADOW_RADIUS, null));
-                                    }
-                                }
+
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().billboard(billboard));
+                        }
+                    }
+                    case SHADOW_RADIUS -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("shadow_radius <value>", ""));
+                            } else {
+                                InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.SHADOW_RADIUS, null));
                             }
-                            case "GUIShadowStrength" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("shadow_strength <value>", DisplayEntityEditor.messageManager.getString("shadow_strength_command_hint")));
-                                    } else {
-                                        InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("shadow_strength_hint"), new InputData(entity, InputType.SHADOW_STRENGTH, null));
-                                    }
-                                }
+                        }
+                    }
+                    case SHADOW_STRENGTH -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("shadow_strength <value>", DisplayEntityEditor.messageManager.getString("shadow_strength_command_hint")));
+                            } else {
+                                InputManager.createFloatInput(player, DisplayEntityEditor.messageManager.getString("shadow_strength_hint"), new InputData(entity, InputType.SHADOW_STRENGTH, null));
                             }
-                            case "GUILock" -> {
-                                if (event.isLeftClick()) {
-                                    entity.addScoreboardTag("dee:locked");
-                                    player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("lock_hint")));
-                                    player.closeInventory();
-                                }
+                        }
+                    }
+                    case LOCK -> {
+                        if (event.isLeftClick()) {
+                            editJournal.recordProperty(player, entity, DisplayProperty.LOCKED);
+                            DisplayEntityEditor.getPlugin().getLockStateCache().setLocked(entity, true);
+                            player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("lock_hint")));
+                            player.closeInventory();
+                        }
+                    }
+                    case SKY_LIGHT -> {
+                        if (event.isLeftClick()) {
+
+                            BlockData blockData;
+                            if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
+                            else {
+                                blockData = null;
                             }
-                            case "GUISkyLight" -> {
-                                if (event.isLeftClick()) {
-
-                                    BlockData blockData;
-                                    if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
-                                    else {
-                                        blockData = null;
-                                    }
-
-                                    Display.Brightness b;
-                                    if (entity.getBrightness() != null) {
-                                        b = new Display.Brightness(entity.getBrightness().getBlockLight(), (entity.getBrightness().getSkyLight()+1) % 16);
-                                    } else {
-                                        b = new Display.Brightness(0,0);
-                                    }
-                                    entity.setBrightness(b);
-
-                                    if (entity instanceof BlockDisplay) {
-                                        Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
-                                    }
-
-                                    player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(b.getSkyLight()));
-                                    player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(b.getBlockLight()));
-                                }
-                                if (event.isRightClick()) {
 
-                                    BlockData blockData;
-                                    if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
-                                    else {
-                                        blockData = null;
-                                    }
+                            Display.Brightness b;
+                            if (entity.getBrightness() != null) {
+                                b = new Display.Brightness(entity.getBrightness().getBlockLight(), (entity.getBrightness().getSkyLight()+1) % 16);
+                            } else {
+                                b = new Display.Brightness(0,0);
+                            }
+                            editJournal.recordProperty(player, entity, DisplayProperty.BRIGHTNESS);
+                            entity.setBrightness(b);
 
-                                    entity.setBrightness(null);
+                            if (entity instanceof BlockDisplay) {
+                                Scheduling.runLater(entity, () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
+                            }
 
-                                    if (entity instanceof BlockDisplay) {
-                                        Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
-                                    }
+                            player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(b.getSkyLight()));
+                            player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(b.getBlockLight()));
+                        }
+                        if (event.isRightClick()) {
 
-                                    player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(-1));
-                                    player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(-1));
-                                }
+                            BlockData blockData;
+                            if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
+                            else {
+                                blockData = null;
                             }
-                            case "GUIBlockLight" -> {
-                                if (event.isLeftClick()) {
-
-                                    BlockData blockData;
-                                    if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
-                                    else {
-                                        blockData = null;
-                                    }
-
-                                    Display.Brightness b;
-                                    if (entity.getBrightness() != null) {
-                                        b = new Display.Brightness((entity.getBrightness().getBlockLight() + 1) % 16, entity.getBrightness().getSkyLight());
-                                    } else {
-                                        b = new Display.Brightness(0,0);
-                                    }
-                                    entity.setBrightness(b);
-
-                                    if (entity instanceof BlockDisplay) {
-                                        Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
-                                    }
-
-                                    player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(b.getSkyLight()));
-                                    player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(b.getBlockLight()));
-                                }
-                                if (event.isRightClick()) {
 
-                                    BlockData blockData;
-                                    if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
-                                    else {
-                                        blockData = null;
-                                    }
+                            editJournal.recordProperty(player, entity, DisplayProperty.BRIGHTNESS);
+                            entity.setBrightness(null);
 
-                                    entity.setBrightness(null);
+                            if (entity instanceof BlockDisplay) {
+                                Scheduling.runLater(entity, () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
+                            }
 
-                                    if (entity instanceof BlockDisplay) {
-                                        Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
-                                    }
+                            player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(-1));
+                            player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(-1));
+                        }
+                    }
+                    case BLOCK_LIGHT -> {
+                        if (event.isLeftClick()) {
 
-                                    player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(-1));
-                                    player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(-1));
-                                }
-                            }
-                            case "GUIDelete" -> {
-                                if (event.isLeftClick()) {
-                                    entity.remove();
-                                    player.closeInventory();
-                                    player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("delete_hint")));
-                                }
+                            BlockData blockData;
+                            if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
+                            else {
+                                blockData = null;
                             }
-                            case "GUIItemDisplayTransform" -> {
-                                if (event.isLeftClick()) {
-                                    ItemDisplay itemDisplay = (ItemDisplay) entity;
-                                    ItemDisplay.ItemDisplayTransform transform = itemDisplay.getItemDisplayTransform();
-                                    transform = ItemDisplay.ItemDisplayTransform.values()[(transform.ordinal()+1) % ItemDisplay.ItemDisplayTransform.values().length];
-                                    itemDisplay.setItemDisplayTransform(transform);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().itemDisplayTransform(transform));
-                                }
+
+                            Display.Brightness b;
+                            if (entity.getBrightness() != null) {
+                                b = new Display.Brightness((entity.getBrightness().getBlockLight() + 1) % 16, entity.getBrightness().getSkyLight());
+                            } else {
+                                b = new Display.Brightness(0,0);
                             }
-                            case "GUIBlockState" -> {
-                                if (event.isLeftClick()) {
+                            editJournal.recordProperty(player, entity, DisplayProperty.BRIGHTNESS);
+                            entity.setBrightness(b);
 
-                                    player.closeInventory();
+                            if (entity instanceof BlockDisplay) {
+                                Scheduling.runLater(entity, () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
+                            }
 
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("block_state <new_blockstate>", DisplayEntityEditor.messageManager.getString("block_state_command_hint")));
-                                    } else {
-                                        InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("block_state_hint"), new InputData(entity, InputType.BLOCK_STATE, ((BlockDisplay) entity).getBlock().getMaterial()));
-                                    }
+                            player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(b.getSkyLight()));
+                            player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(b.getBlockLight()));
+                        }
+                        if (event.isRightClick()) {
 
-                                    player.closeInventory();
-                                }
-                                if (event.isRightClick()) {
-                                    BlockDisplay b = (BlockDisplay) entity;
-                                    b.setBlock(Bukkit.createBlockData(b.getBlock().getMaterial()));
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().blockState(b.getBlock().getAsString(true)));
-                                }
+                            BlockData blockData;
+                            if (entity instanceof BlockDisplay) blockData = ((BlockDisplay) entity).getBlock();
+                            else {
+                                blockData = null;
                             }
-                            case "GUITextOpacity" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("text_opacity <value>", DisplayEntityEditor.messageManager.getString("opacity_command_hint")));
-                                    } else {
-                                        InputManager.createByteInput(player, DisplayEntityEditor.messageManager.getString("opacity_hint"), new InputData(entity, InputType.TEXT_OPACITY, null));
-                                    }
-                                }
+
+                            editJournal.recordProperty(player, entity, DisplayProperty.BRIGHTNESS);
+                            entity.setBrightness(null);
+
+                            if (entity instanceof BlockDisplay) {
+                                Scheduling.runLater(entity, () -> ((BlockDisplay) entity).setBlock(blockData), 1L);
                             }
-                            case "GUITextLineWidth" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("line_width <value>", ""));
-                                    } else {
-                                        InputManager.createIntegerInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.LINE_WIDTH, null));
-                                    }
-                                }
+
+                            player.getOpenInventory().setItem(8, DisplayEntityEditor.inventoryFactory.getGuiItems().skyLight(-1));
+                            player.getOpenInventory().setItem(17, DisplayEntityEditor.inventoryFactory.getGuiItems().blockLight(-1));
+                        }
+                    }
+                    case DELETE -> {
+                        if (event.isLeftClick()) {
+                            entity.remove();
+                            player.closeInventory();
+                            player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("delete_hint")));
+                        }
+                    }
+                    case ITEM_DISPLAY_TRANSFORM -> {
+                        if (event.isLeftClick()) {
+                            ItemDisplay itemDisplay = (ItemDisplay) entity;
+                            ItemDisplay.ItemDisplayTransform transform = itemDisplay.getItemDisplayTransform();
+                            transform = ItemDisplay.ItemDisplayTransform.values()[(transform.ordinal()+1) % ItemDisplay.ItemDisplayTransform.values().length];
+                            editJournal.recordProperty(player, entity, DisplayProperty.ITEM_DISPLAY_TRANSFORM);
+                            itemDisplay.setItemDisplayTransform(transform);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().itemDisplayTransform(transform));
+                        }
+                    }
+                    case BLOCK_STATE -> {
+                        if (event.isLeftClick()) {
+
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("block_state <new_blockstate>", DisplayEntityEditor.messageManager.getString("block_state_command_hint")));
+                            } else {
+                                InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("block_state_hint"), new InputData(entity, InputType.BLOCK_STATE, ((BlockDisplay) entity).getBlock().getMaterial()));
                             }
-                            case "GUITextDefaultBackground" -> {
-                                if (event.isLeftClick()) {
-                                    TextDisplay t = (TextDisplay) entity;
-                                    boolean b = !t.isDefaultBackground();
-                                    t.setDefaultBackground(b);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textDefaultBackground(b));
-                                }
+
+                            player.closeInventory();
+                        }
+                        if (event.isRightClick()) {
+                            BlockDisplay b = (BlockDisplay) entity;
+                            editJournal.recordProperty(player, entity, DisplayProperty.BLOCK);
+                            b.setBlock(Bukkit.createBlockData(b.getBlock().getMaterial()));
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().blockState(b.getBlock().getAsString(true)));
+                        }
+                    }
+                    case TEXT_OPACITY -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("text_opacity <value>", DisplayEntityEditor.messageManager.getString("opacity_command_hint")));
+                            } else {
+                                InputManager.createByteInput(player, DisplayEntityEditor.messageManager.getString("opacity_hint"), new InputData(entity, InputType.TEXT_OPACITY, null));
                             }
-                            case "GUITextSeeThrough" -> {
-                                if (event.isLeftClick()) {
-                                    TextDisplay t = (TextDisplay) entity;
-                                    boolean b = !t.isSeeThrough();
-                                    t.setSeeThrough(b);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textSeeThrough(b));
-                                }
+                        }
+                    }
+                    case TEXT_LINE_WIDTH -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("line_width <value>", ""));
+                            } else {
+                                InputManager.createIntegerInput(player, DisplayEntityEditor.messageManager.getString("generic_hint"), new InputData(entity, InputType.LINE_WIDTH, null));
                             }
-                            case "GUITextShadow" -> {
-                                if (event.isLeftClick()) {
-                                    TextDisplay t = (TextDisplay) entity;
-                                    boolean b = !t.isShadowed();
-                                    t.setShadowed(b);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textShadow(b));
-                                }
+                        }
+                    }
+                    case TEXT_DEFAULT_BACKGROUND -> {
+                        if (event.isLeftClick()) {
+                            TextDisplay t = (TextDisplay) entity;
+                            boolean b = !t.isDefaultBackground();
+                            editJournal.recordProperty(player, entity, DisplayProperty.TEXT_DEFAULT_BACKGROUND);
+                            t.setDefaultBackground(b);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textDefaultBackground(b));
+                        }
+                    }
+                    case TEXT_SEE_THROUGH -> {
+                        if (event.isLeftClick()) {
+                            TextDisplay t = (TextDisplay) entity;
+                            boolean b = !t.isSeeThrough();
+                            editJournal.recordProperty(player, entity, DisplayProperty.TEXT_SEE_THROUGH);
+                            t.setSeeThrough(b);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textSeeThrough(b));
+                        }
+                    }
+                    case TEXT_SHADOW -> {
+                        if (event.isLeftClick()) {
+                            TextDisplay t = (TextDisplay) entity;
+                            boolean b = !t.isShadowed();
+                            editJournal.recordProperty(player, entity, DisplayProperty.TEXT_SHADOW);
+                            t.setShadowed(b);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textShadow(b));
+                        }
+                    }
+                    case TEXT_BACKGROUND_COLOR -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("background_color <R, B, G>", DisplayEntityEditor.messageManager.getString("generic_color_command_hint")));
+                            } else {
+                                InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("generic_color_hint"), new InputData(entity, InputType.BACKGROUND_COLOR, null));
                             }
-                            case "GUITextBackgroundColor" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("background_color <R, B, G>", DisplayEntityEditor.messageManager.getString("generic_color_command_hint")));
-                                    } else {
-                                        InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("generic_color_hint"), new InputData(entity, InputType.BACKGROUND_COLOR, null));
-                                    }
-                                }
+                        }
+                    }
+                    case TEXT_BACKGROUND_OPACITY -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                player.spigot().sendMessage(Utilities.getCommandMessage("background_opacity <value>", DisplayEntityEditor.messageManager.getString("opacity_command_hint")));
+                            } else {
+                                InputManager.createByteInput(player, DisplayEntityEditor.messageManager.getString("opacity_hint"), new InputData(entity, InputType.BACKGROUND_OPACITY, null));
                             }
-                            case "GUITextBackgroundOpacity" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        player.spigot().sendMessage(Utilities.getCommandMessage("background_opacity <value>", DisplayEntityEditor.messageManager.getString("opacity_command_hint")));
-                                    } else {
-                                        InputManager.createByteInput(player, DisplayEntityEditor.messageManager.getString("opacity_hint"), new InputData(entity, InputType.BACKGROUND_OPACITY, null));
-                                    }
+                        }
+                    }
+                    case TEXT_ALIGNMENT -> {
+                        if (event.isLeftClick()) {
+                            TextDisplay textDisplay = (TextDisplay) entity;
+                            TextDisplay.TextAlignment alignment = textDisplay.getAlignment();
+                            alignment = TextDisplay.TextAlignment.values()[(alignment.ordinal()+1) % TextDisplay.TextAlignment.values().length];
+                            editJournal.recordProperty(player, entity, DisplayProperty.TEXT_ALIGNMENT);
+                            textDisplay.setAlignment(alignment);
+                            player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textAlignment(alignment));
+                        }
+                    }
+                    case TEXT -> {
+                        if (event.isLeftClick()) {
+                            player.closeInventory();
+                            TextDisplay textDisplay = (TextDisplay) entity;
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                if (DisplayEntityEditor.useMiniMessageFormat) {
+                                    player.spigot().sendMessage(Utilities.getCommandMessage("text <new_text>", DisplayEntityEditor.messageManager.getString("text_command_hint_mm")));
+                                    player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
+                                } else {
+                                    player.spigot().sendMessage(Utilities.getCommandMessage("text <new_text>", DisplayEntityEditor.messageManager.getString("text_command_hint")));
+                                    player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
                                 }
-                            }
-                            case "GUITextAlignment" -> {
-                                if (event.isLeftClick()) {
-                                    TextDisplay textDisplay = (TextDisplay) entity;
-                                    TextDisplay.TextAlignment alignment = textDisplay.getAlignment();
-                                    alignment = TextDisplay.TextAlignment.values()[(alignment.ordinal()+1) % TextDisplay.TextAlignment.values().length];
-                                    textDisplay.setAlignment(alignment);
-                                    player.getOpenInventory().setItem(event.getSlot(), DisplayEntityEditor.inventoryFactory.getGuiItems().textAlignment(alignment));
+                            } else {
+                                if (DisplayEntityEditor.useMiniMessageFormat) {
+                                    InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_hint_mm"), new InputData(entity, InputType.TEXT, null));
+                                    player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
+                                } else {
+                                    InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_hint"), new InputData(entity, InputType.TEXT, null));
+                                    player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
                                 }
                             }
-                            case "GUIText" -> {
-                                if (event.isLeftClick()) {
-                                    player.closeInventory();
-                                    TextDisplay textDisplay = (TextDisplay) entity;
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        if (DisplayEntityEditor.useMiniMessageFormat) {
-                                            player.spigot().sendMessage(Utilities.getCommandMessage("text <new_text>", DisplayEntityEditor.messageManager.getString("text_command_hint_mm")));
-                                            player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
-                                        } else {
-                                            player.spigot().sendMessage(Utilities.getCommandMessage("text <new_text>", DisplayEntityEditor.messageManager.getString("text_command_hint")));
-                                            player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
-                                        }
-                                    } else {
-                                        if (DisplayEntityEditor.useMiniMessageFormat) {
-                                            InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_hint_mm"), new InputData(entity, InputType.TEXT, null));
-                                            player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
-                                        } else {
-                                            InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_hint"), new InputData(entity, InputType.TEXT, null));
-                                            player.spigot().sendMessage(Utilities.getClipboardMessage("text_clipboard_hint", textDisplay.getText()));
-                                        }
-                                    }
+                        }
+                        if (event.isRightClick()) {
+                            player.closeInventory();
+
+                            if (DisplayEntityEditor.alternateTextInput) {
+                                if (DisplayEntityEditor.useMiniMessageFormat) {
+                                    player.spigot().sendMessage(Utilities.getCommandMessage("text_append <text_to_append>", DisplayEntityEditor.messageManager.getString("text_command_hint_mm")));
+                                } else {
+                                    player.spigot().sendMessage(Utilities.getCommandMessage("text_append <text_to_append>", DisplayEntityEditor.messageManager.getString("text_command_hint")));
                                 }
-                                if (event.isRightClick()) {
-                                    player.closeInventory();
-
-                                    if (DisplayEntityEditor.alternateTextInput) {
-                                        if (DisplayEntityEditor.useMiniMessageFormat) {
-                                            player.spigot().sendMessage(Utilities.getCommandMessage("text_append <text_to_append>", DisplayEntityEditor.messageManager.getString("text_command_hint_mm")));
-                                        } else {
-                                            player.spigot().sendMessage(Utilities.getCommandMessage("text_append <text_to_append>", DisplayEntityEditor.messageManager.getString("text_command_hint")));
-                                        }
-                                    } else {
-                                        if (DisplayEntityEditor.useMiniMessageFormat) {
-                                            InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_append_hint_mm"), new InputData(entity, InputType.TEXT_APPEND, null));
-                                        } else {
-                                            InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_append_hint"), new InputData(entity, InputType.TEXT_APPEND, null));
-                                        }
-                                    }
+                            } else {
+                                if (DisplayEntityEditor.useMiniMessageFormat) {
+                                    InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_append_hint_mm"), new InputData(entity, InputType.TEXT_APPEND, null));
+                                } else {
+                                    InputManager.createTextInput(player, DisplayEntityEditor.messageManager.getString("text_append_hint"), new InputData(entity, InputType.TEXT_APPEND, null));
                                 }
                             }
                         }
                     }
                 }
             }
-            if (player.getOpenInventory().getTitle().equals(ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("block_display_gui_name")))) {
-
-                assert entity instanceof BlockDisplay;
-                BlockDisplay blockDisplay = (BlockDisplay) entity;
-                Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> {
-                    ItemStack itemStack = player.getOpenInventory().getItem(10);
-                    if (itemStack != null) {
-                        if (itemStack.getType().isBlock()) {
-                            BlockData data = Bukkit.createBlockData(itemStack.getType());
-                            blockDisplay.setBlock(data);
-                        } else {
-                            BlockData data = Bukkit.createBlockData(Material.AIR);
-                            blockDisplay.setBlock(data);
-                            player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("block_invalid_hint")));
-                            player.getOpenInventory().setItem(10, null);
-                        }
+        }
+        if (holder.getType() == DisplayGUIHolder.Type.BLOCK_DISPLAY) {
+
+            assert entity instanceof BlockDisplay;
+            BlockDisplay blockDisplay = (BlockDisplay) entity;
+            Scheduling.runLater(player, () -> {
+                editJournal.recordProperty(player, blockDisplay, DisplayProperty.BLOCK);
+                ItemStack itemStack = player.getOpenInventory().getItem(10);
+                if (itemStack != null) {
+                    if (itemStack.getType().isBlock()) {
+                        BlockData data = Bukkit.createBlockData(itemStack.getType());
+                        blockDisplay.setBlock(data);
                     } else {
-                        blockDisplay.setBlock(Bukkit.createBlockData(Material.AIR));
+                        BlockData data = Bukkit.createBlockData(Material.AIR);
+                        blockDisplay.setBlock(data);
+                        player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("block_invalid_hint")));
+                        player.getOpenInventory().setItem(10, null);
                     }
-                });
+                } else {
+                    blockDisplay.setBlock(Bukkit.createBlockData(Material.AIR));
+                }
+            }, 1L);
 
 
-            } else if (player.getOpenInventory().getTitle().equals(ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("item_display_gui_name")))) {
-                ItemDisplay itemDisplay = (ItemDisplay) entity;
-                Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> itemDisplay.setItemStack(player.getOpenInventory().getItem(10)),1L);
-            }
+        } else if (holder.getType() == DisplayGUIHolder.Type.ITEM_DISPLAY) {
+            ItemDisplay itemDisplay = (ItemDisplay) entity;
+            Scheduling.runLater(player, () -> {
+                editJournal.recordProperty(player, itemDisplay, DisplayProperty.ITEM);
+                itemDisplay.setItemStack(player.getOpenInventory().getItem(10));
+            }, 1L);
         }
     }
 }
@@ -13,6 +13,6 @@ public class InventoryClose implements Listener {
      */
     @EventHandler
     public void close(InventoryCloseEvent event) {
-        DisplayEntityEditor.currentEditMap.remove(event.getPlayer().getUniqueId());
+        DisplayEntityEditor.getPlugin().getEditSessions().closeGui(event.getPlayer().getUniqueId());
     }
 }
@@ -1,32 +1,66 @@
 package goldenshadow.displayentityeditor.events;
 
 import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.ToolSettings;
 import goldenshadow.displayentityeditor.Utilities;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
 
 public class PlayerJoin implements Listener {
 
+    /**
+     * Used to read the inventory a joining player did not get back before the server stopped, while the player is still logging in
+     * @param event The event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            DisplayEntityEditor.getPlugin().getSavedInventoryStore().prepareRestore(event.getUniqueId());
+        }
+    }
+
+    /**
+     * Used to give back the inventory read in {@link #onPreLogin(AsyncPlayerPreLoginEvent)} and to read the tool settings of the player
+     * @param event The event
+     */
+    @EventHandler
+    public void onJoined(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        ToolSettings.of(player);
+        ItemStack[] contents = DisplayEntityEditor.getPlugin().getSavedInventoryStore().takeRestore(player.getUniqueId());
+        if (contents != null) {
+            DisplayEntityEditor.getPlugin().command().restoreInventory(player, contents);
+            player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("inventory_restored")));
+        }
+    }
+
     /**
      * Used to listen for when a player joins
      * @param event The event
      */
     @EventHandler
-    public void onJoin(PlayerLoginEvent event) {
+    public void onJoin(PlayerJoinEvent event) {
         if (event.getPlayer().isOp()) {
             if (DisplayEntityEditor.getPlugin().getConfig().getBoolean("send-update-message-on-join")) {
-                DisplayEntityEditor.
-                getVersion(v -> {
+                Player player = event.getPlayer();
+                // A cached version completes the future right away, an answer from the server completes it on a thread of the http client
+                DisplayEntityEditor.getPlugin().getUpdateChecker().getLatestVersion().thenAccept(v -> {
                     if (!DisplayEntityEditor.getPlugin().getDescription().getVersion().equals(v)) {
-                        event.getPlayer().sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("version_check_fail")));
-                        event.getPlayer().sendMessage(ChatColor.GRAY + DisplayEntityEditor.messageManager.getString("version_check_disable_hint"));
+                        Scheduling.run(player, () -> {
+                            player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("version_check_fail")));
+                            player.sendMessage(ChatColor.GRAY + DisplayEntityEditor.messageManager.getString("version_check_disable_hint"));
+                        });
                     }
                 });
 
-                Bukkit.getScheduler().scheduleSyncDelayedTask(DisplayEntityEditor.getPlugin(), () -> {
+                Scheduling.runLater(() -> {
                     if (DisplayEntityEditor.getPlugin().getConfig().getBoolean("use-messages-file")) {
                         if (!DisplayEntityEditor.getPlugin().getDescription().getVersion().equals(DisplayEntityEditor.messageManager.getString("file_version"))) {
                             event.getPlayer().sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("messages_file_outdated_version")));
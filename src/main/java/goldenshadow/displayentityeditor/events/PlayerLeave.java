@@ -1,6 +1,7 @@
 package goldenshadow.displayentityeditor.events;
 
 import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.ToolSettings;
 import goldenshadow.displayentityeditor.commands.DisplayEntityEditorBrigadierCommand;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -14,6 +15,16 @@ public class PlayerLeave implements Listener {
      */
     @EventHandler
     public void onLeave(PlayerQuitEvent event) {
+        DisplayEntityEditor.getPlugin().getBulkCloner().cancel(event.getPlayer());
+        DisplayEntityEditor.getPlugin().getBuildManager().cancel(event.getPlayer());
+        DisplayEntityEditor.getPlugin().getBoxSelector().cancel(event.getPlayer());
+        DisplayEntityEditor.getPlugin().getGroupSelector().cancel(event.getPlayer());
+        DisplayEntityEditor.getPlugin().getMotionSmoother().commitAll(event.getPlayer());
+        DisplayEntityEditor.getPlugin().getActionbarChannel().forget(event.getPlayer());
+        DisplayEntityEditor.getPlugin().getEditJournal().forget(event.getPlayer());
         DisplayEntityEditor.getPlugin().command().returnInventory(event.getPlayer());
+        DisplayEntityEditor.getPlugin().getEditSessions().remove(event.getPlayer().getUniqueId());
+        DisplayEntityEditor.getPlugin().getToolRegistry().forget(event.getPlayer());
+        ToolSettings.forget(event.getPlayer());
     }
 }
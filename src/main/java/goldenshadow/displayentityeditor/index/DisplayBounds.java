@@ -0,0 +1,179 @@
+package goldenshadow.displayentityeditor.index;
+
+import org.bukkit.Location;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.util.Transformation;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * A utility class used to work out where a display entity is actually drawn
+ */
+public final class DisplayBounds {
+
+    /**
+     * Half the size of the box around the pivot point that can always be hit, so that displays with a scale of 0 can still be selected
+     */
+    private static final double PIVOT_EXTENT = 0.25;
+
+    private static final float DEG_TO_RAD = (float) (Math.PI / 180);
+
+    private DisplayBounds() {}
+
+    /**
+     * Used to get the furthest distance from the pivot point that the display could be drawn at, regardless of its rotation
+     * @param display The display
+     * @return The distance in blocks
+     */
+    public static double reach(Display display) {
+        Transformation t = display.getTransformation();
+        Vector3f scale = t.getScale();
+        double maxScale = Math.max(Math.abs(scale.x()), Math.max(Math.abs(scale.y()), Math.abs(scale.z())));
+        double reach = t.getTranslation().length() + maxScale * modelRadius(display);
+        double halfWidth = display.getDisplayWidth() / 2d;
+        double height = display.getDisplayHeight();
+        return Math.max(Math.max(reach, PIVOT_EXTENT * Math.sqrt(3)), Math.sqrt(2 * halfWidth * halfWidth + height * height));
+    }
+
+    /**
+     * Used to intersect a ray with the shape of a display
+     * @param display The display
+     * @param ox The x coordinate of the ray origin
+     * @param oy The y coordinate of the ray origin
+     * @param oz The z coordinate of the ray origin
+     * @param dx The x component of the ray direction
+     * @param dy The y component of the ray direction
+     * @param dz The z component of the ray direction
+     * @return The distance along the ray (in multiples of the direction) at which the display is first hit, or {@link Double#POSITIVE_INFINITY} if it is missed
+     */
+    public static double intersect(Display display, double ox, double oy, double oz, double dx, double dy, double dz) {
+        Location location = display.getLocation();
+        // Work relative to the pivot point to keep float precision when far away from 0 0
+        double rx = ox - location.getX();
+        double ry = oy - location.getY();
+        double rz = oz - location.getZ();
+
+        double best = slab(-PIVOT_EXTENT, -PIVOT_EXTENT, -PIVOT_EXTENT, PIVOT_EXTENT, PIVOT_EXTENT, PIVOT_EXTENT, rx, ry, rz, dx, dy, dz);
+
+        float width = display.getDisplayWidth();
+        float height = display.getDisplayHeight();
+        if (width > 0 && height > 0) {
+            best = Math.min(best, slab(-width / 2d, 0, -width / 2d, width / 2d, height, width / 2d, rx, ry, rz, dx, dy, dz));
+        }
+
+        if (display.getBillboard() != Display.Billboard.FIXED) {
+            // The display turns towards the viewer, so the only thing we know for sure is how far it reaches
+            return Math.min(best, sphere(reach(display), rx, ry, rz, dx, dy, dz));
+        }
+
+        Transformation t = display.getTransformation();
+        Matrix4f model = new Matrix4f()
+                .rotationYXZ(-location.getYaw() * DEG_TO_RAD, location.getPitch() * DEG_TO_RAD, 0)
+                .translate(t.getTranslation())
+                .rotate(t.getLeftRotation())
+                .scale(t.getScale())
+                .rotate(t.getRightRotation());
+
+        if (Math.abs(model.determinantAffine()) < 1.0E-9) {
+            // Flattened displays can't be inverted, so fall back to the box around the drawn shape
+            Vector3f min = new Vector3f(Float.POSITIVE_INFINITY), max = new Vector3f(Float.NEGATIVE_INFINITY), corner = new Vector3f();
+            float[] box = modelBox(display);
+            for (int i = 0; i < 8; i++) {
+                model.transformPosition(corner.set(box[(i & 1) == 0 ? 0 : 3], box[(i & 2) == 0 ? 1 : 4], box[(i & 4) == 0 ? 2 : 5]));
+                min.min(corner);
+                max.max(corner);
+            }
+            return Math.min(best, slab(min.x, min.y, min.z, max.x, max.y, max.z, rx, ry, rz, dx, dy, dz));
+        }
+
+        // Transform the ray into the space of the model, where its shape is an axis aligned box.
+        // The direction is not normalized afterwards, so the distance along the ray stays the same
+        Matrix4f inverse = model.invertAffine();
+        Vector3f origin = inverse.transformPosition(new Vector3f((float) rx, (float) ry, (float) rz));
+        Vector3f direction = inverse.transformDirection(new Vector3f((float) dx, (float) dy, (float) dz));
+        float[] box = modelBox(display);
+        return Math.min(best, slab(box[0], box[1], box[2], box[3], box[4], box[5], origin.x, origin.y, origin.z, direction.x, direction.y, direction.z));
+    }
+
+    /**
+     * Used to get the box the model of a display occupies before its transformation is applied
+     * @param display The display
+     * @return The box as {minX, minY, minZ, maxX, maxY, maxZ}
+     */
+    private static float[] modelBox(Display display) {
+        if (display instanceof BlockDisplay) {
+            return new float[] {0, 0, 0, 1, 1, 1};
+        }
+        if (display instanceof ItemDisplay) {
+            return new float[] {-0.5f, -0.5f, -0.5f, 0.5f, 0.5f, 0.5f};
+        }
+        // Text is drawn upwards from the pivot point, centered horizontally
+        return new float[] {-0.5f, 0, -0.05f, 0.5f, 0.5f, 0.05f};
+    }
+
+    /**
+     * @param display The display
+     * @return The distance of the furthest corner of the model box from the pivot point
+     */
+    private static double modelRadius(Display display) {
+        if (display instanceof BlockDisplay) {
+            return Math.sqrt(3);
+        }
+        if (display instanceof ItemDisplay) {
+            return Math.sqrt(3) / 2;
+        }
+        return Math.sqrt(0.5 * 0.5 + 0.5 * 0.5 + 0.05 * 0.05);
+    }
+
+    /**
+     * A ray - axis aligned box intersection test (slab method)
+     * @return The distance along the ray at which the box is entered (0 if the origin lies inside), or {@link Double#POSITIVE_INFINITY} if it is missed
+     */
+    private static double slab(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                               double ox, double oy, double oz, double dx, double dy, double dz) {
+        double near = 0;
+        double far = Double.POSITIVE_INFINITY;
+
+        if (Math.abs(dx) < 1.0E-9) {
+            if (ox < minX || ox > maxX) return Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (minX - ox) / dx, t2 = (maxX - ox) / dx;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) return Double.POSITIVE_INFINITY;
+        }
+        if (Math.abs(dy) < 1.0E-9) {
+            if (oy < minY || oy > maxY) return Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (minY - oy) / dy, t2 = (maxY - oy) / dy;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) return Double.POSITIVE_INFINITY;
+        }
+        if (Math.abs(dz) < 1.0E-9) {
+            if (oz < minZ || oz > maxZ) return Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (minZ - oz) / dz, t2 = (maxZ - oz) / dz;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) return Double.POSITIVE_INFINITY;
+        }
+        return near;
+    }
+
+    /**
+     * A ray - sphere intersection test for a sphere around the origin
+     * @return The distance along the ray at which the sphere is entered (0 if the origin lies inside), or {@link Double#POSITIVE_INFINITY} if it is missed
+     */
+    private static double sphere(double radius, double ox, double oy, double oz, double dx, double dy, double dz) {
+        double a = dx * dx + dy * dy + dz * dz;
+        double b = ox * dx + oy * dy + oz * dz;
+        double c = ox * ox + oy * oy + oz * oz - radius * radius;
+        if (c <= 0) return 0;
+        double discriminant = b * b - a * c;
+        if (discriminant < 0 || b > 0) return Double.POSITIVE_INFINITY;
+        return (-b - Math.sqrt(discriminant)) / a;
+    }
+}
@@ -0,0 +1,350 @@
+package goldenshadow.displayentityeditor.index;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A per-world index of all loaded display entities, bucketed into 16x16x16 cells.
+ * Lookups only touch the cells overlapping the searched area, so they cost time in proportion
+ * to the displays near the searched location instead of every entity in the surrounding chunks.
+ * <p>
+ * Displays are moved to another cell when they are teleported, but not every move fires an event: a display riding another entity
+ * moves with it every tick, and other plugins can teleport displays directly. Riding displays are therefore tracked and moved to
+ * their current cell every tick by {@link #tick()}, and every other display is checked again every few seconds, as configured.
+ * Until then a display teleported by another plugin can only be found near its old location.
+ * <p>
+ * On Folia it is used by several regions at once, so it is synchronized.
+ */
+public class DisplayIndex {
+
+    /**
+     * The size of a cell as a bit shift (16 blocks)
+     */
+    public static final int CELL_SHIFT = 4;
+    public static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Map<UUID, WorldIndex> worlds = new HashMap<>();
+    private final Map<Integer, Display> riding = new HashMap<>();
+    private int ticksSinceRefresh;
+
+    /**
+     * Used to fill the index with every display that is currently loaded in the given world
+     * @param world The world
+     */
+    public synchronized void indexWorld(World world) {
+        for (Display display : world.getEntitiesByClass(Display.class)) {
+            add(display);
+        }
+    }
+
+    /**
+     * Used to drop all indexed displays of a world
+     * @param world The world
+     */
+    public synchronized void clearWorld(World world) {
+        worlds.remove(world.getUID());
+        riding.values().removeIf(display -> display.getWorld().equals(world));
+    }
+
+    /**
+     * Used to add a display to the index
+     * @param display The display
+     */
+    public synchronized void add(Display display) {
+        Location location = display.getLocation();
+        worlds.computeIfAbsent(display.getWorld().getUID(), uuid -> new WorldIndex()).put(display, cellKey(location.getX(), location.getY(), location.getZ()), DisplayBounds.reach(display));
+        setRiding(display, display.isInsideVehicle());
+    }
+
+    /**
+     * Used to remove a display from the index
+     * @param display The display
+     */
+    public synchronized void remove(Display display) {
+        riding.remove(display.getEntityId());
+        WorldIndex index = worlds.get(display.getWorld().getUID());
+        if (index != null) {
+            index.remove(display);
+        }
+    }
+
+    /**
+     * Used to move a display into the cell matching its current location. Should be called after a display was teleported
+     * or after its translation or scale was changed.
+     * @param display The display
+     */
+    public synchronized void update(Display display) {
+        update(display, display.getLocation());
+    }
+
+    /**
+     * Used to move a display into the cell matching the given location
+     * @param display The display
+     * @param location The location the display is at or is about to be moved to
+     */
+    public synchronized void update(Display display, Location location) {
+        World world = location.getWorld() != null ? location.getWorld() : display.getWorld();
+        if (!world.equals(display.getWorld())) {
+            remove(display);
+        }
+        worlds.computeIfAbsent(world.getUID(), uuid -> new WorldIndex()).put(display, cellKey(location.getX(), location.getY(), location.getZ()), DisplayBounds.reach(display));
+    }
+
+    /**
+     * Used to mark a display as riding another entity or not. Riding displays are moved to their current cell every tick.
+     * @param display The display
+     * @param riding True if the display is riding another entity, otherwise false
+     */
+    public synchronized void setRiding(Display display, boolean riding) {
+        if (riding) {
+            this.riding.put(display.getEntityId(), display);
+        } else {
+            this.riding.remove(display.getEntityId());
+        }
+    }
+
+    /**
+     * Used to move displays that could have moved without an event into the cells matching their current location.
+     * Should be called once every tick. The riding displays are checked every time, all others once every configured interval.
+     */
+    public void tick() {
+        List<Display> displays;
+        synchronized (this) {
+            int interval = DisplayEntityEditor.displayIndexRefreshSeconds * 20;
+            if (interval > 0 && ++ticksSinceRefresh >= interval) {
+                ticksSinceRefresh = 0;
+                displays = new ArrayList<>();
+                for (WorldIndex index : worlds.values()) {
+                    index.cells.values().forEach(displays::addAll);
+                }
+            } else if (!riding.isEmpty()) {
+                displays = new ArrayList<>(riding.values());
+            } else {
+                return;
+            }
+        }
+        // The location of a display may only be read by the thread that owns it
+        Scheduling.forEach(displays, this::relocate);
+    }
+
+    /**
+     * Used to move a display into the cell matching its current location, if it is still indexed.
+     * Unlike {@link #update(Display)}, the size of the display is not worked out again, as only its location could have changed.
+     */
+    private synchronized void relocate(Display display) {
+        WorldIndex index = worlds.get(display.getWorld().getUID());
+        if (index == null || !display.isValid()) {
+            return;
+        }
+        Long previous = index.cellOf.get(display.getEntityId());
+        if (previous == null) {
+            return;
+        }
+        if (!display.isInsideVehicle()) {
+            riding.remove(display.getEntityId());
+        }
+        Location location = display.getLocation();
+        long key = cellKey(location.getX(), location.getY(), location.getZ());
+        if (previous != key) {
+            index.cellOf.put(display.getEntityId(), key);
+            index.removeFromCell(display, previous);
+            index.cells.computeIfAbsent(key, k -> new ArrayList<>(4)).add(display);
+        }
+    }
+
+    /**
+     * Used to remove every display in the given list from the index, for example when a chunk unloads
+     * @param entities The entities
+     */
+    public synchronized void removeAll(Collection<? extends Entity> entities) {
+        for (Entity entity : entities) {
+            if (entity instanceof Display display) {
+                remove(display);
+            }
+        }
+    }
+
+    /**
+     * Used to get all displays within an axis aligned box around a location, the same way {@link World#getNearbyEntities(Location, double, double, double)} would
+     * @param center The center of the box
+     * @param x Half the size of the box along the x-axis
+     * @param y Half the size of the box along the y-axis
+     * @param z Half the size of the box along the z-axis
+     * @return A new list containing the displays inside the box
+     */
+    public synchronized List<Display> getNearby(Location center, double x, double y, double z) {
+        List<Display> result = new ArrayList<>();
+        World world = center.getWorld();
+        if (world == null) {
+            return result;
+        }
+        forEachInBox(world, center.getX() - x, center.getY() - y, center.getZ() - z, center.getX() + x, center.getY() + y, center.getZ() + z, result::add);
+        return result;
+    }
+
+    /**
+     * Used to visit all displays whose location lies inside the given box
+     * @param world The world
+     * @param minX The lower x bound
+     * @param minY The lower y bound
+     * @param minZ The lower z bound
+     * @param maxX The upper x bound
+     * @param maxY The upper y bound
+     * @param maxZ The upper z bound
+     * @param consumer The consumer that is called for every display found
+     */
+    public synchronized void forEachInBox(World world, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Consumer<Display> consumer) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null) {
+            return;
+        }
+        int minCellX = cell(minX), minCellY = cell(minY), minCellZ = cell(minZ);
+        int maxCellX = cell(maxX), maxCellY = cell(maxY), maxCellZ = cell(maxZ);
+        List<Display> moved = null;
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                for (int cy = minCellY; cy <= maxCellY; cy++) {
+                    long key = cellKey(cx, cy, cz);
+                    List<Display> displays = index.cells.get(key);
+                    if (displays == null) {
+                        continue;
+                    }
+                    for (Display display : displays) {
+                        Location location = display.getLocation();
+                        double dx = location.getX(), dy = location.getY(), dz = location.getZ();
+                        if (cellKey(dx, dy, dz) != key) {
+                            // The display was moved without us noticing, re-bucket it once we are done iterating
+                            if (moved == null) {
+                                moved = new ArrayList<>();
+                            }
+                            moved.add(display);
+                        }
+                        if (dx >= minX && dx <= maxX && dy >= minY && dy <= maxY && dz >= minZ && dz <= maxZ) {
+                            consumer.accept(display);
+                        }
+                    }
+                }
+            }
+        }
+        if (moved != null) {
+            moved.forEach(this::update);
+        }
+    }
+
+    /**
+     * Used to visit all displays in a single cell
+     * @param world The world
+     * @param cx The cell x coordinate
+     * @param cy The cell y coordinate
+     * @param cz The cell z coordinate
+     * @param consumer The consumer that is called for every display in the cell
+     */
+    public synchronized void forEachInCell(World world, int cx, int cy, int cz, Consumer<Display> consumer) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null) {
+            return;
+        }
+        List<Display> displays = index.cells.get(cellKey(cx, cy, cz));
+        if (displays != null) {
+            displays.forEach(consumer);
+        }
+    }
+
+    /**
+     * Used to visit all displays that are drawn so large that they could reach further than one cell away from their pivot point
+     * @param world The world
+     * @param consumer The consumer that is called for every large display
+     */
+    public synchronized void forEachLarge(World world, Consumer<Display> consumer) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index != null) {
+            index.large.values().forEach(consumer);
+        }
+    }
+
+    /**
+     * @param world The world
+     * @return The amount of displays indexed in the given world
+     */
+    public synchronized int size(World world) {
+        WorldIndex index = worlds.get(world.getUID());
+        return index == null ? 0 : index.cellOf.size();
+    }
+
+    /**
+     * Used to convert a block coordinate to a cell coordinate
+     * @param coordinate The coordinate
+     * @return The cell coordinate
+     */
+    public static int cell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(double x, double y, double z) {
+        return cellKey(cell(x), cell(y), cell(z));
+    }
+
+    /**
+     * Used to pack the coordinates of a cell into a single key
+     * @param cx The cell x coordinate
+     * @param cy The cell y coordinate
+     * @param cz The cell z coordinate
+     * @return The key
+     */
+    public static long cellKey(int cx, int cy, int cz) {
+        return ((long) (cx & 0x3FFFFF) << 42) | ((long) (cz & 0x3FFFFF) << 20) | (cy & 0xFFFFF);
+    }
+
+    /**
+     * The index of a single world
+     */
+    private static class WorldIndex {
+
+        private final Map<Long, List<Display>> cells = new HashMap<>();
+        private final Map<Integer, Long> cellOf = new HashMap<>();
+        private final Map<Integer, Display> large = new HashMap<>();
+
+        private void put(Display display, long key, double reach) {
+            if (reach > CELL_SIZE) {
+                large.put(display.getEntityId(), display);
+            } else {
+                large.remove(display.getEntityId());
+            }
+            Long previous = cellOf.put(display.getEntityId(), key);
+            if (previous != null) {
+                if (previous == key) {
+                    return;
+                }
+                removeFromCell(display, previous);
+            }
+            cells.computeIfAbsent(key, k -> new ArrayList<>(4)).add(display);
+        }
+
+        private void remove(Display display) {
+            large.remove(display.getEntityId());
+            Long previous = cellOf.remove(display.getEntityId());
+            if (previous != null) {
+                removeFromCell(display, previous);
+            }
+        }
+
+        private void removeFromCell(Display display, long key) {
+            List<Display> displays = cells.get(key);
+            if (displays == null) {
+                return;
+            }
+            int id = display.getEntityId();
+            displays.removeIf(d -> d.getEntityId() == id);
+            if (displays.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package goldenshadow.displayentityeditor.index;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.util.Vector;
+
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Used to find the display entity a player is looking at.
+ * The ray walks the cells of the {@link DisplayIndex} it passes through once (3D-DDA) and tests the displays in and around
+ * those cells against the shape they are actually drawn as.
+ */
+public final class DisplayRaycast {
+
+    private DisplayRaycast() {}
+
+    /**
+     * Used to get the first display hit by a ray
+     * @param index The display index to search
+     * @param origin The origin of the ray
+     * @param direction The direction of the ray
+     * @param range The maximum distance from the origin
+     * @param filter A filter that displays have to pass to be hit
+     * @return The closest display hit, or null if none was hit
+     */
+    @Nullable
+    public static Display raycast(DisplayIndex index, Location origin, Vector direction, double range, Predicate<Display> filter) {
+        World world = origin.getWorld();
+        if (world == null || direction.lengthSquared() == 0) {
+            return null;
+        }
+        Vector d = direction.clone().normalize();
+        double ox = origin.getX(), oy = origin.getY(), oz = origin.getZ();
+        double dx = d.getX(), dy = d.getY(), dz = d.getZ();
+
+        Hit hit = new Hit(range);
+
+        // Very large displays can reach into cells far away from their own, so they are always tested
+        index.forEachLarge(world, display -> hit.test(display, filter, ox, oy, oz, dx, dy, dz));
+
+        int cx = DisplayIndex.cell(ox), cy = DisplayIndex.cell(oy), cz = DisplayIndex.cell(oz);
+        int stepX = dx > 0 ? 1 : -1, stepY = dy > 0 ? 1 : -1, stepZ = dz > 0 ? 1 : -1;
+        double size = DisplayIndex.CELL_SIZE;
+        double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : size / Math.abs(dx);
+        double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : size / Math.abs(dy);
+        double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : size / Math.abs(dz);
+        double maxX = dx == 0 ? Double.POSITIVE_INFINITY : ((stepX > 0 ? (cx + 1) * size : cx * size) - ox) / dx;
+        double maxY = dy == 0 ? Double.POSITIVE_INFINITY : ((stepY > 0 ? (cy + 1) * size : cy * size) - oy) / dy;
+        double maxZ = dz == 0 ? Double.POSITIVE_INFINITY : ((stepZ > 0 ? (cz + 1) * size : cz * size) - oz) / dz;
+
+        Set<Long> visited = new HashSet<>();
+        double entered = 0;
+        // A display can be drawn up to one cell away from its pivot point, so once a cell is entered after the closest hit so far,
+        // nothing in it or after it can be closer
+        while (entered <= hit.distance) {
+            for (int x = cx - 1; x <= cx + 1; x++) {
+                for (int y = cy - 1; y <= cy + 1; y++) {
+                    for (int z = cz - 1; z <= cz + 1; z++) {
+                        if (visited.add(DisplayIndex.cellKey(x, y, z))) {
+                            index.forEachInCell(world, x, y, z, display -> hit.test(display, filter, ox, oy, oz, dx, dy, dz));
+                        }
+                    }
+                }
+            }
+            if (maxX < maxY && maxX < maxZ) {
+                entered = maxX;
+                maxX += deltaX;
+                cx += stepX;
+            } else if (maxY < maxZ) {
+                entered = maxY;
+                maxY += deltaY;
+                cy += stepY;
+            } else {
+                entered = maxZ;
+                maxZ += deltaZ;
+                cz += stepZ;
+            }
+        }
+        return hit.display;
+    }
+
+    /**
+     * Keeps track of the closest hit so far
+     */
+    private static class Hit {
+
+        private double distance;
+        private Display display;
+
+        private Hit(double range) {
+            this.distance = range;
+        }
+
+        private void test(Display candidate, Predicate<Display> filter, double ox, double oy, double oz, double dx, double dy, double dz) {
+            if (candidate == display) {
+                return;
+            }
+            double t = DisplayBounds.intersect(candidate, ox, oy, oz, dx, dy, dz);
+            if (t <= distance && (display == null || t < distance) && filter.test(candidate)) {
+                distance = t;
+                display = candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package goldenshadow.displayentityeditor.index;
+
+import org.bukkit.entity.Display;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches which display entities are locked, keyed by their uuid.
+ * Reading the scoreboard tags of an entity copies its whole tag set, so the lock state is only read once per display
+ * and kept in sync whenever this plugin locks or unlocks a display. The state of a display is dropped once it is removed or unloaded,
+ * so the cache only ever holds the displays that are currently loaded.
+ * <p>
+ * There is no event for tags changed with vanilla commands, so the cached state is only used to filter the displays near a player.
+ * A single display picked to be edited is read again with {@link #refresh(Display)} before it is used. Selecting several displays
+ * at once and the group selector only use the cached state, so they do not see a tag changed with {@code /tag} until the chunk is loaded again
+ * or the display is picked on its own.
+ * On Folia it is used by several regions at once, so the states are kept in a concurrent map.
+ */
+public class LockStateCache {
+
+    /**
+     * The scoreboard tag used to mark a display as locked.
+     * Please do not replace this with persistent data storage! This is an intentional design choice so that you can use vanilla commands to target locked displays
+     */
+    public static final String LOCK_TAG = "dee:locked";
+
+    private final Map<UUID, Boolean> locked = new ConcurrentHashMap<>();
+
+    /**
+     * Used to check if a display is locked
+     * @param display The display
+     * @return True if it is locked, otherwise false
+     */
+    public boolean isLocked(Display display) {
+        Boolean lock = locked.get(display.getUniqueId());
+        return lock == null ? refresh(display) : lock;
+    }
+
+    /**
+     * Used to lock or unlock a display
+     * @param display The display
+     * @param lock If the display should be locked
+     */
+    public void setLocked(Display display, boolean lock) {
+        if (lock) {
+            display.addScoreboardTag(LOCK_TAG);
+        } else {
+            display.removeScoreboardTag(LOCK_TAG);
+        }
+        locked.put(display.getUniqueId(), lock);
+    }
+
+    /**
+     * Used to read the lock state of a display from its scoreboard tags again
+     * @param display The display
+     * @return True if it is locked, otherwise false
+     */
+    public boolean refresh(Display display) {
+        boolean lock = display.getScoreboardTags().contains(LOCK_TAG);
+        locked.put(display.getUniqueId(), lock);
+        return lock;
+    }
+
+    /**
+     * Used to drop the cached lock state of a display, for example when it is removed or unloaded
+     * @param display The display
+     */
+    public void forget(Display display) {
+        locked.remove(display.getUniqueId());
+    }
+}
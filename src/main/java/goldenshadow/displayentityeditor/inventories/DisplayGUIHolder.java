@@ -0,0 +1,76 @@
+package goldenshadow.displayentityeditor.inventories;
+
+import goldenshadow.displayentityeditor.enums.GUIAction;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Display;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The holder of every display gui. It carries the display being edited and what each slot does, so clicks can be handled
+ * without comparing inventory titles or reading the clicked item.
+ */
+public class DisplayGUIHolder implements InventoryHolder {
+
+    /**
+     * The kinds of display gui
+     */
+    public enum Type {
+        ITEM_DISPLAY,
+        BLOCK_DISPLAY,
+        TEXT_DISPLAY
+    }
+
+    private final Display display;
+    private final Type type;
+    private final GUIAction[] actions;
+    private final Inventory inventory;
+
+    /**
+     * Used to create a new holder along with its inventory
+     * @param display The display being edited
+     * @param type The kind of gui
+     * @param actions The action of each slot, null for slots that players are allowed to use normally
+     * @param title The title of the inventory
+     */
+    @SuppressWarnings("deprecation")
+    public DisplayGUIHolder(Display display, Type type, GUIAction[] actions, String title) {
+        this.display = display;
+        this.type = type;
+        this.actions = actions;
+        this.inventory = Bukkit.createInventory(this, actions.length, title);
+    }
+
+    /**
+     * Getter for the display being edited
+     * @return The display
+     */
+    public Display getDisplay() {
+        return display;
+    }
+
+    /**
+     * Getter for the kind of gui
+     * @return The type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Used to get what clicking on a slot does
+     * @param slot The slot
+     * @return The action, or null if the slot has none
+     */
+    @Nullable
+    public GUIAction getAction(int slot) {
+        return slot >= 0 && slot < actions.length ? actions[slot] : null;
+    }
+
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
+    }
+}
@@ -2,9 +2,9 @@ package goldenshadow.displayentityeditor.inventories;
 
 import goldenshadow.displayentityeditor.DisplayEntityEditor;
 import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.enums.GUIAction;
 import goldenshadow.displayentityeditor.items.GUIItems;
 import goldenshadow.displayentityeditor.items.InventoryItems;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.BlockDisplay;
 import org.bukkit.entity.ItemDisplay;
@@ -15,6 +15,22 @@ import org.bukkit.inventory.ItemStack;
 
 public class InventoryFactory {
 
+    private static final GUIAction[] ITEM_DISPLAY_ACTIONS = actions(new GUIAction[] {
+            null, null, null, null, GUIAction.NAME, GUIAction.RIGHT_ROTATION_NORMALIZE, GUIAction.HEIGHT, GUIAction.SHADOW_RADIUS, GUIAction.SKY_LIGHT,
+            null, null, null, GUIAction.ITEM_DISPLAY_TRANSFORM, GUIAction.GLOW, GUIAction.LEFT_ROTATION_NORMALIZE, GUIAction.WIDTH, GUIAction.SHADOW_STRENGTH, GUIAction.BLOCK_LIGHT,
+            null, null, null, null, GUIAction.GLOW_COLOR, GUIAction.VIEW_RANGE, GUIAction.BILLBOARD, GUIAction.LOCK, GUIAction.DELETE
+    }, 10);
+    private static final GUIAction[] BLOCK_DISPLAY_ACTIONS = actions(new GUIAction[] {
+            null, null, null, null, GUIAction.NAME, GUIAction.RIGHT_ROTATION_NORMALIZE, GUIAction.HEIGHT, GUIAction.SHADOW_RADIUS, GUIAction.SKY_LIGHT,
+            null, null, GUIAction.BLOCK_STATE, null, GUIAction.GLOW, GUIAction.LEFT_ROTATION_NORMALIZE, GUIAction.WIDTH, GUIAction.SHADOW_STRENGTH, GUIAction.BLOCK_LIGHT,
+            null, null, null, null, GUIAction.GLOW_COLOR, GUIAction.VIEW_RANGE, GUIAction.BILLBOARD, GUIAction.LOCK, GUIAction.DELETE
+    }, 10);
+    private static final GUIAction[] TEXT_DISPLAY_ACTIONS = actions(new GUIAction[] {
+            null, null, GUIAction.TEXT_BACKGROUND_COLOR, GUIAction.TEXT_DEFAULT_BACKGROUND, GUIAction.NAME, GUIAction.RIGHT_ROTATION_NORMALIZE, GUIAction.HEIGHT, GUIAction.SHADOW_RADIUS, GUIAction.SKY_LIGHT,
+            null, GUIAction.TEXT, GUIAction.TEXT_BACKGROUND_OPACITY, GUIAction.TEXT_SEE_THROUGH, GUIAction.TEXT_OPACITY, GUIAction.LEFT_ROTATION_NORMALIZE, GUIAction.WIDTH, GUIAction.SHADOW_STRENGTH, GUIAction.BLOCK_LIGHT,
+            null, null, GUIAction.TEXT_ALIGNMENT, GUIAction.TEXT_SHADOW, GUIAction.TEXT_LINE_WIDTH, GUIAction.VIEW_RANGE, GUIAction.BILLBOARD, GUIAction.LOCK, GUIAction.DELETE
+    }, -1);
+
     private final GUIItems guiItems;
     private final InventoryItems inventoryItems;
 
@@ -40,6 +56,14 @@ public class InventoryFactory {
         return inventoryItems;
     }
 
+    /**
+     * Used to drop the cached templates of all items, so they get rebuilt from the current messages
+     */
+    public void clearItemTemplates() {
+        guiItems.clearTemplates();
+        inventoryItems.clearTemplates();
+    }
+
 
     /**
      * Used to create the gui for item displays
@@ -47,7 +71,7 @@ public class InventoryFactory {
      * @return The gui
      */
     public Inventory createItemDisplayGUI(ItemDisplay entity) {
-        Inventory inventory = Bukkit.createInventory(null, 27, ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("item_display_gui_name")));
+        Inventory inventory = new DisplayGUIHolder(entity, DisplayGUIHolder.Type.ITEM_DISPLAY, ITEM_DISPLAY_ACTIONS, ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("item_display_gui_name"))).getInventory();
         for (int i = 0; i < inventory.getSize(); i++) {
             switch (i) {
                 case 4 -> inventory.setItem(i, guiItems.name(entity.getCustomName()));
@@ -81,7 +105,7 @@ public class InventoryFactory {
      * @return The gui
      */
     public Inventory createBlockDisplayGUI(BlockDisplay entity) {
-        Inventory inventory = Bukkit.createInventory(null, 27, ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("block_display_gui_name")));
+        Inventory inventory = new DisplayGUIHolder(entity, DisplayGUIHolder.Type.BLOCK_DISPLAY, BLOCK_DISPLAY_ACTIONS, ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("block_display_gui_name"))).getInventory();
         for (int i = 0; i < inventory.getSize(); i++) {
             switch (i) {
                 case 4 -> inventory.setItem(i, guiItems.name(entity.getCustomName()));
@@ -117,7 +141,7 @@ public class InventoryFactory {
      */
     @SuppressWarnings("deprecation")
     public Inventory createTextDisplayGUI(TextDisplay entity) {
-        Inventory inventory = Bukkit.createInventory(null, 27, ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("text_display_gui_name")));
+        Inventory inventory = new DisplayGUIHolder(entity, DisplayGUIHolder.Type.TEXT_DISPLAY, TEXT_DISPLAY_ACTIONS, ChatColor.translateAlternateColorCodes('&' ,DisplayEntityEditor.messageManager.getString("text_display_gui_name"))).getInventory();
         for (int i = 0; i < inventory.getSize(); i++) {
             switch (i) {
                 case 2 -> inventory.setItem(i, guiItems.textBackgroundColor(entity.getBackgroundColor()));
@@ -150,6 +174,21 @@ public class InventoryFactory {
         return inventory;
     }
 
+    /**
+     * Used to fill the empty slots of a gui layout with filler
+     * @param actions The layout
+     * @param freeSlot A slot that should stay usable like a normal inventory slot, or -1 if there is none
+     * @return The layout
+     */
+    private static GUIAction[] actions(GUIAction[] actions, int freeSlot) {
+        for (int i = 0; i < actions.length; i++) {
+            if (actions[i] == null && i != freeSlot) {
+                actions[i] = GUIAction.FILLER;
+            }
+        }
+        return actions;
+    }
+
     /**
      * Used to generate an array of tools to be easily added to a players inventory
      * @return An array of tools
@@ -165,6 +204,7 @@ public class InventoryFactory {
         array[6] = inventoryItems.toolSelectionMultiple();
         array[5] = inventoryItems.toolSelectionRange(p);
         array[7] = inventoryItems.toolPrecision(p);
+        array[8] = inventoryItems.spawnPrefab();
 
         array[27] = inventoryItems.spawnItemDisplay();
         array[28] = inventoryItems.spawnBlockDisplay();
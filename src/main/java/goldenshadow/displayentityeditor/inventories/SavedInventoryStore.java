@@ -0,0 +1,192 @@
+package goldenshadow.displayentityeditor.inventories;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a copy of the inventories players have while they use the editor tools on disk, so they can be given back after a crash.
+ * <p>
+ * Changes are only queued on the main thread. They are written by an asynchronous task, which serialises the items and
+ * replaces the file of the player, so the main thread never waits for the disk. If a player saves and returns their inventory
+ * before the task runs, nothing is written at all.
+ */
+public class SavedInventoryStore {
+
+    private static final int MAGIC = 0x44454546; // "DEEF"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".inv";
+
+    /** Marks a player whose file should be deleted */
+    private static final ItemStack[] RETURNED = new ItemStack[0];
+
+    private final File folder;
+    private final Map<UUID, ItemStack[]> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, ItemStack[]> restores = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object writeLock = new Object();
+
+    /**
+     * Used to create a new store
+     * @param folder The folder the inventories are stored in
+     */
+    public SavedInventoryStore(File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Used to store the inventory of a player
+     * @param uuid The uuid of the player
+     * @param contents The contents of the inventory. They must not be changed afterwards
+     */
+    public void save(UUID uuid, ItemStack[] contents) {
+        pending.put(uuid, contents);
+        scheduleFlush();
+    }
+
+    /**
+     * Used to delete the stored inventory of a player, once it was given back
+     * @param uuid The uuid of the player
+     */
+    public void remove(UUID uuid) {
+        pending.put(uuid, RETURNED);
+        scheduleFlush();
+    }
+
+    /**
+     * Used to read the stored inventory of a player who is about to join, so it can be given back without waiting for the disk.
+     * Has to be called asynchronously.
+     * @param uuid The uuid of the player
+     */
+    public void prepareRestore(UUID uuid) {
+        try {
+            ItemStack[] contents = read(uuid);
+            if (contents == null) {
+                restores.remove(uuid);
+            } else {
+                restores.put(uuid, contents);
+            }
+        } catch (IOException e) {
+            restores.remove(uuid);
+            DisplayEntityEditor.getPlugin().getLogger().warning(DisplayEntityEditor.messageManager.format("inventory_store_fail", uuid, e.getMessage()));
+        }
+    }
+
+    /**
+     * Used to get the inventory that was read for a player by {@link #prepareRestore(UUID)}
+     * @param uuid The uuid of the player
+     * @return The contents of the inventory, or null if there is nothing to give back
+     */
+    public ItemStack[] takeRestore(UUID uuid) {
+        return restores.remove(uuid);
+    }
+
+    /**
+     * Used to read the stored inventory of a player. This waits for the disk, so it must not be called on the main thread,
+     * apart from when the plugin is disabled.
+     * @param uuid The uuid of the player
+     * @return The contents of the inventory, or null if the player has no stored inventory
+     * @throws IOException If the file could not be read
+     */
+    public ItemStack[] read(UUID uuid) throws IOException {
+        synchronized (writeLock) {
+            // A change that was not written yet is newer than the file
+            ItemStack[] queued = pending.get(uuid);
+            if (queued != null) {
+                return queued == RETURNED ? null : queued;
+            }
+            File file = getFile(uuid);
+            if (!file.isFile()) {
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+                    throw new IOException("Not a saved inventory");
+                }
+                ItemStack[] contents = new ItemStack[in.readInt()];
+                for (int i = 0; i < contents.length; i++) {
+                    int length = in.readInt();
+                    if (length >= 0) {
+                        byte[] bytes = new byte[length];
+                        in.readFully(bytes);
+                        contents[i] = ItemStack.deserializeBytes(bytes);
+                    }
+                }
+                return contents;
+            }
+        }
+    }
+
+    /**
+     * Used to write all queued changes right away, for example when the plugin is disabled
+     */
+    public void flush() {
+        flushScheduled.set(false);
+        synchronized (writeLock) {
+            for (UUID uuid : pending.keySet()) {
+                // Removed while holding the lock, so a reader always finds the newest inventory either here or in the file
+                ItemStack[] contents = pending.remove(uuid);
+                if (contents == null) {
+                    continue;
+                }
+                try {
+                    if (contents == RETURNED) {
+                        Files.deleteIfExists(getFile(uuid).toPath());
+                    } else {
+                        write(uuid, contents);
+                    }
+                } catch (IOException e) {
+                    DisplayEntityEditor.getPlugin().getLogger().warning(DisplayEntityEditor.messageManager.format("inventory_store_fail", uuid, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        // While the plugin is being disabled no tasks can be scheduled, the changes are flushed right after instead
+        if (DisplayEntityEditor.getPlugin().isEnabled() && flushScheduled.compareAndSet(false, true)) {
+            Scheduling.runAsync(this::flush);
+        }
+    }
+
+    /**
+     * Used to write an inventory next to the file of the player first and then move it over, so a crash while writing
+     * leaves the previous file intact
+     */
+    private void write(UUID uuid, ItemStack[] contents) throws IOException {
+        Path target = getFile(uuid).toPath();
+        Files.createDirectories(folder.toPath());
+        Path temp = Files.createTempFile(folder.toPath(), uuid.toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(contents.length);
+            for (ItemStack item : contents) {
+                if (item == null || item.isEmpty()) {
+                    out.writeInt(-1);
+                } else {
+                    byte[] bytes = item.serializeAsBytes();
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private File getFile(UUID uuid) {
+        return new File(folder, uuid + EXTENSION);
+    }
+}
@@ -21,6 +21,15 @@ import static java.util.Optional.ofNullable;
  */
 public class GUIItems {
 
+    private final ItemTemplates templates = new ItemTemplates();
+
+    /**
+     * Used to drop the cached item templates, so they get rebuilt from the current messages
+     */
+    public void clearTemplates() {
+        templates.clear();
+    }
+
     /**
      * Creates the rename gui item
      *
@@ -29,13 +38,7 @@ public class GUIItems {
      */
     public ItemStack name(String name) {
         if (name == null) name = DisplayEntityEditor.messageManager.getString("none");
-        ItemStack itemStack = new ItemStack(Material.NAME_TAG);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("name_name"),
-                DisplayEntityEditor.messageManager.getList("name_lore"),
-                "GUIName",
-                name
-        );
-        return itemStack;
+        return templates.create(Material.NAME_TAG, "name_name", "name_lore", "GUIName", name);
     }
 
     /**
@@ -45,13 +48,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack glowing(boolean current) {
-        ItemStack itemStack = new ItemStack(Material.SEA_LANTERN);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("glowing_name"),
-                DisplayEntityEditor.messageManager.getList("glowing_lore"),
-                "GUIGlow",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.SEA_LANTERN, "glowing_name", "glowing_lore", "GUIGlow", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -61,13 +58,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack glowColor(Color current) {
-        ItemStack itemStack = new ItemStack(Material.RED_DYE);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("glow_color_name"),
-                DisplayEntityEditor.messageManager.getList("glow_color_lore"),
-                "GUIGlowColor",
-                Utilities.getColor(current)
-        );
-        return itemStack;
+        return templates.create(Material.RED_DYE, "glow_color_name", "glow_color_lore", "GUIGlowColor", Utilities.getColor(current));
     }
 
     /**
@@ -77,13 +68,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack leftRotNormalize(boolean current) {
-        ItemStack itemStack = new ItemStack(Material.COMPASS);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("left_rotation_normalize_name"),
-                DisplayEntityEditor.messageManager.getList("rotation_normalize_lore"),
-                "GUILRNormalize",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.COMPASS, "left_rotation_normalize_name", "rotation_normalize_lore", "GUILRNormalize", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -93,13 +78,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack rightRotNormalize(boolean current) {
-        ItemStack itemStack = new ItemStack(Material.COMPASS);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("right_rotation_normalize_name"),
-                DisplayEntityEditor.messageManager.getList("rotation_normalize_lore"),
-                "GUIRRNormalize",
-                Boolean.toString(current)
-        );
-        return itemStack;
+        return templates.create(Material.COMPASS, "right_rotation_normalize_name", "rotation_normalize_lore", "GUIRRNormalize", Boolean.toString(current));
     }
 
     /**
@@ -109,13 +88,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack viewRange(float current) {
-        ItemStack itemStack = new ItemStack(Material.SPYGLASS);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("view_range_name"),
-                DisplayEntityEditor.messageManager.getList("view_range_lore"),
-                "GUIViewRange",
-                Float.toString(current)
-        );
-        return itemStack;
+        return templates.create(Material.SPYGLASS, "view_range_name", "view_range_lore", "GUIViewRange", Float.toString(current));
     }
 
     /**
@@ -125,13 +98,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack width(float current) {
-        ItemStack itemStack = new ItemStack(Material.ARROW);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("width_name"),
-                DisplayEntityEditor.messageManager.getList("width_lore"),
-                "GUIWidth",
-                Float.toString(current)
-        );
-        return itemStack;
+        return templates.create(Material.ARROW, "width_name", "width_lore", "GUIWidth", Float.toString(current));
     }
 
     /**
@@ -141,13 +108,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack height(float current) {
-        ItemStack itemStack = new ItemStack(Material.ARROW);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("height_name"),
-                DisplayEntityEditor.messageManager.getList("height_lore"),
-                "GUIHeight",
-                Float.toString(current)
-        );
-        return itemStack;
+        return templates.create(Material.ARROW, "height_name", "height_lore", "GUIHeight", Float.toString(current));
     }
 
     /**
@@ -157,13 +118,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack billboard(Display.Billboard current) {
-        ItemStack itemStack = new ItemStack(Material.PAINTING);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("billboard_name"),
-                DisplayEntityEditor.messageManager.getList("billboard_lore"),
-                "GUIBillboard",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.PAINTING, "billboard_name", "billboard_lore", "GUIBillboard", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -173,13 +128,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack shadowRadius(float current) {
-        ItemStack itemStack = new ItemStack(Material.COAL);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("shadow_radius_name"),
-                DisplayEntityEditor.messageManager.getList("shadow_radius_lore"),
-                "GUIShadowRadius",
-                Float.toString(current)
-        );
-        return itemStack;
+        return templates.create(Material.COAL, "shadow_radius_name", "shadow_radius_lore", "GUIShadowRadius", Float.toString(current));
     }
 
     /**
@@ -189,13 +138,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack shadowStrength(float current) {
-        ItemStack itemStack = new ItemStack(Material.FLINT);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("shadow_strength_name"),
-                DisplayEntityEditor.messageManager.getList("shadow_strength_lore"),
-                "GUIShadowStrength",
-                Float.toString(current)
-        );
-        return itemStack;
+        return templates.create(Material.FLINT, "shadow_strength_name", "shadow_strength_lore", "GUIShadowStrength", Float.toString(current));
     }
 
     /**
@@ -204,12 +147,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack lock() {
-        ItemStack itemStack = new ItemStack(Material.STRUCTURE_VOID);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("lock_name"),
-                DisplayEntityEditor.messageManager.getList("lock_lore"),
-                "GUILock"
-        );
-        return itemStack;
+        return templates.create(Material.STRUCTURE_VOID, "lock_name", "lock_lore", "GUILock");
     }
 
     /**
@@ -219,13 +157,10 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack skyLight(int current) {
-        ItemStack itemStack = new ItemStack(Material.LIGHT);
-        setBrightnessLevel(itemStack, current == -1 ? 0 : current);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("sky_light_name"),
-                DisplayEntityEditor.messageManager.getList("light_lore"),
-                "GUISkyLight",
+        ItemStack itemStack = templates.create(Material.LIGHT, "sky_light_name", "light_lore", "GUISkyLight",
                 (current == -1 ? DisplayEntityEditor.messageManager.getString("default") : String.valueOf(current))
         );
+        setBrightnessLevel(itemStack, current == -1 ? 0 : current);
         return itemStack;
     }
 
@@ -236,13 +171,10 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack blockLight(int current) {
-        ItemStack itemStack = new ItemStack(Material.LIGHT);
-        setBrightnessLevel(itemStack, current == -1 ? 0 : current);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("block_light_name"),
-                DisplayEntityEditor.messageManager.getList("light_lore"),
-                "GUIBlockLight",
+        ItemStack itemStack = templates.create(Material.LIGHT, "block_light_name", "light_lore", "GUIBlockLight",
                 (current == -1 ? DisplayEntityEditor.messageManager.getString("default") : String.valueOf(current))
         );
+        setBrightnessLevel(itemStack, current == -1 ? 0 : current);
         return itemStack;
     }
 
@@ -252,13 +184,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack delete() {
-        ItemStack itemStack = new ItemStack(Material.BARRIER);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("delete_name"),
-                DisplayEntityEditor.messageManager.getList("delete_lore"),
-                "GUIDelete"
-        );
-        return itemStack;
+        return templates.create(Material.BARRIER, "delete_name", "delete_lore", "GUIDelete");
     }
 
     /**
@@ -267,9 +193,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack filler() {
-        ItemStack itemStack = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-        Utilities.setMeta(itemStack, " ", new ArrayList<>(), "GUIFiller");
-        return itemStack;
+        return templates.create("GUIFiller", Material.BLACK_STAINED_GLASS_PANE, () -> " ", ArrayList::new, "GUIFiller");
     }
 
     /**
@@ -279,14 +203,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack itemDisplayTransform(ItemDisplay.ItemDisplayTransform current) {
-        ItemStack itemStack = new ItemStack(Material.ARMOR_STAND);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("item_display_transform_name"),
-                DisplayEntityEditor.messageManager.getList("item_display_transform_lore"),
-                "GUIItemDisplayTransform",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.ARMOR_STAND, "item_display_transform_name", "item_display_transform_lore", "GUIItemDisplayTransform", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -296,15 +213,8 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textOpacity(int current) {
-        ItemStack itemStack = new ItemStack(Material.DRAGON_BREATH);
         if (current < 0) current = 0;
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_opacity_name"),
-                DisplayEntityEditor.messageManager.getList("text_opacity_lore"),
-                "GUITextOpacity",
-                current
-        );
-        return itemStack;
+        return templates.create(Material.DRAGON_BREATH, "text_opacity_name", "text_opacity_lore", "GUITextOpacity", current);
     }
 
     /**
@@ -314,14 +224,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textLineWidth(int current) {
-        ItemStack itemStack = new ItemStack(Material.REPEATER);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_line_width_name"),
-                DisplayEntityEditor.messageManager.getList("text_line_width_lore"),
-                "GUITextLineWidth",
-                current
-        );
-        return itemStack;
+        return templates.create(Material.REPEATER, "text_line_width_name", "text_line_width_lore", "GUITextLineWidth", current);
     }
 
     /**
@@ -331,14 +234,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textDefaultBackground(boolean current) {
-        ItemStack itemStack = new ItemStack(Material.WHITE_STAINED_GLASS);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_default_background_name"),
-                DisplayEntityEditor.messageManager.getList("text_default_background_lore"),
-                "GUITextDefaultBackground",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.WHITE_STAINED_GLASS, "text_default_background_name", "text_default_background_lore", "GUITextDefaultBackground", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -348,14 +244,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textSeeThrough(boolean current) {
-        ItemStack itemStack = new ItemStack(Material.LIGHT_BLUE_STAINED_GLASS);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_see_through_name"),
-                DisplayEntityEditor.messageManager.getList("text_see_through_lore"),
-                "GUITextSeeThrough",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.LIGHT_BLUE_STAINED_GLASS, "text_see_through_name", "text_see_through_lore", "GUITextSeeThrough", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -365,14 +254,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textShadow(boolean current) {
-        ItemStack itemStack = new ItemStack(Material.BLACK_STAINED_GLASS);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_shadow_name"),
-                DisplayEntityEditor.messageManager.getList("text_shadow_lore"),
-                "GUITextShadow",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.BLACK_STAINED_GLASS, "text_shadow_name", "text_shadow_lore", "GUITextShadow", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -382,14 +264,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textBackgroundColor(Color current) {
-        ItemStack itemStack = new ItemStack(Material.RED_BANNER);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_background_color_name"),
-                DisplayEntityEditor.messageManager.getList("text_background_color_lore"),
-                "GUITextBackgroundColor",
-                Utilities.getColor(current)
-        );
-        return itemStack;
+        return templates.create(Material.RED_BANNER, "text_background_color_name", "text_background_color_lore", "GUITextBackgroundColor", Utilities.getColor(current));
     }
 
     /**
@@ -399,14 +274,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textBackgroundOpacity(Color current) {
-        ItemStack itemStack = new ItemStack(Material.END_CRYSTAL);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_background_opacity_name"),
-                DisplayEntityEditor.messageManager.getList("text_background_opacity_lore"),
-                "GUITextBackgroundOpacity",
-                ofNullable(current).map(Color::getAlpha).orElse(255)
-        );
-        return itemStack;
+        return templates.create(Material.END_CRYSTAL, "text_background_opacity_name", "text_background_opacity_lore", "GUITextBackgroundOpacity", ofNullable(current).map(Color::getAlpha).orElse(255));
     }
 
     /**
@@ -416,14 +284,7 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack textAlignment(TextDisplay.TextAlignment current) {
-        ItemStack itemStack = new ItemStack(Material.FILLED_MAP);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_alignment_name"),
-                DisplayEntityEditor.messageManager.getList("text_alignment_lore"),
-                "GUITextAlignment",
-                Utilities.getObjectNameMessage(current)
-        );
-        return itemStack;
+        return templates.create(Material.FILLED_MAP, "text_alignment_name", "text_alignment_lore", "GUITextAlignment", Utilities.getObjectNameMessage(current));
     }
 
     /**
@@ -433,13 +294,7 @@ public class GUIItems {
      * @implNote This item will not show the current text, as it could be very long and therefore be unreadable when displayed as item lore. If the user wants to see what text is currently being displayed, they should just close the gui for a second and read what's in front of them
      */
     public ItemStack text() {
-        ItemStack itemStack = new ItemStack(Material.OAK_SIGN);
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("text_name"),
-                DisplayEntityEditor.messageManager.getList("text_lore"),
-                "GUIText"
-        );
-        return itemStack;
+        return templates.create(Material.OAK_SIGN, "text_name", "text_lore", "GUIText");
     }
 
     /**
@@ -449,16 +304,8 @@ public class GUIItems {
      * @return The item
      */
     public ItemStack blockState(String current) {
-        ItemStack itemStack = new ItemStack(Material.CHEST_MINECART);
-
         String currentState = current.contains("[") ? current.substring(current.indexOf('['), current.indexOf(']') + 1) : "[]";
-
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("block_state_name"),
-                DisplayEntityEditor.messageManager.getList("block_state_lore"),
-                "GUIBlockState",
-                currentState
-        );
-        return itemStack;
+        return templates.create(Material.CHEST_MINECART, "block_state_name", "block_state_lore", "GUIBlockState", currentState);
     }
 
     /**
@@ -5,6 +5,7 @@ import goldenshadow.displayentityeditor.SelectionMode;
 import goldenshadow.displayentityeditor.Utilities;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -15,17 +16,21 @@ import org.bukkit.inventory.ItemStack;
  */
 public class InventoryItems {
 
+    private final ItemTemplates templates = new ItemTemplates();
+
+    /**
+     * Used to drop the cached item templates, so they get rebuilt from the current messages
+     */
+    public void clearTemplates() {
+        templates.clear();
+    }
+
     /**
      * Creates the open gui item
      * @return The item
      */
     public ItemStack gui() {
-        ItemStack itemStack = new ItemStack(Material.NETHER_STAR);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("open_gui_name"),
-                DisplayEntityEditor.messageManager.getList("open_gui_lore"),
-                "InventoryGUI"
-                );
-        return itemStack;
+        return templates.create(Material.NETHER_STAR, "open_gui_name", "open_gui_lore", "InventoryGUI");
     }
 
     /**
@@ -33,13 +38,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack rotateYaw(Player p) {
-        ItemStack itemStack = new ItemStack(Material.MAGMA_CREAM);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("rotate_yaw_name"),
-                DisplayEntityEditor.messageManager.getList("rotate_lore"),
-                "InventoryRotateYaw",
-                Utilities.reduceFloatLength(Double.toString(Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.MAGMA_CREAM, "rotate_yaw_name", "rotate_lore", "InventoryRotateYaw", precision(p));
     }
 
     /**
@@ -47,13 +46,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack rotatePitch(Player p) {
-        ItemStack itemStack = new ItemStack(Material.SLIME_BALL);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("rotate_pitch_name"),
-                DisplayEntityEditor.messageManager.getList("rotate_lore"),
-                "InventoryRotatePitch",
-                Utilities.reduceFloatLength(Double.toString(Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.SLIME_BALL, "rotate_pitch_name", "rotate_lore", "InventoryRotatePitch", precision(p));
     }
 
     /**
@@ -61,13 +54,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack moveX(Player p) {
-        ItemStack itemStack = new ItemStack(Material.SHEARS);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("move_x_name"),
-                DisplayEntityEditor.messageManager.getList("move_lore"),
-                "InventoryMoveX",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.SHEARS, "move_x_name", "move_lore", "InventoryMoveX", step(p));
     }
 
     /**
@@ -75,13 +62,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack moveY(Player p) {
-        ItemStack itemStack = new ItemStack(Material.SHEARS);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("move_y_name"),
-                DisplayEntityEditor.messageManager.getList("move_lore"),
-                "InventoryMoveY",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.SHEARS, "move_y_name", "move_lore", "InventoryMoveY", step(p));
     }
 
     /**
@@ -89,13 +70,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack moveZ(Player p) {
-        ItemStack itemStack = new ItemStack(Material.SHEARS);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("move_z_name"),
-                DisplayEntityEditor.messageManager.getList("move_lore"),
-                "InventoryMoveZ",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.SHEARS, "move_z_name", "move_lore", "InventoryMoveZ", step(p));
     }
 
     /**
@@ -103,12 +78,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack spawnItemDisplay() {
-        ItemStack itemStack = new ItemStack(Material.DIAMOND);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("spawn_item_display_name"),
-                DisplayEntityEditor.messageManager.getList("spawn_item_display_lore"),
-                "InventorySpawnItem"
-        );
-        return itemStack;
+        return templates.create(Material.DIAMOND, "spawn_item_display_name", "spawn_item_display_lore", "InventorySpawnItem");
     }
 
     /**
@@ -116,12 +86,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack spawnBlockDisplay() {
-        ItemStack itemStack = new ItemStack(Material.GRASS_BLOCK);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("spawn_block_display_name"),
-                DisplayEntityEditor.messageManager.getList("spawn_block_display_lore"),
-                "InventorySpawnBlock"
-        );
-        return itemStack;
+        return templates.create(Material.GRASS_BLOCK, "spawn_block_display_name", "spawn_block_display_lore", "InventorySpawnBlock");
     }
 
     /**
@@ -129,12 +94,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack spawnTextDisplay() {
-        ItemStack itemStack = new ItemStack(Material.OAK_SIGN);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("spawn_text_display_name"),
-                DisplayEntityEditor.messageManager.getList("spawn_text_display_lore"),
-                "InventorySpawnText"
-        );
-        return itemStack;
+        return templates.create(Material.OAK_SIGN, "spawn_text_display_name", "spawn_text_display_lore", "InventorySpawnText");
     }
 
     /**
@@ -142,12 +102,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack unlock() {
-        ItemStack itemStack = new ItemStack(Material.MUSIC_DISC_11);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("unlock_name"),
-                DisplayEntityEditor.messageManager.getList("unlock_lore"),
-                "InventoryUnlock"
-        );
-        return itemStack;
+        return templates.create(Material.MUSIC_DISC_11, "unlock_name", "unlock_lore", "InventoryUnlock");
     }
 
     /**
@@ -155,12 +110,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack highlightTarget() {
-        ItemStack itemStack = new ItemStack(Material.GLOWSTONE_DUST);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("highlight_target_name"),
-                DisplayEntityEditor.messageManager.getList("highlight_target_lore"),
-                "InventoryHighlight"
-        );
-        return itemStack;
+        return templates.create(Material.GLOWSTONE_DUST, "highlight_target_name", "highlight_target_lore", "InventoryHighlight");
     }
 
     /**
@@ -168,13 +118,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack leftRotationX(Player p) {
-        ItemStack itemStack = new ItemStack(Material.STICK);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("left_rotation_x_name"),
-                DisplayEntityEditor.messageManager.getList("left_rotation_lore"),
-                "InventoryLRX",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.STICK, "left_rotation_x_name", "left_rotation_lore", "InventoryLRX", step(p));
     }
 
     /**
@@ -182,13 +126,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack leftRotationY(Player p) {
-        ItemStack itemStack = new ItemStack(Material.STICK);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("left_rotation_y_name"),
-                DisplayEntityEditor.messageManager.getList("left_rotation_lore"),
-                "InventoryLRY",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.STICK, "left_rotation_y_name", "left_rotation_lore", "InventoryLRY", step(p));
     }
 
     /**
@@ -196,13 +134,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack leftRotationZ(Player p) {
-        ItemStack itemStack = new ItemStack(Material.STICK);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("left_rotation_z_name"),
-                DisplayEntityEditor.messageManager.getList("left_rotation_lore"),
-                "InventoryLRZ",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.STICK, "left_rotation_z_name", "left_rotation_lore", "InventoryLRZ", step(p));
     }
 
     /**
@@ -210,13 +142,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack rightRotationX(Player p) {
-        ItemStack itemStack = new ItemStack(Material.BLAZE_ROD);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("right_rotation_x_name"),
-                DisplayEntityEditor.messageManager.getList("right_rotation_lore"),
-                "InventoryRRX",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.BLAZE_ROD, "right_rotation_x_name", "right_rotation_lore", "InventoryRRX", step(p));
     }
 
     /**
@@ -224,13 +150,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack rightRotationY(Player p) {
-        ItemStack itemStack = new ItemStack(Material.BLAZE_ROD);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("right_rotation_y_name"),
-                DisplayEntityEditor.messageManager.getList("right_rotation_lore"),
-                "InventoryRRY",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.BLAZE_ROD, "right_rotation_y_name", "right_rotation_lore", "InventoryRRY", step(p));
     }
 
     /**
@@ -238,13 +158,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack rightRotationZ(Player p) {
-        ItemStack itemStack = new ItemStack(Material.BLAZE_ROD);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("right_rotation_z_name"),
-                DisplayEntityEditor.messageManager.getList("right_rotation_lore"),
-                "InventoryRRZ",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.BLAZE_ROD, "right_rotation_z_name", "right_rotation_lore", "InventoryRRZ", step(p));
     }
 
     /**
@@ -252,12 +166,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack centerPivot() {
-        ItemStack itemStack = new ItemStack(Material.CHAIN_COMMAND_BLOCK);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("center_pivot_name"),
-                DisplayEntityEditor.messageManager.getList("center_pivot_lore"),
-                "InventoryCenterPivot"
-        );
-        return itemStack;
+        return templates.create(Material.CHAIN_COMMAND_BLOCK, "center_pivot_name", "center_pivot_lore", "InventoryCenterPivot");
     }
 
     /**
@@ -265,13 +174,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack translationX(Player p) {
-        ItemStack itemStack = new ItemStack(Material.NETHERITE_SCRAP);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("translation_x_name"),
-                DisplayEntityEditor.messageManager.getList("translation_lore"),
-                "InventoryTX",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.NETHERITE_SCRAP, "translation_x_name", "translation_lore", "InventoryTX", step(p));
     }
 
     /**
@@ -279,13 +182,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack translationY(Player p) {
-        ItemStack itemStack = new ItemStack(Material.NETHERITE_SCRAP);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("translation_y_name"),
-                DisplayEntityEditor.messageManager.getList("translation_lore"),
-                "InventoryTY",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.NETHERITE_SCRAP, "translation_y_name", "translation_lore", "InventoryTY", step(p));
     }
 
     /**
@@ -293,13 +190,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack translationZ(Player p) {
-        ItemStack itemStack = new ItemStack(Material.NETHERITE_SCRAP);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("translation_z_name"),
-                DisplayEntityEditor.messageManager.getList("translation_lore"),
-                "InventoryTZ",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.NETHERITE_SCRAP, "translation_z_name", "translation_lore", "InventoryTZ", step(p));
     }
 
     /**
@@ -307,13 +198,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack scaleX(Player p) {
-        ItemStack itemStack = new ItemStack(Material.SHULKER_SHELL);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("scale_x_name"),
-                DisplayEntityEditor.messageManager.getList("scale_lore"),
-                "InventorySX",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.SHULKER_SHELL, "scale_x_name", "scale_lore", "InventorySX", step(p));
     }
 
     /**
@@ -321,13 +206,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack scaleY(Player p) {
-        ItemStack itemStack = new ItemStack(Material.SHULKER_SHELL);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("scale_y_name"),
-                DisplayEntityEditor.messageManager.getList("scale_lore"),
-                "InventorySY",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.SHULKER_SHELL, "scale_y_name", "scale_lore", "InventorySY", step(p));
     }
 
     /**
@@ -335,13 +214,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack scaleZ(Player p) {
-        ItemStack itemStack = new ItemStack(Material.SHULKER_SHELL);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("scale_z_name"),
-                DisplayEntityEditor.messageManager.getList("scale_lore"),
-                "InventorySZ",
-                Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)))
-        );
-        return itemStack;
+        return templates.create(Material.SHULKER_SHELL, "scale_z_name", "scale_lore", "InventorySZ", step(p));
     }
 
     /**
@@ -349,12 +222,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack centerOnBlock() {
-        ItemStack itemStack = new ItemStack(Material.LIGHTNING_ROD);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("center_on_block_name"),
-                DisplayEntityEditor.messageManager.getList("center_on_block_lore"),
-                "InventoryCenterBlock"
-        );
-        return itemStack;
+        return templates.create(Material.LIGHTNING_ROD, "center_on_block_name", "center_on_block_lore", "InventoryCenterBlock");
     }
 
     /**
@@ -362,14 +230,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack toolPrecision(Player p) {
-        float precision = Utilities.getToolPrecision(p);
-        ItemStack itemStack = new ItemStack(Material.COMPARATOR);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("tool_precision_name"),
-                DisplayEntityEditor.messageManager.getList("tool_precision_lore"),
-                "InventoryToolPrecision",
-                Utilities.reduceFloatLength(Double.toString(precision < 1 ? 0.1f : 1f))
-        );
-        return itemStack;
+        return templates.create(Material.COMPARATOR, "tool_precision_name", "tool_precision_lore", "InventoryToolPrecision", precisionStep(p));
     }
 
     /**
@@ -377,19 +238,14 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack toolSelectionMode(Player p) {
-        ItemStack itemStack = new ItemStack(Material.RECOVERY_COMPASS);
         SelectionMode mode = Utilities.getToolSelectMode(p);
-        ArrayList<String> lore = new ArrayList<>();
-        lore.addAll(DisplayEntityEditor.messageManager.getList("tool_selection_mode_lore_start"));
-        lore.addAll(DisplayEntityEditor.messageManager.getList("tool_selection_mode_description_" + mode.id()));
-        lore.addAll(DisplayEntityEditor.messageManager.getList("tool_selection_mode_lore_end"));
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("tool_selection_mode_name"),
-                lore,
+        return templates.create("InventoryToolSelectionMode:" + mode.id(), Material.RECOVERY_COMPASS,
+                () -> DisplayEntityEditor.messageManager.getString("tool_selection_mode_name"),
+                () -> selectionModeLore(mode),
                 "InventoryToolSelectionMode",
                 Utilities.getObjectNameMessage(mode),
-                Utilities.reduceFloatLength(Double.toString(Utilities.getToolSelectRange(p)))
+                range(p)
         );
-        return itemStack;
     }
 
     /**
@@ -397,14 +253,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack toolSelectionRange(Player p) {
-        float range = Utilities.getToolSelectRange(p);
-        ItemStack itemStack = new ItemStack(Material.SPECTRAL_ARROW);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("tool_selection_range_name"),
-                DisplayEntityEditor.messageManager.getList("tool_selection_range_lore"),
-                "InventoryToolSelectionRange",
-                Utilities.reduceFloatLength(Double.toString(range < 2 ? 0.25f : 1f))
-        );
-        return itemStack;
+        return templates.create(Material.SPECTRAL_ARROW, "tool_selection_range_name", "tool_selection_range_lore", "InventoryToolSelectionRange", rangeStep(p));
     }
 
     /**
@@ -412,12 +261,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack toolSearchMode() {
-        ItemStack itemStack = new ItemStack(Material.CLOCK);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("tool_selection_search_mode_name"),
-                DisplayEntityEditor.messageManager.getList("tool_selection_search_mode_lore"),
-                "InventoryToolSelectionSearchMode"
-        );
-        return itemStack;
+        return templates.create(Material.CLOCK, "tool_selection_search_mode_name", "tool_selection_search_mode_lore", "InventoryToolSelectionSearchMode");
     }
 
     /**
@@ -425,12 +269,7 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack toolSelectionMultiple() {
-        ItemStack itemStack = new ItemStack(Material.CHEST);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("tool_selection_multiple_name"),
-                DisplayEntityEditor.messageManager.getList("tool_selection_multiple_lore"),
-                "InventoryToolSelectionMultiple"
-        );
-        return itemStack;
+        return templates.create(Material.CHEST, "tool_selection_multiple_name", "tool_selection_multiple_lore", "InventoryToolSelectionMultiple");
     }
 
     /**
@@ -438,12 +277,15 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack cloneTool() {
-        ItemStack itemStack = new ItemStack(Material.FLOWER_BANNER_PATTERN);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("clone_tool_name"),
-                DisplayEntityEditor.messageManager.getList("clone_tool_lore"),
-                "InventoryClone"
-        );
-        return itemStack;
+        return templates.create(Material.FLOWER_BANNER_PATTERN, "clone_tool_name", "clone_tool_lore", "InventoryClone");
+    }
+
+    /**
+     * Creates the spawn prefab item
+     * @return The item
+     */
+    public ItemStack spawnPrefab() {
+        return templates.create(Material.ARMOR_STAND, "spawn_prefab_name", "spawn_prefab_lore", "InventorySpawnPrefab");
     }
 
     /**
@@ -451,12 +293,115 @@ public class InventoryItems {
      * @return The item
      */
     public ItemStack groupSelectTool(Player p) {
-        ItemStack itemStack = new ItemStack(Material.MINECART);
-        Utilities.setMeta(itemStack, DisplayEntityEditor.messageManager.getString("group_select_name"),
-                DisplayEntityEditor.messageManager.getList("group_select_lore"),
-                "InventoryGroupSelect",
-                Utilities.reduceFloatLength(Double.toString(Utilities.getToolSelectRange(p)))
-        );
-        return itemStack;
+        return templates.create(Material.MINECART, "group_select_name", "group_select_lore", "InventoryGroupSelect", range(p));
+    }
+
+    /**
+     * Creates the lore of the rotate yaw and rotate pitch items
+     * @return The lore
+     */
+    public List<String> rotateLore(Player p) {
+        return templates.lore("rotate_lore", precision(p));
+    }
+
+    /**
+     * Creates the lore of the move items
+     * @return The lore
+     */
+    public List<String> moveLore(Player p) {
+        return templates.lore("move_lore", step(p));
+    }
+
+    /**
+     * Creates the lore of the left rotation items
+     * @return The lore
+     */
+    public List<String> leftRotationLore(Player p) {
+        return templates.lore("left_rotation_lore", step(p));
+    }
+
+    /**
+     * Creates the lore of the right rotation items
+     * @return The lore
+     */
+    public List<String> rightRotationLore(Player p) {
+        return templates.lore("right_rotation_lore", step(p));
+    }
+
+    /**
+     * Creates the lore of the translation items
+     * @return The lore
+     */
+    public List<String> translationLore(Player p) {
+        return templates.lore("translation_lore", step(p));
+    }
+
+    /**
+     * Creates the lore of the scale items
+     * @return The lore
+     */
+    public List<String> scaleLore(Player p) {
+        return templates.lore("scale_lore", step(p));
+    }
+
+    /**
+     * Creates the lore of the tool precision item
+     * @return The lore
+     */
+    public List<String> toolPrecisionLore(Player p) {
+        return templates.lore("tool_precision_lore", precisionStep(p));
+    }
+
+    /**
+     * Creates the lore of the tool selection mode item
+     * @return The lore
+     */
+    public List<String> toolSelectionModeLore(Player p) {
+        SelectionMode mode = Utilities.getToolSelectMode(p);
+        return templates.lore("InventoryToolSelectionMode:" + mode.id(), () -> selectionModeLore(mode), Utilities.getObjectNameMessage(mode), range(p));
+    }
+
+    /**
+     * Creates the lore of the tool selection range item
+     * @return The lore
+     */
+    public List<String> toolSelectionRangeLore(Player p) {
+        return templates.lore("tool_selection_range_lore", rangeStep(p));
+    }
+
+    /**
+     * Creates the lore of the group select item
+     * @return The lore
+     */
+    public List<String> groupSelectLore(Player p) {
+        return templates.lore("group_select_lore", range(p));
+    }
+
+    private static List<String> selectionModeLore(SelectionMode mode) {
+        ArrayList<String> lore = new ArrayList<>();
+        lore.addAll(DisplayEntityEditor.messageManager.getList("tool_selection_mode_lore_start"));
+        lore.addAll(DisplayEntityEditor.messageManager.getList("tool_selection_mode_description_" + mode.id()));
+        lore.addAll(DisplayEntityEditor.messageManager.getList("tool_selection_mode_lore_end"));
+        return lore;
+    }
+
+    private static String precision(Player p) {
+        return Utilities.reduceFloatLength(Double.toString(Utilities.getToolPrecision(p)));
+    }
+
+    private static String step(Player p) {
+        return Utilities.reduceFloatLength(Double.toString(0.1 * Utilities.getToolPrecision(p)));
+    }
+
+    private static String precisionStep(Player p) {
+        return Utilities.reduceFloatLength(Double.toString(Utilities.getToolPrecision(p) < 1 ? 0.1f : 1f));
+    }
+
+    private static String range(Player p) {
+        return Utilities.reduceFloatLength(Double.toString(Utilities.getToolSelectRange(p)));
+    }
+
+    private static String rangeStep(Player p) {
+        return Utilities.reduceFloatLength(Double.toString(Utilities.getToolSelectRange(p) < 2 ? 0.25f : 1f));
     }
 }
@@ -0,0 +1,130 @@
+package goldenshadow.displayentityeditor.items;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Utilities;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the parts of tool and gui items that only change when the messages are reloaded (material, translated name and lore,
+ * flags and the tool tag), so that creating an item only has to fill in the placeholders of its lore.
+ * On Folia items are created by the regions of several players at once, so the caches are concurrent maps.
+ */
+public class ItemTemplates {
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> lore = new ConcurrentHashMap<>();
+
+    /**
+     * Used to create an item from a cached template
+     * @param material The material of the item
+     * @param nameKey The message key of the name
+     * @param loreKey The message key of the lore
+     * @param data The tool tag of the item, also used as the key of the template
+     * @param formatData Data that should be used to format the lore
+     * @return A new item
+     */
+    public ItemStack create(Material material, String nameKey, String loreKey, String data, Object... formatData) {
+        return create(data, material, () -> DisplayEntityEditor.messageManager.getString(nameKey), () -> DisplayEntityEditor.messageManager.getList(loreKey), data, formatData);
+    }
+
+    /**
+     * Used to create an item from a cached template
+     * @param key The key of the template
+     * @param material The material of the item
+     * @param name Supplies the untranslated name if the template has to be built
+     * @param lore Supplies the untranslated lore if the template has to be built
+     * @param data The tool tag of the item
+     * @param formatData Data that should be used to format the lore
+     * @return A new item
+     */
+    public ItemStack create(String key, Material material, Supplier<String> name, Supplier<List<String>> lore, String data, Object... formatData) {
+        Template template = templates.get(key);
+        if (template == null) {
+            template = templates.computeIfAbsent(key, k -> new Template(material, name.get(), lore.get(), data));
+        }
+        return template.create(formatData);
+    }
+
+    /**
+     * Used to format a cached lore without creating an item, for example to update the lore of an item that already exists
+     * @param loreKey The message key of the lore
+     * @param formatData Data that should be used to format the lore
+     * @return The translated and formatted lore
+     */
+    public List<String> lore(String loreKey, Object... formatData) {
+        return lore(loreKey, () -> DisplayEntityEditor.messageManager.getList(loreKey), formatData);
+    }
+
+    /**
+     * Used to format a cached lore without creating an item, for example to update the lore of an item that already exists
+     * @param key The key the translated lore is cached under
+     * @param lore Supplies the untranslated lore if it has to be translated
+     * @param formatData Data that should be used to format the lore
+     * @return The translated and formatted lore
+     */
+    public List<String> lore(String key, Supplier<List<String>> lore, Object... formatData) {
+        List<String> translated = this.lore.get(key);
+        if (translated == null) {
+            translated = this.lore.computeIfAbsent(key, k -> translate(lore.get()));
+        }
+        return format(translated, formatData);
+    }
+
+    /**
+     * Used to drop all templates, for example after the messages were reloaded
+     */
+    public void clear() {
+        templates.clear();
+        lore.clear();
+    }
+
+    private static List<String> translate(List<String> lore) {
+        List<String> translated = new ArrayList<>(lore.size());
+        for (String line : lore) {
+            translated.add(ChatColor.translateAlternateColorCodes('&', line));
+        }
+        return List.copyOf(translated);
+    }
+
+    private static List<String> format(List<String> lore, Object... formatData) {
+        List<String> formatted = new ArrayList<>(lore.size());
+        for (String line : lore) {
+            formatted.add(line.formatted(formatData));
+        }
+        return formatted;
+    }
+
+    /**
+     * A prebuilt item together with its translated but unformatted lore
+     */
+    private static class Template {
+
+        private final ItemStack base;
+        private final List<String> lore;
+
+        private Template(Material material, String name, List<String> lore, String data) {
+            this.lore = translate(lore);
+            this.base = new ItemStack(material);
+            Utilities.setMeta(base, name, new ArrayList<>(lore), data);
+        }
+
+        private ItemStack create(Object... formatData) {
+            ItemStack item = base.clone();
+            if (formatData.length > 0) {
+                ItemMeta meta = item.getItemMeta();
+                meta.setLore(format(lore, formatData));
+                item.setItemMeta(meta);
+            }
+            return item;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package goldenshadow.displayentityeditor.prefabs;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The contents of the index file of a {@link PrefabLibrary}: which pack file the prefabs are in, and where each of them starts.
+ * <p>
+ * The file starts with {@link #MAGIC} and the format version. Since version 2 the name of the pack file follows, indexes
+ * written before packs could be compacted always belong to the default pack. Then come the amount of prefabs and, for every prefab,
+ * its name, offset, length and amount of entries.
+ * @param pack The name of the pack file, or null if the index is from before packs had names
+ * @param prefabs The prefabs, in the order they were saved
+ */
+record PrefabIndex(String pack, List<PrefabLibrary.Prefab> prefabs) {
+
+    static final int MAGIC = 0x44454549; // "DEEI"
+    static final int VERSION = 2;
+
+    /**
+     * Used to read an index through a memory-mapped file
+     * @param file The index file
+     * @return The index
+     * @throws IOException If the file is not an index, its version is not supported or it is cut off
+     */
+    static PrefabIndex read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 10 || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a prefab index");
+            }
+            int version = buffer.getShort() & 0xFFFF;
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Unsupported prefab index version " + version);
+            }
+            String pack = version >= 2 ? readName(buffer) : null;
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IOException("Corrupt prefab index: " + count + " prefabs");
+            }
+            List<PrefabLibrary.Prefab> prefabs = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                prefabs.add(new PrefabLibrary.Prefab(readName(buffer), buffer.getLong(), buffer.getInt(), buffer.getInt()));
+            }
+            return new PrefabIndex(pack, prefabs);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Prefab index is cut off");
+        }
+    }
+
+    /**
+     * Used to replace an index. The new index is written next to it first, so a crash never leaves half an index behind.
+     * @param file The index file
+     * @param pack The name of the pack file the prefabs are in
+     * @param prefabs The prefabs
+     * @throws IOException If writing failed
+     */
+    static void write(Path file, String pack, Collection<PrefabLibrary.Prefab> prefabs) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "prefabs", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                writeName(out, pack);
+                out.writeInt(prefabs.size());
+                for (PrefabLibrary.Prefab prefab : prefabs) {
+                    writeName(out, prefab.name());
+                    out.writeLong(prefab.offset());
+                    out.writeInt(prefab.length());
+                    out.writeInt(prefab.entries());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String readName(MappedByteBuffer buffer) {
+        byte[] name = new byte[buffer.get() & 0xFF];
+        buffer.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Names are stored with a single byte as their length, which prefab names and pack names always fit in
+     */
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 255) {
+            throw new IOException("Name is too long for the prefab index: " + name);
+        }
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+}
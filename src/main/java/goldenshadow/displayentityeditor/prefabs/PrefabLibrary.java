@@ -0,0 +1,384 @@
+package goldenshadow.displayentityeditor.prefabs;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.builds.BuildEntry;
+import goldenshadow.displayentityeditor.builds.BuildReader;
+import goldenshadow.displayentityeditor.builds.BuildWriter;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A library of prefabs, which are builds that can be placed with the prefab tool.
+ * <p>
+ * All prefabs are stored in one pack file, one after another in the build format. Saving a prefab only ever appends to it,
+ * so a prefab that is replaced leaves its old bytes behind. Once those make up more than half of the pack, the pack is
+ * rewritten without them when the plugin starts. Where each prefab starts, and which pack file it is in, is stored in a separate
+ * index file (see {@link PrefabIndex}), which is small enough to be read through a memory-mapped file when the plugin starts, even with a lot of prefabs in the library.
+ * The prefabs themselves are only read once they are placed, and are then kept in a cache that holds up to the configured
+ * amount of displays and drops the prefabs that were used the longest time ago first.
+ * <p>
+ * On Folia the library is used by the regions of the players placing prefabs and by the global region at once,
+ * so everything that touches the prefabs or the cache is synchronized.
+ */
+public class PrefabLibrary {
+
+    private static final String PACK_PREFIX = "prefabs";
+    private static final String PACK_SUFFIX = ".pack";
+    /** The amount of unused bytes the pack needs to have before it is compacted, so small packs are left alone */
+    private static final long COMPACT_THRESHOLD = 1 << 20;
+
+    private final Path folder;
+    private final Path indexFile;
+    /** The pack file the index points at, which only changes while the library is loaded */
+    private volatile Path packFile;
+
+    /** The prefabs that can be placed, guarded by this library */
+    private final Map<String, Prefab> prefabs = new HashMap<>();
+    private final LinkedHashMap<String, List<BuildEntry>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private int cachedEntries;
+
+    /** The prefabs that were written to the index file, only used by the thread currently saving a prefab */
+    private final Map<String, Prefab> written = new LinkedHashMap<>();
+    private final Object writeLock = new Object();
+
+    /**
+     * Used to create a new prefab library
+     * @param folder The folder the pack and index file are stored in
+     */
+    public PrefabLibrary(File folder) {
+        this.folder = folder.toPath();
+        this.packFile = this.folder.resolve(PACK_PREFIX + PACK_SUFFIX);
+        this.indexFile = this.folder.resolve("prefabs.index");
+    }
+
+    /**
+     * Used to read the index of the library, and to compact the pack if too much of it is unused. The prefabs themselves are not read.
+     * @throws IOException If the index exists but could not be read
+     */
+    public void load() throws IOException {
+        synchronized (this) {
+            prefabs.clear();
+            clearCache();
+        }
+        synchronized (writeLock) {
+            written.clear();
+            packFile = folder.resolve(PACK_PREFIX + PACK_SUFFIX);
+            if (!Files.isRegularFile(indexFile)) {
+                return;
+            }
+            PrefabIndex index = PrefabIndex.read(indexFile);
+            // Indexes written before packs could be compacted always belong to the default pack
+            if (index.pack() != null) {
+                packFile = folder.resolve(index.pack());
+            }
+            long packSize = Files.isRegularFile(packFile) ? Files.size(packFile) : 0;
+            for (Prefab prefab : index.prefabs()) {
+                // A prefab whose body never made it into the pack, for example because the server crashed while saving it
+                if (prefab.offset() >= 0 && prefab.length() > 0 && prefab.offset() + prefab.length() <= packSize) {
+                    written.put(prefab.name(), prefab);
+                }
+            }
+            deleteUnusedPacks();
+            long used = 0;
+            for (Prefab prefab : written.values()) {
+                used += prefab.length();
+            }
+            if (packSize - used > COMPACT_THRESHOLD && packSize - used > used) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    DisplayEntityEditor.getPlugin().getLogger().warning(DisplayEntityEditor.messageManager.format("prefab_compact_fail", e.getMessage()));
+                }
+            }
+            synchronized (this) {
+                prefabs.putAll(written);
+            }
+        }
+    }
+
+    /**
+     * Used to check if there is a prefab with a specific name
+     * @param name The name
+     * @return True if there is, otherwise false
+     */
+    public synchronized boolean contains(String name) {
+        return prefabs.containsKey(name);
+    }
+
+    /**
+     * Used to get the names of all prefabs
+     * @return A copy of the names, as the prefabs can change on another thread
+     */
+    public synchronized Set<String> getNames() {
+        return Set.copyOf(prefabs.keySet());
+    }
+
+    /**
+     * Used to save displays as a prefab. The displays are read right away, the prefab is written asynchronously.
+     * A prefab with the same name is replaced.
+     * @param name The name of the prefab
+     * @param displays The displays
+     * @param anchor The location the position of the displays should be stored relative to
+     * @return A future that is completed on the main thread (the global region on Folia) with the amount of displays saved, once the prefab can be placed
+     */
+    public CompletableFuture<Integer> save(String name, Collection<Display> displays, Location anchor) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int count;
+        try (BuildWriter writer = new BuildWriter(bytes)) {
+            for (Display display : displays) {
+                if (display.isValid()) {
+                    DisplayEntityEditor.getPlugin().getMotionSmoother().commit(display);
+                    writer.write(BuildEntry.of(display, anchor));
+                }
+            }
+            count = writer.getWritten();
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        Scheduling.runAsync(() -> {
+            Prefab prefab;
+            try {
+                prefab = append(name, bytes.toByteArray(), count);
+            } catch (IOException e) {
+                Scheduling.run(() -> future.completeExceptionally(e));
+                return;
+            }
+            Scheduling.run(() -> {
+                synchronized (this) {
+                    prefabs.put(name, prefab);
+                    uncache(name);
+                }
+                future.complete(count);
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Used to get the entries of a prefab. If the prefab is not cached, it is read asynchronously.
+     * @param name The name of the prefab
+     * @return A future that is completed on the main thread (the global region on Folia) with the entries, or with a {@link FileNotFoundException} if there is no such prefab
+     */
+    public CompletableFuture<List<BuildEntry>> get(String name) {
+        Prefab prefab;
+        synchronized (this) {
+            // Getting an entry changes the order of the cache, so even a hit has to hold the lock
+            List<BuildEntry> cached = cache.get(name);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            prefab = prefabs.get(name);
+        }
+        CompletableFuture<List<BuildEntry>> future = new CompletableFuture<>();
+        if (prefab == null) {
+            future.completeExceptionally(new FileNotFoundException(name));
+            return future;
+        }
+        Scheduling.runAsync(() -> {
+            List<BuildEntry> entries;
+            try {
+                entries = read(prefab);
+            } catch (IOException e) {
+                Scheduling.run(() -> future.completeExceptionally(e));
+                return;
+            }
+            Scheduling.run(() -> {
+                synchronized (this) {
+                    // The prefab might have been replaced while it was read
+                    if (prefabs.get(name) == prefab) {
+                        cache(name, entries);
+                    }
+                }
+                future.complete(entries);
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Used to drop all cached prefabs
+     */
+    public synchronized void clearCache() {
+        cache.clear();
+        cachedEntries = 0;
+    }
+
+    private synchronized void cache(String name, List<BuildEntry> entries) {
+        uncache(name);
+        if (entries.size() > DisplayEntityEditor.prefabCacheSize) {
+            return;
+        }
+        cache.put(name, entries);
+        cachedEntries += entries.size();
+        Iterator<List<BuildEntry>> iterator = cache.values().iterator();
+        while (cachedEntries > DisplayEntityEditor.prefabCacheSize && iterator.hasNext()) {
+            cachedEntries -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    private synchronized void uncache(String name) {
+        List<BuildEntry> removed = cache.remove(name);
+        if (removed != null) {
+            cachedEntries -= removed.size();
+        }
+    }
+
+    /**
+     * Used to read a prefab from the pack, through a mapping of just the part of the pack that holds it
+     */
+    private List<BuildEntry> read(Prefab prefab) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, prefab.offset(), prefab.length());
+        }
+        List<BuildEntry> entries = new ArrayList<>(prefab.entries());
+        try (BuildReader reader = new BuildReader(new BufferInputStream(buffer))) {
+            BuildEntry entry;
+            while ((entry = reader.next()) != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Used to append a prefab to the pack and then write the new index. The index is only replaced once the prefab is
+     * in the pack, so a crash never leaves an index that points at a prefab that is not there.
+     */
+    private Prefab append(String name, byte[] body, int entries) throws IOException {
+        synchronized (writeLock) {
+            Files.createDirectories(folder);
+            Prefab prefab;
+            try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long offset = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(body);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, offset + buffer.position());
+                }
+                channel.force(false);
+                prefab = new Prefab(name, offset, body.length, entries);
+            }
+            written.remove(name);
+            written.put(name, prefab);
+            writeIndex();
+            return prefab;
+        }
+    }
+
+    /**
+     * Used to copy the prefabs that are still in use into a new pack and then write an index pointing at it. The index is only
+     * replaced once the new pack is complete, so a crash leaves the old pack in use, and the new one is deleted by the next load.
+     */
+    private void compact() throws IOException {
+        Path compacted = folder.resolve(PACK_PREFIX + "-" + System.currentTimeMillis() + PACK_SUFFIX);
+        Map<String, Prefab> moved = new LinkedHashMap<>();
+        try (FileChannel in = FileChannel.open(packFile, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long offset = 0;
+            for (Prefab prefab : written.values()) {
+                long copied = 0;
+                while (copied < prefab.length()) {
+                    long transferred = in.transferTo(prefab.offset() + copied, prefab.length() - copied, out);
+                    if (transferred <= 0) {
+                        throw new EOFException("Prefab " + prefab.name() + " is cut off");
+                    }
+                    copied += transferred;
+                }
+                moved.put(prefab.name(), new Prefab(prefab.name(), offset, prefab.length(), prefab.entries()));
+                offset += prefab.length();
+            }
+            out.force(false);
+        }
+
+        Path old = packFile;
+        Map<String, Prefab> previous = new LinkedHashMap<>(written);
+        written.clear();
+        written.putAll(moved);
+        packFile = compacted;
+        try {
+            writeIndex();
+        } catch (IOException e) {
+            written.clear();
+            written.putAll(previous);
+            packFile = old;
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+        Files.deleteIfExists(old);
+    }
+
+    /**
+     * Used to delete the packs that are left over from a compaction that did not finish
+     */
+    private void deleteUnusedPacks() throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        try (DirectoryStream<Path> packs = Files.newDirectoryStream(folder, PACK_PREFIX + "*" + PACK_SUFFIX)) {
+            for (Path pack : packs) {
+                if (!pack.equals(packFile)) {
+                    Files.deleteIfExists(pack);
+                }
+            }
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        PrefabIndex.write(indexFile, packFile.getFileName().toString(), written.values());
+    }
+
+    /**
+     * Where a prefab is stored in the pack
+     * @param name The name of the prefab
+     * @param offset The position in the pack the prefab starts at
+     * @param length The amount of bytes the prefab takes up in the pack
+     * @param entries The amount of displays in the prefab
+     */
+    record Prefab(String name, long offset, int length, int entries) {}
+
+    /**
+     * Used to read a prefab straight out of the mapped pack
+     */
+    private static class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package goldenshadow.displayentityeditor.sessions;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.index.DisplayIndex;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Selects every display inside a box for the box selection mode. The player marks two opposite corners with the group select tool,
+ * after which the displays are collected from the {@link DisplayIndex} one chunk column at a time, with only the configured amount
+ * of chunks per tick, so even a box holding tens of thousands of displays does not cause a lag spike. Chunks that are not loaded are skipped.
+ * <p>
+ * Each chunk column is searched on the thread that owns it, which on Folia is the region of the chunk rather than the region of the player.
+ * The player only hands the columns out and waits until all of them are done.
+ */
+public class BoxSelector {
+
+    private final Map<UUID, Location> corners = new ConcurrentHashMap<>();
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Used to mark a corner at the block the player is standing on. Once both corners are marked, the displays in between
+     * are collected into the group of the player, unless the box spans more chunks than the configured maximum.
+     * @param player The player
+     */
+    public void mark(Player player) {
+        Location corner = player.getLocation().getBlock().getLocation();
+        Location first = corners.remove(player.getUniqueId());
+        if (first == null || first.getWorld() != corner.getWorld()) {
+            corners.put(player.getUniqueId(), corner);
+            player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("box_corner_set", corner.getBlockX(), corner.getBlockY(), corner.getBlockZ())));
+            return;
+        }
+        cancel(player);
+        long chunks = chunks(first.getBlockX(), corner.getBlockX()) * chunks(first.getBlockZ(), corner.getBlockZ());
+        if (chunks > DisplayEntityEditor.boxSelectMaxChunks) {
+            player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("box_select_too_large", chunks, DisplayEntityEditor.boxSelectMaxChunks)));
+            return;
+        }
+        Job job = new Job(player, first, corner, Utilities.getToolSearchMode(player).getPredicate());
+        jobs.put(player.getUniqueId(), job);
+        job.task = Scheduling.runTimer(player, () -> {
+            if (job.run()) {
+                jobs.remove(player.getUniqueId(), job);
+                job.task.cancel();
+            }
+        }, 1L, 1L);
+        if (job.task == null) {
+            jobs.remove(player.getUniqueId(), job);
+        }
+    }
+
+    /**
+     * Used to get the amount of chunks a box spans along one axis
+     * @param a The block coordinate of one corner
+     * @param b The block coordinate of the other corner
+     * @return The amount, as a long so that the product of two of them can't overflow
+     */
+    private static long chunks(int a, int b) {
+        return (long) (Math.max(a, b) >> 4) - (Math.min(a, b) >> 4) + 1;
+    }
+
+    /**
+     * Used to stop collecting displays and forget the marked corner
+     * @param player The player
+     * @return True if the player was collecting displays, otherwise false
+     */
+    public boolean cancel(Player player) {
+        corners.remove(player.getUniqueId());
+        Job job = jobs.remove(player.getUniqueId());
+        if (job == null || job.task == null) {
+            return false;
+        }
+        job.task.cancel();
+        return true;
+    }
+
+    /**
+     * The box a single player is collecting displays from
+     */
+    private static class Job {
+
+        private final Player player;
+        private final World world;
+        private final int minX, minY, minZ, maxX, maxY, maxZ;
+        private final int minChunkX, minChunkZ, chunksX, total;
+        private final Predicate<Display> lockFilter;
+        private final DisplaySelection selection = new DisplaySelection();
+        private final AtomicInteger searching = new AtomicInteger();
+        private int next;
+        private Scheduling.Task task;
+
+        private Job(Player player, Location first, Location second, Predicate<Display> lockFilter) {
+            this.player = player;
+            this.world = first.getWorld();
+            this.lockFilter = lockFilter;
+            minX = Math.min(first.getBlockX(), second.getBlockX());
+            minY = Math.min(first.getBlockY(), second.getBlockY());
+            minZ = Math.min(first.getBlockZ(), second.getBlockZ());
+            // The corners are blocks, so the box includes the whole block at its upper corner
+            maxX = Math.max(first.getBlockX(), second.getBlockX()) + 1;
+            maxY = Math.max(first.getBlockY(), second.getBlockY()) + 1;
+            maxZ = Math.max(first.getBlockZ(), second.getBlockZ()) + 1;
+            minChunkX = minX >> 4;
+            minChunkZ = minZ >> 4;
+            chunksX = (int) chunks(minX, maxX - 1);
+            // Fits into an int, as boxes with more chunks than the configured maximum are rejected before a job is created
+            total = (int) (chunksX * chunks(minZ, maxZ - 1));
+        }
+
+        /**
+         * Used to hand out the next few chunks to be searched
+         * @return True if every chunk was searched, otherwise false
+         */
+        private boolean run() {
+            // Chunks of regions that are behind are still being searched, so no more are handed out until they caught up
+            if (searching.get() < DisplayEntityEditor.boxSelectChunksPerTick) {
+                int end = Math.min(total, next + DisplayEntityEditor.boxSelectChunksPerTick);
+                for (; next < end; next++) {
+                    int chunkX = minChunkX + next % chunksX;
+                    int chunkZ = minChunkZ + next / chunksX;
+                    searching.incrementAndGet();
+                    Scheduling.run(new Location(world, chunkX << 4, 0, chunkZ << 4), () -> {
+                        try {
+                            search(chunkX, chunkZ);
+                        } finally {
+                            searching.decrementAndGet();
+                        }
+                    });
+                }
+            }
+            if (next < total || searching.get() > 0) {
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("box_select_progress", next, total, selection.size()));
+                return false;
+            }
+            if (selection.isEmpty()) {
+                player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("box_select_fail")));
+            } else {
+                DisplayEntityEditor.getPlugin().getEditingHandler().setEditingDisplays(player, selection);
+                player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("group_select_success", selection.size())));
+            }
+            return true;
+        }
+
+        /**
+         * Used to collect the displays of a single chunk column. Must be called on the thread that owns the chunk.
+         * @param chunkX The x coordinate of the chunk
+         * @param chunkZ The z coordinate of the chunk
+         */
+        private void search(int chunkX, int chunkZ) {
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                return;
+            }
+            double lowX = Math.max(minX, chunkX << 4), highX = Math.min(maxX, (chunkX << 4) + 16);
+            double lowZ = Math.max(minZ, chunkZ << 4), highZ = Math.min(maxZ, (chunkZ << 4) + 16);
+            DisplayEntityEditor.getPlugin().getDisplayIndex().forEachInBox(world, lowX, minY, lowZ, highX, maxY, highZ, display -> {
+                // A display that moved into another region but was not re-indexed yet is not ours to read
+                if (!Scheduling.owns(display)) {
+                    return;
+                }
+                Location location = display.getLocation();
+                // Displays right on the border of two chunks are only taken by the chunk they are in, so none is selected twice
+                if (location.getBlockX() >> 4 == chunkX && location.getBlockZ() >> 4 == chunkZ && lockFilter.test(display)) {
+                    selection.add(display);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package goldenshadow.displayentityeditor.sessions;
+
+import goldenshadow.displayentityeditor.Scheduling;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A group of displays a player selected. Only the uuids of the displays are stored, grouped by the world and chunk the display was in
+ * when it was selected, so a selection never keeps a display or its chunk in memory.
+ * <p>
+ * Displays are only looked up when the selection is used, and only in chunks whose entities are loaded; the rest of the selection
+ * is skipped without being touched. A display that can't be found although the entities of its chunk are loaded was removed. It is marked as dead
+ * right away, but the selection is only compacted once enough dead entries have piled up, so a large selection is not copied for
+ * every single removed display.
+ * <p>
+ * On Folia a selection can be used by several regions at once, so it is synchronized.
+ */
+public class DisplaySelection {
+
+    /** The smallest amount of dead entries that causes the selection to be compacted */
+    private static final int PRUNE_BATCH = 64;
+
+    private final Map<UUID, Map<Long, Bucket>> worlds = new HashMap<>();
+    private int size;
+    private int dead;
+
+    /**
+     * Used to create a selection from displays
+     * @param displays The displays, without duplicates
+     * @return The selection
+     */
+    public static DisplaySelection of(Collection<? extends Entity> displays) {
+        DisplaySelection selection = new DisplaySelection();
+        displays.forEach(selection::add);
+        return selection;
+    }
+
+    /**
+     * Used to add a display to the selection
+     * @param display The display, which must not be in the selection already
+     */
+    public synchronized void add(Entity display) {
+        long chunk = Chunk.getChunkKey(display.getLocation().getBlockX() >> 4, display.getLocation().getBlockZ() >> 4);
+        worlds.computeIfAbsent(display.getWorld().getUID(), uuid -> new HashMap<>()).computeIfAbsent(chunk, key -> new Bucket()).add(display.getUniqueId());
+        size++;
+    }
+
+    /**
+     * Used to get the amount of displays in the selection, including removed displays that were not noticed yet
+     * @return The amount
+     */
+    public synchronized int size() {
+        return size - dead;
+    }
+
+    /**
+     * Used to check if every display of the selection is known to be removed
+     * @return True if it is, otherwise false
+     */
+    public synchronized boolean isEmpty() {
+        return size == dead;
+    }
+
+    /**
+     * Used to do something with every display of the selection that is currently loaded
+     * @param action What should be done with each display
+     */
+    public synchronized void forEachLoaded(Consumer<Display> action) {
+        for (Map.Entry<UUID, Map<Long, Bucket>> world : worlds.entrySet()) {
+            World w = Bukkit.getWorld(world.getKey());
+            if (w == null) {
+                continue;
+            }
+            for (Map.Entry<Long, Bucket> entry : world.getValue().entrySet()) {
+                long chunk = entry.getKey();
+                int x = (int) chunk;
+                int z = (int) (chunk >> 32);
+                if (!w.isChunkLoaded(x, z)) {
+                    continue;
+                }
+                Bucket bucket = entry.getValue();
+                Boolean entitiesLoaded = null;
+                for (int i = 0; i < bucket.length; i++) {
+                    UUID uuid = bucket.ids[i];
+                    if (uuid == null) {
+                        continue;
+                    }
+                    // Displays that moved into another loaded chunk are still found, only removed ones are not
+                    if (Bukkit.getEntity(uuid) instanceof Display display && display.isValid()) {
+                        action.accept(display);
+                        continue;
+                    }
+                    // The entities of a chunk are loaded a bit after the chunk itself, until then a display is just missing
+                    if (entitiesLoaded == null) {
+                        entitiesLoaded = isEntitiesLoaded(w, x, z);
+                    }
+                    if (entitiesLoaded) {
+                        bucket.ids[i] = null;
+                        dead++;
+                    }
+                }
+            }
+        }
+        if (dead >= Math.max(PRUNE_BATCH, size / 4)) {
+            prune();
+        }
+    }
+
+    /**
+     * Used to get every display of the selection that is currently loaded
+     * @return The displays
+     */
+    public synchronized List<Display> getLoaded() {
+        List<Display> displays = new ArrayList<>(size());
+        forEachLoaded(displays::add);
+        return displays;
+    }
+
+    private static boolean isEntitiesLoaded(World world, int x, int z) {
+        // On Folia only the region that owns a chunk may look at it
+        if (Scheduling.FOLIA && !Bukkit.isOwnedByCurrentRegion(world, x, z)) {
+            return false;
+        }
+        return world.getChunkAt(x, z).isEntitiesLoaded();
+    }
+
+    /**
+     * Used to drop all dead entries, as well as the chunks and worlds that are left without any
+     */
+    private void prune() {
+        Iterator<Map<Long, Bucket>> worldIterator = worlds.values().iterator();
+        while (worldIterator.hasNext()) {
+            Map<Long, Bucket> chunks = worldIterator.next();
+            chunks.values().removeIf(Bucket::compact);
+            if (chunks.isEmpty()) {
+                worldIterator.remove();
+            }
+        }
+        size -= dead;
+        dead = 0;
+    }
+
+    /**
+     * The displays of a single chunk. Dead entries are set to null until the bucket is compacted.
+     */
+    private static class Bucket {
+
+        private UUID[] ids = new UUID[4];
+        private int length;
+
+        private void add(UUID uuid) {
+            if (length == ids.length) {
+                ids = Arrays.copyOf(ids, length * 2);
+            }
+            ids[length++] = uuid;
+        }
+
+        /**
+         * Used to move the live entries to the front
+         * @return True if the bucket is empty afterwards
+         */
+        private boolean compact() {
+            int live = 0;
+            for (int i = 0; i < length; i++) {
+                if (ids[i] != null) {
+                    ids[live++] = ids[i];
+                }
+            }
+            Arrays.fill(ids, live, length, null);
+            length = live;
+            if (ids.length > 4 && live < ids.length / 4) {
+                ids = Arrays.copyOf(ids, Math.max(4, live * 2));
+            }
+            return live == 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package goldenshadow.displayentityeditor.sessions;
+
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Everything the editor remembers about a single player. Displays are only referenced by their uuid, so a session never
+ * keeps a display that was unloaded or removed in memory.
+ * <p>
+ * All fields are volatile and the group is synchronized, so a session can be read from any thread.
+ */
+public class EditSession {
+
+    private final UUID player;
+    private volatile UUID guiDisplay;
+    private volatile DisplaySelection group;
+    private volatile ItemStack[] savedInventory;
+
+    EditSession(UUID player) {
+        this.player = player;
+    }
+
+    /**
+     * Used to get the player this session belongs to
+     * @return The uuid of the player
+     */
+    public UUID getPlayer() {
+        return player;
+    }
+
+    /**
+     * Used to get the display whose GUI the player has open
+     * @return The uuid of the display, or null if the player has no GUI open
+     */
+    @Nullable
+    public UUID getGuiDisplay() {
+        return guiDisplay;
+    }
+
+    void setGuiDisplay(@Nullable UUID guiDisplay) {
+        this.guiDisplay = guiDisplay;
+    }
+
+    /**
+     * Used to get the group of displays the player has selected
+     * @return The selection, or null if the player has no group selected
+     */
+    @Nullable
+    public DisplaySelection getGroup() {
+        return group;
+    }
+
+    void setGroup(@Nullable DisplaySelection group) {
+        this.group = group;
+    }
+
+    /**
+     * Used to get the inventory the player had before they were given the editor tools
+     * @return The contents of the inventory, or null if the player does not have the tools
+     */
+    @Nullable
+    public ItemStack[] getSavedInventory() {
+        return savedInventory;
+    }
+
+    void setSavedInventory(@Nullable ItemStack[] savedInventory) {
+        this.savedInventory = savedInventory;
+    }
+
+    /**
+     * Used to check if there is nothing left in this session, so it can be dropped
+     * @return True if it is empty, otherwise false
+     */
+    boolean isEmpty() {
+        return guiDisplay == null && group == null && savedInventory == null;
+    }
+}
@@ -0,0 +1,200 @@
+package goldenshadow.displayentityeditor.sessions;
+
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the {@link EditSession} of every player that is using the editor. Next to the sessions, it keeps an index of which
+ * player has the GUI of which display open, so checking if a display is already being edited does not have to look at every session.
+ * <p>
+ * Sessions are changed atomically and dropped as soon as they are empty, so the registry can be read from async tasks and only
+ * ever holds the players that are actually using the editor. Displays are only referenced by their uuid.
+ */
+public class EditSessions {
+
+    private final Map<UUID, EditSession> sessions = new ConcurrentHashMap<>();
+    /** The uuid of every display whose GUI is open, mapped to the uuid of the player that has it open */
+    private final Map<UUID, UUID> guiEditors = new ConcurrentHashMap<>();
+
+    /**
+     * Used to get the session of a player
+     * @param player The uuid of the player
+     * @return The session, or null if the player is not using the editor
+     */
+    @Nullable
+    public EditSession get(UUID player) {
+        return sessions.get(player);
+    }
+
+    /**
+     * Used to mark that a player opened the GUI of a display. This fails if another player already has it open.
+     * @param player The uuid of the player
+     * @param display The uuid of the display
+     * @return True if the player may open the GUI, false if someone else is editing the display
+     */
+    public boolean openGui(UUID player, UUID display) {
+        UUID editor = guiEditors.putIfAbsent(display, player);
+        if (editor != null && !editor.equals(player)) {
+            return false;
+        }
+        update(player, session -> {
+            UUID previous = session.getGuiDisplay();
+            if (previous != null && !previous.equals(display)) {
+                guiEditors.remove(previous, player);
+            }
+            session.setGuiDisplay(display);
+        });
+        return true;
+    }
+
+    /**
+     * Used to mark that a player closed the GUI they had open
+     * @param player The uuid of the player
+     */
+    public void closeGui(UUID player) {
+        sessions.computeIfPresent(player, (uuid, session) -> {
+            UUID display = session.getGuiDisplay();
+            if (display != null) {
+                guiEditors.remove(display, player);
+                session.setGuiDisplay(null);
+            }
+            return session.isEmpty() ? null : session;
+        });
+    }
+
+    /**
+     * Used to get the player that has the GUI of a display open
+     * @param display The uuid of the display
+     * @return The uuid of the player, or null if nobody has it open
+     */
+    @Nullable
+    public UUID getEditor(UUID display) {
+        return guiEditors.get(display);
+    }
+
+    /**
+     * Used to set the group of displays a player has selected
+     * @param player The uuid of the player
+     * @param group The selection
+     */
+    public void setGroup(UUID player, DisplaySelection group) {
+        update(player, session -> session.setGroup(group));
+    }
+
+    /**
+     * Used to get the group of displays a player has selected
+     * @param player The uuid of the player
+     * @return The selection, or null if the player has no group selected
+     */
+    @Nullable
+    public DisplaySelection getGroup(UUID player) {
+        EditSession session = sessions.get(player);
+        return session == null ? null : session.getGroup();
+    }
+
+    /**
+     * Used to clear a specific group of displays a player has selected, for example once all of its displays were removed.
+     * Nothing happens if the group was replaced in the meantime.
+     * @param player The uuid of the player
+     * @param group The group that was read from the session
+     */
+    public void clearGroup(UUID player, DisplaySelection group) {
+        sessions.computeIfPresent(player, (uuid, session) -> {
+            if (session.getGroup() == group) {
+                session.setGroup(null);
+            }
+            return session.isEmpty() ? null : session;
+        });
+    }
+
+    /**
+     * Used to clear the group of displays a player has selected
+     * @param player The uuid of the player
+     */
+    public void clearGroup(UUID player) {
+        sessions.computeIfPresent(player, (uuid, session) -> {
+            session.setGroup(null);
+            return session.isEmpty() ? null : session;
+        });
+    }
+
+    /**
+     * Used to remember the inventory a player had before they were given the editor tools
+     * @param player The uuid of the player
+     * @param contents The contents of the inventory. They must not be changed afterwards
+     */
+    public void setSavedInventory(UUID player, ItemStack[] contents) {
+        update(player, session -> session.setSavedInventory(contents));
+    }
+
+    /**
+     * Used to check if a player has the editor tools, which is the case while their inventory is saved
+     * @param player The uuid of the player
+     * @return True if they do, otherwise false
+     */
+    public boolean hasSavedInventory(UUID player) {
+        EditSession session = sessions.get(player);
+        return session != null && session.getSavedInventory() != null;
+    }
+
+    /**
+     * Used to get and forget the inventory a player had before they were given the editor tools
+     * @param player The uuid of the player
+     * @return The contents of the inventory, or null if none was saved
+     */
+    @Nullable
+    public ItemStack[] takeSavedInventory(UUID player) {
+        ItemStack[][] taken = new ItemStack[1][];
+        sessions.computeIfPresent(player, (uuid, session) -> {
+            taken[0] = session.getSavedInventory();
+            session.setSavedInventory(null);
+            return session.isEmpty() ? null : session;
+        });
+        return taken[0];
+    }
+
+    /**
+     * Used to drop the session of a player, for example when they leave
+     * @param player The uuid of the player
+     */
+    public void remove(UUID player) {
+        EditSession session = sessions.remove(player);
+        if (session != null && session.getGuiDisplay() != null) {
+            guiEditors.remove(session.getGuiDisplay(), player);
+        }
+    }
+
+    /**
+     * Used to forget a display that was removed or unloaded. Displays in groups are dropped the next time the group is used.
+     * @param display The uuid of the display
+     */
+    public void forgetDisplay(UUID display) {
+        UUID editor = guiEditors.remove(display);
+        if (editor == null) {
+            return;
+        }
+        sessions.computeIfPresent(editor, (uuid, session) -> {
+            if (display.equals(session.getGuiDisplay())) {
+                session.setGuiDisplay(null);
+            }
+            return session.isEmpty() ? null : session;
+        });
+    }
+
+    /**
+     * Used to change the session of a player atomically, creating it if needed and dropping it if it is empty afterwards
+     */
+    private void update(UUID player, Consumer<EditSession> change) {
+        sessions.compute(player, (uuid, session) -> {
+            if (session == null) {
+                session = new EditSession(uuid);
+            }
+            change.accept(session);
+            return session.isEmpty() ? null : session;
+        });
+    }
+}
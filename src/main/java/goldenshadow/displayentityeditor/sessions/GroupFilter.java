@@ -0,0 +1,75 @@
+package goldenshadow.displayentityeditor.sessions;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import org.bukkit.Material;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The filters the group select tool uses to decide which displays around a player end up in the group
+ * @param range Half the size of the box around the player displays are selected in
+ * @param lockMode Which displays are selected depending on if they are locked
+ * @param type The type of display that is selected, or null for every type
+ * @param name A pattern that has to be found in the custom name of a display, or null to not check the name
+ * @param material The block or item a display has to show, or null to not check it
+ */
+public record GroupFilter(double range, LockSearchMode lockMode, @Nullable EntityType type, @Nullable Pattern name, @Nullable Material material) {
+
+    /**
+     * Used to get the filters a player set up
+     * @param player The player
+     * @return The filters
+     */
+    public static GroupFilter of(Player player) {
+        PersistentDataContainer container = player.getPersistentDataContainer();
+        String type = container.get(DisplayEntityEditor.groupFilterTypeKey, PersistentDataType.STRING);
+        String name = container.get(DisplayEntityEditor.groupFilterNameKey, PersistentDataType.STRING);
+        String material = container.get(DisplayEntityEditor.groupFilterMaterialKey, PersistentDataType.STRING);
+        return new GroupFilter(
+                Utilities.getToolSelectRange(player),
+                Utilities.getToolSearchMode(player),
+                type == null ? null : parseType(type),
+                name == null ? null : compile(name),
+                material == null ? null : Material.matchMaterial(material)
+        );
+    }
+
+    /**
+     * Used to get the type of display a type filter stands for
+     * @param type The name of the entity type, like ITEM_DISPLAY
+     * @return The type, or null if it is not a type of display
+     */
+    @Nullable
+    public static EntityType parseType(String type) {
+        try {
+            EntityType entityType = EntityType.valueOf(type.toUpperCase(Locale.ROOT));
+            return entityType.getEntityClass() != null && Display.class.isAssignableFrom(entityType.getEntityClass()) ? entityType : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Used to compile a name pattern
+     * @param pattern The pattern
+     * @return The compiled pattern, or null if it is not valid
+     */
+    @Nullable
+    public static Pattern compile(String pattern) {
+        try {
+            return Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+}
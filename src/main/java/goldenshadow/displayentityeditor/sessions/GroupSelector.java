@@ -0,0 +1,228 @@
+package goldenshadow.displayentityeditor.sessions;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import goldenshadow.displayentityeditor.index.DisplayIndex;
+import goldenshadow.displayentityeditor.index.LockStateCache;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Selects the displays around a player for the group select tool in two steps, so a large range does not stall the tick.
+ * <p>
+ * First, the displays in the index cells around the player are copied into a snapshot of plain arrays. Each chunk column is copied
+ * on the thread that owns it, which on Paper is the main thread and on Folia the region of the chunk, so every display is read by its owner.
+ * Only the values the filters need are copied, and nothing is checked yet. Then the filters run asynchronously on the snapshot,
+ * in parallel on the common pool if there are enough displays. Only the positions of the displays that passed come back to the
+ * thread of the player, where they are turned back into displays.
+ */
+public class GroupSelector {
+
+    /** The smallest amount of displays that is filtered in parallel, below that splitting the work up costs more than it saves */
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private final Map<UUID, CompletableFuture<List<Display>>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Used to select the displays around a player. If the player starts another selection before this one is done, this one is cancelled.
+     * @param player The player
+     * @param filter The filters
+     * @return A future that is completed on the thread of the player with the displays that passed all filters
+     */
+    public CompletableFuture<List<Display>> select(Player player, GroupFilter filter) {
+        CompletableFuture<List<Display>> future = new CompletableFuture<>();
+        CompletableFuture<List<Display>> previous = pending.put(player.getUniqueId(), future);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        Snapshot.take(player.getLocation(), filter, snapshot -> Scheduling.runAsync(() -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            IntStream indices = IntStream.range(0, snapshot.size);
+            if (snapshot.size >= PARALLEL_THRESHOLD) {
+                indices = indices.parallel();
+            }
+            int[] matches = indices.filter(snapshot::matches).toArray();
+            Scheduling.run(player, () -> {
+                if (!pending.remove(player.getUniqueId(), future)) {
+                    return;
+                }
+                List<Display> displays = new ArrayList<>(matches.length);
+                for (int i : matches) {
+                    Display display = snapshot.displays[i];
+                    if (display.isValid()) {
+                        displays.add(display);
+                    }
+                }
+                future.complete(displays);
+            });
+        }));
+        return future;
+    }
+
+    /**
+     * Used to cancel the selection a player is waiting for, for example when they leave
+     * @param player The player
+     */
+    public void cancel(Player player) {
+        CompletableFuture<List<Display>> future = pending.remove(player.getUniqueId());
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * The values of the displays around a player that the filters need. The displays themselves are only kept so the ones
+     * that passed can be returned, the filters never touch them.
+     */
+    private static class Snapshot {
+
+        private final GroupFilter filter;
+        private final double minX, minY, minZ, maxX, maxY, maxZ;
+        private final boolean lockState, material, name;
+        private Display[] displays = new Display[64];
+        private double[] x = new double[64], y = new double[64], z = new double[64];
+        private boolean[] locked;
+        private int[] types = new int[64];
+        private int[] materials;
+        private String[] names;
+        private int size;
+
+        private Snapshot(Location center, GroupFilter filter) {
+            this.filter = filter;
+            double range = filter.range();
+            minX = center.getX() - range;
+            minY = center.getY() - range;
+            minZ = center.getZ() - range;
+            maxX = center.getX() + range;
+            maxY = center.getY() + range;
+            maxZ = center.getZ() + range;
+            lockState = filter.lockMode() != LockSearchMode.ALL;
+            material = filter.material() != null;
+            name = filter.name() != null;
+            locked = lockState ? new boolean[64] : null;
+            materials = material ? new int[64] : null;
+            names = name ? new String[64] : null;
+        }
+
+        /**
+         * Used to copy the values of every display in the index cells overlapping the range of the filter. Index cells are as wide
+         * as chunks, so every column of cells is copied on the thread that owns its chunk.
+         * @param center The center of the range
+         * @param filter The filters
+         * @param done Called with the snapshot once every column was copied, on the thread that copied the last one
+         */
+        private static void take(Location center, GroupFilter filter, Consumer<Snapshot> done) {
+            Snapshot snapshot = new Snapshot(center, filter);
+            World world = center.getWorld();
+            if (world == null) {
+                done.accept(snapshot);
+                return;
+            }
+            DisplayIndex displayIndex = DisplayEntityEditor.getPlugin().getDisplayIndex();
+            LockStateCache lockStateCache = DisplayEntityEditor.getPlugin().getLockStateCache();
+            int minCellY = DisplayIndex.cell(snapshot.minY), maxCellY = DisplayIndex.cell(snapshot.maxY);
+            Scheduling.forEachChunk(world, DisplayIndex.cell(snapshot.minX), DisplayIndex.cell(snapshot.minZ),
+                    DisplayIndex.cell(snapshot.maxX), DisplayIndex.cell(snapshot.maxZ), (cx, cz) -> {
+                Location scratch = new Location(world, 0, 0, 0);
+                for (int cy = minCellY; cy <= maxCellY; cy++) {
+                    displayIndex.forEachInCell(world, cx, cy, cz, display -> {
+                        // A display that moved into another region but was not re-indexed yet is not ours to read
+                        if (Scheduling.owns(display)) {
+                            snapshot.add(display, display.getLocation(scratch), lockStateCache);
+                        }
+                    });
+                }
+            }, () -> done.accept(snapshot));
+        }
+
+        /**
+         * Used to copy the values of a display. Synchronized because on Folia the columns are copied by several regions at once.
+         */
+        @SuppressWarnings("deprecation")
+        private synchronized void add(Display display, Location location, LockStateCache lockStateCache) {
+            if (size == displays.length) {
+                grow();
+            }
+            displays[size] = display;
+            x[size] = location.getX();
+            y[size] = location.getY();
+            z[size] = location.getZ();
+            types[size] = display.getType().ordinal();
+            if (lockState) {
+                locked[size] = lockStateCache.isLocked(display);
+            }
+            if (material) {
+                materials[size] = materialOf(display);
+            }
+            if (name) {
+                names[size] = display.getCustomName();
+            }
+            size++;
+        }
+
+        private static int materialOf(Display display) {
+            if (display instanceof BlockDisplay blockDisplay) {
+                return blockDisplay.getBlock().getMaterial().ordinal();
+            }
+            if (display instanceof ItemDisplay itemDisplay) {
+                ItemStack item = itemDisplay.getItemStack();
+                return item == null ? Material.AIR.ordinal() : item.getType().ordinal();
+            }
+            return -1;
+        }
+
+        private void grow() {
+            int length = displays.length * 2;
+            displays = Arrays.copyOf(displays, length);
+            x = Arrays.copyOf(x, length);
+            y = Arrays.copyOf(y, length);
+            z = Arrays.copyOf(z, length);
+            types = Arrays.copyOf(types, length);
+            if (lockState) {
+                locked = Arrays.copyOf(locked, length);
+            }
+            if (material) {
+                materials = Arrays.copyOf(materials, length);
+            }
+            if (name) {
+                names = Arrays.copyOf(names, length);
+            }
+        }
+
+        /**
+         * Used to check if a display passes all filters. Only reads the arrays, so it can be called from any thread.
+         * @param i The position of the display in the snapshot
+         * @return True if it does, otherwise false
+         */
+        private boolean matches(int i) {
+            if (x[i] < minX || x[i] > maxX || y[i] < minY || y[i] > maxY || z[i] < minZ || z[i] > maxZ) {
+                return false;
+            }
+            if (lockState && locked[i] != (filter.lockMode() == LockSearchMode.LOCKED)) {
+                return false;
+            }
+            if (filter.type() != null && types[i] != filter.type().ordinal()) {
+                return false;
+            }
+            if (material && materials[i] != filter.material().ordinal()) {
+                return false;
+            }
+            return !name || names[i] != null && filter.name().matcher(names[i]).find();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package goldenshadow.displayentityeditor.tools;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.EditingHandler;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.editing.EditJournal;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * A tool that edits the displays a player is editing. Right-clicking edits them in one direction and sneak-right-clicking
+ * in the other, and every edit is recorded in the {@link EditJournal} first so it can be undone.
+ */
+public abstract class DisplayTool implements Tool {
+
+    private final EditingHandler editingHandler;
+    private final EditJournal editJournal;
+
+    protected DisplayTool(EditingHandler editingHandler, EditJournal editJournal) {
+        this.editingHandler = editingHandler;
+        this.editJournal = editJournal;
+    }
+
+    @Override
+    public void rightClick(Player player) {
+        use(player, 1);
+    }
+
+    @Override
+    public void sneakRightClick(Player player) {
+        use(player, -1);
+    }
+
+    private void use(Player player, int direction) {
+        Collection<Display> displays = select(player);
+        if (displays == null) {
+            return;
+        }
+        if (isRecorded()) {
+            editJournal.record(player, displays);
+        }
+        edit(player, displays, direction);
+    }
+
+    /**
+     * Used to edit the displays a player is editing
+     * @param player The player
+     * @param displays The displays, never empty
+     * @param direction 1 for a right-click and -1 for a sneak-right-click
+     */
+    protected abstract void edit(Player player, Collection<Display> displays, int direction);
+
+    /**
+     * Used to check if the edits of this tool should be recorded, so they can be undone
+     * @return True unless the tool does not change the displays
+     */
+    protected boolean isRecorded() {
+        return true;
+    }
+
+    /**
+     * Used to reset a value of every display a player is editing, for tools that can be reset
+     * @param player The player
+     * @param reset Resets the value of a single display, called on the thread of the display
+     */
+    protected void resetDisplays(Player player, Consumer<Display> reset) {
+        Collection<Display> displays = select(player);
+        if (displays == null) {
+            return;
+        }
+        editJournal.record(player, displays);
+        Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("value_reset"));
+        Scheduling.forEach(displays, reset);
+    }
+
+    @Nullable
+    private Collection<Display> select(Player player) {
+        Collection<Display> displays = editingHandler.getEditingDisplays(player);
+        if (displays == null) {
+            player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("generic_fail")));
+        }
+        return displays;
+    }
+}
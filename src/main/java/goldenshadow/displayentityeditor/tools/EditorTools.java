@@ -0,0 +1,713 @@
+package goldenshadow.displayentityeditor.tools;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import goldenshadow.displayentityeditor.EditingHandler;
+import goldenshadow.displayentityeditor.Scheduling;
+import goldenshadow.displayentityeditor.SelectionMode;
+import goldenshadow.displayentityeditor.ToolSettings;
+import goldenshadow.displayentityeditor.Utilities;
+import goldenshadow.displayentityeditor.builds.BuildManager;
+import goldenshadow.displayentityeditor.editing.BulkCloner;
+import goldenshadow.displayentityeditor.editing.DisplayProperty;
+import goldenshadow.displayentityeditor.editing.EditJournal;
+import goldenshadow.displayentityeditor.editing.MotionSmoother;
+import goldenshadow.displayentityeditor.editing.TransformationBuffer;
+import goldenshadow.displayentityeditor.editing.Transformations;
+import goldenshadow.displayentityeditor.enums.LockSearchMode;
+import goldenshadow.displayentityeditor.items.InventoryItems;
+import goldenshadow.displayentityeditor.prefabs.PrefabLibrary;
+import goldenshadow.displayentityeditor.sessions.BoxSelector;
+import goldenshadow.displayentityeditor.sessions.DisplaySelection;
+import goldenshadow.displayentityeditor.sessions.GroupFilter;
+import goldenshadow.displayentityeditor.sessions.GroupSelector;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.entity.*;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The tools of this plugin. Each tool is registered under the name its items are tagged with, see {@link InventoryItems}.
+ */
+public class EditorTools {
+
+    private static final DecimalFormat df = new DecimalFormat("#.####");
+    private static final String[] AXES = {"x", "y", "z"};
+
+    private final EditingHandler editingHandler;
+    private final TransformationBuffer transformationBuffer;
+    private final MotionSmoother motionSmoother;
+    private final EditJournal editJournal;
+    private final BulkCloner bulkCloner;
+    private final BuildManager buildManager;
+    private final PrefabLibrary prefabLibrary;
+    private final BoxSelector boxSelector;
+    private final GroupSelector groupSelector;
+
+    public EditorTools(EditingHandler editingHandler, TransformationBuffer transformationBuffer, MotionSmoother motionSmoother, EditJournal editJournal, BulkCloner bulkCloner, BuildManager buildManager, PrefabLibrary prefabLibrary, BoxSelector boxSelector, GroupSelector groupSelector) {
+        this.editingHandler = editingHandler;
+        this.transformationBuffer = transformationBuffer;
+        this.motionSmoother = motionSmoother;
+        this.editJournal = editJournal;
+        this.bulkCloner = bulkCloner;
+        this.buildManager = buildManager;
+        this.prefabLibrary = prefabLibrary;
+        this.boxSelector = boxSelector;
+        this.groupSelector = groupSelector;
+        df.setRoundingMode(RoundingMode.CEILING);
+    }
+
+    /**
+     * Used to register every tool. The order decides the ids of the tools, which are stored on their items,
+     * so new tools must only ever be added at the end.
+     * @param registry The registry
+     */
+    public void registerAll(ToolRegistry registry) {
+        registry.registerBuiltIn("InventoryGUI", gui());
+        registry.registerBuiltIn("InventoryRotateYaw", rotation(true));
+        registry.registerBuiltIn("InventoryRotatePitch", rotation(false));
+        registry.registerBuiltIn("InventoryMoveX", move(0));
+        registry.registerBuiltIn("InventoryMoveY", move(1));
+        registry.registerBuiltIn("InventoryMoveZ", move(2));
+        registry.registerBuiltIn("InventorySpawnItem", spawn(EntityType.ITEM_DISPLAY, "item_display_spawned"));
+        registry.registerBuiltIn("InventorySpawnBlock", spawn(EntityType.BLOCK_DISPLAY, "block_display_spawned"));
+        registry.registerBuiltIn("InventorySpawnText", spawn(EntityType.TEXT_DISPLAY, "text_display_spawned"));
+        registry.registerBuiltIn("InventoryUnlock", unlock());
+        registry.registerBuiltIn("InventoryHighlight", highlight());
+        registry.registerBuiltIn("InventoryLRX", leftRotation(0));
+        registry.registerBuiltIn("InventoryLRY", leftRotation(1));
+        registry.registerBuiltIn("InventoryLRZ", leftRotation(2));
+        registry.registerBuiltIn("InventoryRRX", rightRotation(0));
+        registry.registerBuiltIn("InventoryRRY", rightRotation(1));
+        registry.registerBuiltIn("InventoryRRZ", rightRotation(2));
+        registry.registerBuiltIn("InventoryCenterPivot", centerPivot());
+        registry.registerBuiltIn("InventoryTX", translation(0));
+        registry.registerBuiltIn("InventoryTY", translation(1));
+        registry.registerBuiltIn("InventoryTZ", translation(2));
+        registry.registerBuiltIn("InventorySX", scale(0));
+        registry.registerBuiltIn("InventorySY", scale(1));
+        registry.registerBuiltIn("InventorySZ", scale(2));
+        registry.registerBuiltIn("InventoryCenterBlock", centerBlock());
+        registry.registerBuiltIn("InventoryToolPrecision", toolPrecision());
+        registry.registerBuiltIn("InventoryToolSelectionMode", toolSelectionMode());
+        registry.registerBuiltIn("InventoryToolSelectionRange", toolSelectionRange());
+        registry.registerBuiltIn("InventoryToolSelectionSearchMode", toolSearchMode());
+        registry.registerBuiltIn("InventoryToolSelectionMultiple", toolSelectionMultiple());
+        registry.registerBuiltIn("InventoryClone", cloneTool());
+        registry.registerBuiltIn("InventorySpawnPrefab", spawnPrefab());
+        registry.registerBuiltIn("InventoryGroupSelect", groupSelect());
+    }
+
+    private static InventoryItems items() {
+        return DisplayEntityEditor.inventoryFactory.getInventoryItems();
+    }
+
+    private Tool gui() {
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                if (displays.size() != 1) {
+                    player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("gui_only_single_displays")));
+                    return;
+                }
+
+                Display display = displays.iterator().next();
+
+                if (!editingHandler.getSessions().openGui(player.getUniqueId(), display.getUniqueId())) {
+                    player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("gui_open_fail")));
+                    return;
+                }
+
+                motionSmoother.commit(display);
+
+                if (display instanceof ItemDisplay) {
+                    player.openInventory(DisplayEntityEditor.inventoryFactory.createItemDisplayGUI((ItemDisplay) display));
+                } else if (display instanceof BlockDisplay) {
+                    player.openInventory(DisplayEntityEditor.inventoryFactory.createBlockDisplayGUI((BlockDisplay) display));
+                } else {
+                    player.openInventory(DisplayEntityEditor.inventoryFactory.createTextDisplayGUI((TextDisplay) display));
+                }
+            }
+
+            @Override
+            protected boolean isRecorded() {
+                return false;
+            }
+        };
+    }
+
+    private Tool rotation(boolean yaw) {
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                float amount = direction * Utilities.getToolPrecision(player);
+                Scheduling.forEach(displays, display -> {
+                    if (yaw) {
+                        Location location = rotateDisplay(player, display, amount, 0);
+                        Utilities.sendActionbarValue(player, "yaw", location.getYaw());
+                    } else {
+                        Location location = rotateDisplay(player, display, 0, amount);
+                        Utilities.sendActionbarValue(player, "pitch", location.getPitch());
+                    }
+                });
+            }
+
+            @Override
+            public void reset(Player player) {
+                resetDisplays(player, display -> {
+                    motionSmoother.commit(display);
+                    Location location = display.getLocation();
+                    display.setRotation(yaw ? 0 : location.getYaw(), yaw ? location.getPitch() : 0);
+                });
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().rotateLore(player);
+            }
+        };
+    }
+
+    private Tool move(int axis) {
+        String key = "move_" + AXES[axis];
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                double amount = direction * 0.1 * Utilities.getToolPrecision(player);
+                Scheduling.forEach(displays, display -> {
+                    Location location = moveDisplay(player, display, axis == 0 ? amount : 0, axis == 1 ? amount : 0, axis == 2 ? amount : 0);
+                    Utilities.sendActionbarValue(player, key, axis == 0 ? location.getX() : axis == 1 ? location.getY() : location.getZ());
+                });
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().moveLore(player);
+            }
+        };
+    }
+
+    private Tool translation(int axis) {
+        String key = "translation_" + AXES[axis];
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                float amount = (float) (direction * 0.1f * Utilities.getToolPrecision(player));
+                Scheduling.forEach(displays, display -> {
+                    Vector3f translation = transformationBuffer.edit(display).getTranslation();
+                    translation.setComponent(axis, translation.get(axis) + amount);
+                    Utilities.sendActionbarValue(player, key, translation.get(axis));
+                });
+            }
+
+            @Override
+            public void reset(Player player) {
+                resetDisplays(player, display -> transformationBuffer.edit(display).getTranslation().setComponent(axis, 0));
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().translationLore(player);
+            }
+        };
+    }
+
+    private Tool scale(int axis) {
+        String key = "scale_" + AXES[axis];
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                float amount = (float) (direction * 0.1f * Utilities.getToolPrecision(player));
+                Scheduling.forEach(displays, display -> {
+                    Vector3f scale = transformationBuffer.edit(display).getScale();
+                    scale.setComponent(axis, scale.get(axis) + amount);
+                    Utilities.sendActionbarValue(player, key, scale.get(axis));
+                });
+            }
+
+            @Override
+            public void reset(Player player) {
+                resetDisplays(player, display -> transformationBuffer.edit(display).getScale().setComponent(axis, 0));
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().scaleLore(player);
+            }
+        };
+    }
+
+    private Tool leftRotation(int axis) {
+        return quaternion(axis, "left_rot_" + AXES[axis], "GUILRNormalize", Transformation::getLeftRotation, p -> items().leftRotationLore(p));
+    }
+
+    private Tool rightRotation(int axis) {
+        return quaternion(axis, "right_rot_" + AXES[axis], "GUIRRNormalize", Transformation::getRightRotation, p -> items().rightRotationLore(p));
+    }
+
+    private Tool quaternion(int axis, String key, String normalizeKey, Function<Transformation, Quaternionf> rotation, Function<Player, List<String>> loreOf) {
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                float amount = (float) (direction * 0.1f * Utilities.getToolPrecision(player));
+                Scheduling.forEach(displays, display -> {
+                    Quaternionf q = rotation.apply(transformationBuffer.edit(display));
+                    boolean b = Utilities.getData(display, normalizeKey);
+                    Transformations.set(q, axis, Transformations.get(q, axis) + amount);
+                    if (b) {
+                        q.normalize();
+                    }
+                    Utilities.sendActionbarValue(player, key, Transformations.get(q, axis), (b ? DisplayEntityEditor.messageManager.getString("normalized") : ""));
+                });
+            }
+
+            @Override
+            public void reset(Player player) {
+                resetDisplays(player, display -> Transformations.set(rotation.apply(transformationBuffer.edit(display)), axis, 0));
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return loreOf.apply(player);
+            }
+        };
+    }
+
+    private Tool centerPivot() {
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                Scheduling.forEach(displays, display -> {
+                    Transformation t = transformationBuffer.edit(display);
+                    if (display instanceof BlockDisplay) {
+                        t.getTranslation().set(-1 * (t.getScale().x() / 2), -1 * (t.getScale().y() / 2), -1 * (t.getScale().z() / 2));
+                    } else {
+                        t.getTranslation().set(0, 0, 0);
+                    }
+                });
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("center_pivot"));
+            }
+        };
+    }
+
+    private Tool centerBlock() {
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                Scheduling.forEach(displays, display -> {
+                    motionSmoother.commit(display);
+                    if (display instanceof BlockDisplay) {
+                        Transformation t = transformationBuffer.edit(display);
+                        t.getTranslation().set(-1 * (t.getScale().x() / 2), -1 * (t.getScale().y() / 2), -1 * (t.getScale().z() / 2));
+                    }
+
+                    Location loc = display.getLocation();
+                    loc.setX((int) loc.getX() + (((loc.getX()) < 0 ? -1 : 1) * 0.5));
+                    loc.setZ((int) loc.getZ() + (((loc.getZ()) < 0 ? -1 : 1) * 0.5));
+                    // Sneaking keeps the height of the display
+                    if (direction > 0) {
+                        loc.setY((int) loc.getY() + (((loc.getY()) < 0 ? -1 : 1) * 0.5));
+                    }
+                    display.teleport(loc);
+                    DisplayEntityEditor.getPlugin().getDisplayIndex().update(display);
+                    Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("center_block", loc.getX(), loc.getY(), loc.getZ()));
+                });
+            }
+        };
+    }
+
+    private Tool highlight() {
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                Scheduling.forEach(displays, EditorTools::highlightEntity);
+            }
+
+            @Override
+            protected boolean isRecorded() {
+                return false;
+            }
+        };
+    }
+
+    private Tool cloneTool() {
+        return new DisplayTool(editingHandler, editJournal) {
+            @Override
+            protected void edit(Player player, Collection<Display> displays, int direction) {
+                if (!bulkCloner.clone(player, displays)) {
+                    player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("clone_busy")));
+                }
+            }
+
+            @Override
+            protected boolean isRecorded() {
+                return false;
+            }
+
+            @Override
+            public void reset(Player player) {
+                if (bulkCloner.cancel(player)) {
+                    Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("clone_cancelled"));
+                }
+            }
+        };
+    }
+
+    private Tool spawn(EntityType type, String message) {
+        return player -> {
+            spawnDisplayEntity(player.getLocation(), type);
+            player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString(message)));
+        };
+    }
+
+    private Tool spawnPrefab() {
+        return player -> {
+            String name = player.getPersistentDataContainer().get(DisplayEntityEditor.selectedPrefabKey, PersistentDataType.STRING);
+            if (name == null || !prefabLibrary.contains(name)) {
+                player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("prefab_none_selected")));
+                return;
+            }
+            // The future is completed on the global region on Folia, while the prefab has to be placed by the region of the player
+            prefabLibrary.get(name).whenComplete((entries, e) -> Scheduling.run(player, () -> {
+                if (!player.isOnline()) {
+                    return;
+                }
+                if (e != null) {
+                    player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.format("prefab_fail", e.getMessage())));
+                } else if (!buildManager.place(player, entries)) {
+                    player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("import_busy")));
+                }
+            }));
+        };
+    }
+
+    private Tool unlock() {
+        return player -> {
+            Collection<Display> displays = editingHandler.getEditingDisplays(player, LockSearchMode.LOCKED);
+
+            if (displays == null) {
+                player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("unlock_fail")));
+                return;
+            }
+
+            displays.forEach(display -> {
+                editJournal.recordProperty(player, display, DisplayProperty.LOCKED);
+                //Please do not replace these scoreboard tag locks with persistent data storage! This is an intentional design choice so that you can use vanilla commands to target locked displays
+                DisplayEntityEditor.getPlugin().getLockStateCache().setLocked(display, false);
+                highlightEntity(display);
+            });
+
+            player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("unlock_success")));
+        };
+    }
+
+    private Tool toolPrecision() {
+        return new Tool() {
+            @Override
+            public void rightClick(Player player) {
+                double d0 = Utilities.getToolPrecision(player);
+                if (d0 < 1) {
+                    d0 = Math.min(10, d0 + 0.1);
+                } else {
+                    d0 = Math.min(10, d0 + 1);
+                }
+                setPrecision(player, d0);
+            }
+
+            @Override
+            public void sneakRightClick(Player player) {
+                double d0 = Utilities.getToolPrecision(player);
+                if (d0 > 1) {
+                    d0 = Math.max(0.1, d0 - 1);
+                } else {
+                    d0 = Math.max(0.1, d0 - 0.1);
+                }
+                setPrecision(player, d0);
+            }
+
+            private void setPrecision(Player player, double d0) {
+                d0 = (double) Math.round(d0 * 1000) / 1000;
+                ToolSettings.of(player).setPrecision(d0);
+                refreshItems(player);
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("tool_precision", df.format(d0)));
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().toolPrecisionLore(player);
+            }
+        };
+    }
+
+    private Tool toolSelectionRange() {
+        return new Tool() {
+            @Override
+            public void rightClick(Player player) {
+                double d1 = Utilities.getToolSelectRange(player);
+                if (d1 < 2) {
+                    d1 = Math.min(15, d1 + 0.25);
+                } else {
+                    d1 = Math.min(15, d1 + 1);
+                }
+                setRange(player, d1);
+            }
+
+            @Override
+            public void sneakRightClick(Player player) {
+                double d1 = Utilities.getToolSelectRange(player);
+                if (d1 > 2) {
+                    d1 = Math.max(0.25, d1 - 1);
+                } else {
+                    d1 = Math.max(0.25, d1 - 0.25);
+                }
+                setRange(player, d1);
+            }
+
+            private void setRange(Player player, double d1) {
+                d1 = (double) Math.round(d1 * 1000) / 1000;
+                ToolSettings.of(player).setRange(d1);
+                refreshItems(player);
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("tool_range", df.format(d1)));
+            }
+
+            @Override
+            public void reset(Player player) {
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("value_reset"));
+                ToolSettings.of(player).resetRange();
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().toolSelectionRangeLore(player);
+            }
+        };
+    }
+
+    private Tool toolSelectionMode() {
+        return new Tool() {
+            @Override
+            public void rightClick(Player player) {
+                setMode(player, Utilities.getToolSelectMode(player).nextMode());
+            }
+
+            @Override
+            public void sneakRightClick(Player player) {
+                setMode(player, Utilities.getToolSelectMode(player).previousMode());
+            }
+
+            private void setMode(Player player, SelectionMode mode) {
+                ToolSettings.of(player).setSelectionMode(mode);
+                refreshItems(player);
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("tool_selection_changed", Utilities.getObjectNameMessage(mode)));
+            }
+
+            @Override
+            public void reset(Player player) {
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("value_reset"));
+                ToolSettings.of(player).resetSelectionMode();
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().toolSelectionModeLore(player);
+            }
+        };
+    }
+
+    private Tool toolSearchMode() {
+        return new Tool() {
+            @Override
+            public void rightClick(Player player) {
+                setMode(player, Utilities.getToolSearchMode(player).nextMode());
+            }
+
+            @Override
+            public void sneakRightClick(Player player) {
+                setMode(player, Utilities.getToolSearchMode(player).previousMode());
+            }
+
+            private void setMode(Player player, LockSearchMode mode) {
+                ToolSettings.of(player).setSearchMode(mode);
+                refreshItems(player);
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("tool_search_changed", Utilities.getObjectNameMessage(mode)));
+            }
+
+            @Override
+            public void reset(Player player) {
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("value_reset"));
+                ToolSettings.of(player).resetSearchMode();
+            }
+        };
+    }
+
+    private Tool toolSelectionMultiple() {
+        return new Tool() {
+            @Override
+            public void rightClick(Player player) {
+                boolean multiple = !Utilities.getToolSelectMultiple(player);
+                ToolSettings.of(player).setMultiple(multiple);
+                refreshItems(player);
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.format("tool_multiple_changed", Utilities.getObjectNameMessage(multiple)));
+            }
+
+            @Override
+            public void reset(Player player) {
+                Utilities.sendActionbarMessage(player, DisplayEntityEditor.messageManager.getString("value_reset"));
+                ToolSettings.of(player).resetMultiple();
+            }
+        };
+    }
+
+    private Tool groupSelect() {
+        return new Tool() {
+            @Override
+            public void rightClick(Player player) {
+                // In the box mode the corners are marked wherever the player stands, even if there are no displays nearby
+                if (Utilities.getToolSelectMode(player) == SelectionMode.BOX) {
+                    boxSelector.mark(player);
+                    return;
+                }
+                groupSelector.select(player, GroupFilter.of(player)).whenComplete((group, e) -> {
+                    // Cancelled because the player started another selection or left
+                    if (e != null) {
+                        return;
+                    }
+                    if (group.isEmpty()) {
+                        player.sendMessage(Utilities.getErrorMessageFormat(DisplayEntityEditor.messageManager.getString("group_select_fail")));
+                        return;
+                    }
+                    editingHandler.setEditingDisplays(player, DisplaySelection.of(group));
+                    highlightEntities(group);
+                    player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.format("group_select_success", group.size())));
+                });
+            }
+
+            @Override
+            public void sneakRightClick(Player player) {
+                boxSelector.cancel(player);
+                groupSelector.cancel(player);
+                editingHandler.removeEditingDisplays(player);
+                player.sendMessage(Utilities.getInfoMessageFormat(DisplayEntityEditor.messageManager.getString("group_select_clear")));
+            }
+
+            @Override
+            public List<String> lore(Player player) {
+                return items().groupSelectLore(player);
+            }
+        };
+    }
+
+    private static void refreshItems(Player player) {
+        DisplayEntityEditor.getPlugin().getToolRegistry().refreshItems(player);
+    }
+
+    /**
+     * Used to spawn a new display entity
+     * @param location The location of where it should be spawned
+     * @param type The specific type of display entity
+     */
+    private static void spawnDisplayEntity(Location location, EntityType type) {
+        assert location.getWorld() != null;
+        location.setYaw(0);
+        location.setPitch(0);
+        if (type != EntityType.BLOCK_DISPLAY) {
+            location.setX((int) location.getX() + (((location.getX()) < 0 ? -1 : 1) * 0.5));
+            location.setZ((int) location.getZ() + (((location.getZ()) < 0 ? -1 : 1) * 0.5));
+        }
+        if (location.getY() < 0) {
+            location.setY(location.getY() + 0.0001);
+        }
+        Display d = (Display) location.getWorld().spawnEntity(location, type, false);
+        d.setVisualFire(true);
+
+        if (d instanceof ItemDisplay) {
+            ((ItemDisplay) d).setItemStack(new ItemStack(Material.DIAMOND));
+        }
+        if (d instanceof BlockDisplay) {
+            ((BlockDisplay) d).setBlock(Bukkit.createBlockData(Material.GRASS_BLOCK));
+        }
+        if (d instanceof TextDisplay) {
+            ((TextDisplay) d).setText("YOUR TEXT HERE");
+            d.setBillboard(Display.Billboard.CENTER);
+        }
+    }
+
+    /**
+     * Used to highlight a specific display entity by making it glow and showing particles at its pivot point
+     * @param display The entity that should be highlighted
+     */
+    private static void highlightEntity(Display display) {
+        Scheduling.run(display, () -> {
+            display.setGlowing(true);
+            Scheduling.runLater(display, () -> display.setGlowing(false), 20L);
+            display.getWorld().spawnParticle(Particle.HAPPY_VILLAGER, display.getLocation(), 50, 0.2, 0.2, 0.2, 0);
+        });
+    }
+
+    /**
+     * Used to highlight a large amount of displays without spawning particles for every single one of them.
+     * At most as many displays as the highlight budget allows are highlighted, spread evenly over the whole list.
+     * @param displays The displays
+     */
+    private static void highlightEntities(List<Display> displays) {
+        int budget = DisplayEntityEditor.groupSelectHighlightBudget;
+        if (budget <= 0) {
+            return;
+        }
+        int step = Math.max(1, (displays.size() + budget - 1) / budget);
+        for (int i = 0; i < displays.size(); i += step) {
+            highlightEntity(displays.get(i));
+        }
+    }
+
+    /**
+     * Used to move a display entity, either by teleporting it or smoothly if smooth tool motion is enabled
+     * @param player The player moving the display
+     * @param display The display
+     * @param x The offset along the x-axis
+     * @param y The offset along the y-axis
+     * @param z The offset along the z-axis
+     * @return The location the display is moved to
+     */
+    private Location moveDisplay(Player player, Display display, double x, double y, double z) {
+        if (motionSmoother.canSmooth(display)) {
+            motionSmoother.move(player, display, x, y, z);
+            return motionSmoother.getLocation(display);
+        }
+        motionSmoother.commit(display);
+        Location location = display.getLocation().add(x, y, z);
+        display.teleport(location);
+        DisplayEntityEditor.getPlugin().getDisplayIndex().update(display);
+        return location;
+    }
+
+    /**
+     * Used to rotate a display entity, either by setting its rotation or smoothly if smooth tool motion is enabled
+     * @param player The player rotating the display
+     * @param display The display
+     * @param yaw The amount the yaw should change by
+     * @param pitch The amount the pitch should change by
+     * @return The location of the display, including its new rotation
+     */
+    private Location rotateDisplay(Player player, Display display, float yaw, float pitch) {
+        if (motionSmoother.canSmooth(display)) {
+            motionSmoother.rotate(player, display, yaw, pitch);
+            return motionSmoother.getLocation(display);
+        }
+        motionSmoother.commit(display);
+        Location location = display.getLocation();
+        display.setRotation(location.getYaw() + yaw, location.getPitch() + pitch);
+        return display.getLocation();
+    }
+}
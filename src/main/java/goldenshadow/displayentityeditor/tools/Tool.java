@@ -0,0 +1,44 @@
+package goldenshadow.displayentityeditor.tools;
+
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * What a tool item does when it is used. Tools are registered in the {@link ToolRegistry} under the name their items are tagged with,
+ * which is also how other plugins can add their own tools.
+ */
+public interface Tool {
+
+    /**
+     * Used for when a player right-clicks with the tool
+     * @param player The player
+     */
+    void rightClick(Player player);
+
+    /**
+     * Used for when a player right-clicks with the tool while sneaking, which does the same as a right-click unless overridden
+     * @param player The player
+     */
+    default void sneakRightClick(Player player) {
+        rightClick(player);
+    }
+
+    /**
+     * Used for when a player swaps the tool to their offhand, which usually resets the value the tool changes
+     * @param player The player
+     */
+    default void reset(Player player) {
+    }
+
+    /**
+     * Used to get the lore the item of the tool should have with the current tool settings of a player, so it can be updated after they changed
+     * @param player The player
+     * @return The lore with color codes already translated, or null if the lore of the tool does not depend on the tool settings
+     */
+    @Nullable
+    default List<String> lore(Player player) {
+        return null;
+    }
+}
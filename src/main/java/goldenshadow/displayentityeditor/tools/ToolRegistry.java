@@ -0,0 +1,134 @@
+package goldenshadow.displayentityeditor.tools;
+
+import goldenshadow.displayentityeditor.DisplayEntityEditor;
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every tool that exists, looked up by the tags of their items.
+ * <p>
+ * Tool items are tagged with the name of their tool and with its id, which is the position of the tool in this registry.
+ * The tools of this plugin are always registered first and in the same order, so their ids usually stay the same across restarts
+ * and an item can be resolved with an array lookup instead of a map lookup. An id is only trusted if the tool at that position
+ * has the name the item is tagged with, so items whose id went stale, because tools were registered in a different order
+ * since they were made, are still resolved by name.
+ */
+public class ToolRegistry {
+
+    private volatile Registered[] tools = new Registered[0];
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<UUID, ToolSlots> slots = new ConcurrentHashMap<>();
+    private boolean sealed;
+
+    /**
+     * Used to register a tool of another plugin. Its items only have to be tagged with the name under {@link DisplayEntityEditor#toolKey}.
+     * @param name The name the items of the tool are tagged with
+     * @param tool The tool
+     * @return The id of the tool, which is only valid until the server restarts
+     */
+    public synchronized int register(String name, Tool tool) {
+        sealed = true;
+        return add(name, tool);
+    }
+
+    /**
+     * Used to register a tool of this plugin
+     * @param name The name the items of the tool are tagged with
+     * @param tool The tool
+     */
+    synchronized void registerBuiltIn(String name, Tool tool) {
+        if (sealed) {
+            throw new IllegalStateException("The tools of this plugin have to be registered before the ones of other plugins");
+        }
+        add(name, tool);
+    }
+
+    private int add(String name, Tool tool) {
+        if (ids.containsKey(name)) {
+            throw new IllegalArgumentException("A tool called " + name + " is already registered");
+        }
+        int id = tools.length;
+        Registered[] copy = Arrays.copyOf(tools, id + 1);
+        copy[id] = new Registered(name, tool);
+        tools = copy;
+        ids.put(name, id);
+        return id;
+    }
+
+    /**
+     * Used to get the tool of an item. The data of the item is only read once and not copied.
+     * @param item The item
+     * @return The tool, or null if the item is not the item of a registered tool
+     */
+    @Nullable
+    public Tool get(@Nullable ItemStack item) {
+        if (item == null || item.isEmpty()) {
+            return null;
+        }
+        PersistentDataContainerView container = item.getPersistentDataContainer();
+        String name = container.get(DisplayEntityEditor.toolKey, PersistentDataType.STRING);
+        if (name == null) {
+            return null;
+        }
+        Integer id = container.get(DisplayEntityEditor.toolIdKey, PersistentDataType.INTEGER);
+        Registered[] tools = this.tools;
+        if (id != null && id >= 0 && id < tools.length && tools[id].name().equals(name)) {
+            return tools[id].tool();
+        }
+        // Items created before tools had ids, or whose id belongs to another tool by now
+        return get(name);
+    }
+
+    /**
+     * Used to get a tool by the name its items are tagged with
+     * @param name The name
+     * @return The tool, or null if there is none with that name
+     */
+    @Nullable
+    public Tool get(String name) {
+        Integer id = ids.get(name);
+        return id == null ? null : tools[id].tool();
+    }
+
+    /**
+     * Used to tag the data of an item with the id of a tool, if a tool with that name is registered
+     * @param container The data of the item
+     * @param name The name of the tool
+     */
+    public void tag(PersistentDataContainer container, String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            container.set(DisplayEntityEditor.toolIdKey, PersistentDataType.INTEGER, id);
+        }
+    }
+
+    /**
+     * Used to update the lore of the tool items of a player after their tool settings changed
+     * @param player The player
+     */
+    public void refreshItems(Player player) {
+        slots.computeIfAbsent(player.getUniqueId(), uuid -> new ToolSlots()).refresh(player, this);
+    }
+
+    /**
+     * Used to forget the slots of the tools of a player, once they left
+     * @param player The player
+     */
+    public void forget(Player player) {
+        slots.remove(player.getUniqueId());
+    }
+
+    /**
+     * A registered tool together with the name its items are tagged with
+     */
+    private record Registered(String name, Tool tool) {}
+}
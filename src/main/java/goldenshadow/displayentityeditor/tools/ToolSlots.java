@@ -0,0 +1,111 @@
+package goldenshadow.displayentityeditor.tools;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.ItemLore;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The slots the tools of a single player are in, together with the lore each of those items was last given.
+ * This way a change of the tool settings only has to look at the slots holding tools, and only rewrites the lore
+ * of the items that actually show a different value afterwards.
+ * <p>
+ * The slots are found by scanning the inventory once. Before they are used, every known slot is checked to still hold
+ * the same tool, and the inventory is scanned again if one does not, for example after the inventory was cycled.
+ * A tool the player picked up into an empty slot without moving any other tool is only found by the next scan.
+ */
+class ToolSlots {
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private int[] slots = new int[0];
+    private Tool[] tools = new Tool[0];
+    private List<String>[] lore = newLoreArray(0);
+
+    /**
+     * Used to update the lore of every tool item of a player
+     * @param player The player
+     * @param registry The registry the tools are looked up in
+     */
+    void refresh(Player player, ToolRegistry registry) {
+        PlayerInventory inventory = player.getInventory();
+        if (!isValid(inventory, registry)) {
+            scan(inventory, registry);
+        }
+        for (int i = 0; i < slots.length; i++) {
+            List<String> current = tools[i].lore(player);
+            if (current == null || current.equals(lore[i])) {
+                continue;
+            }
+            ItemStack item = inventory.getItem(slots[i]);
+            if (item == null) {
+                continue;
+            }
+            item.setData(DataComponentTypes.LORE, ItemLore.lore(toComponents(current)));
+            inventory.setItem(slots[i], item);
+            lore[i] = current;
+        }
+    }
+
+    private boolean isValid(PlayerInventory inventory, ToolRegistry registry) {
+        if (slots.length == 0) {
+            return false;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            if (registry.get(inventory.getItem(slots[i])) != tools[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void scan(PlayerInventory inventory, ToolRegistry registry) {
+        ItemStack[] contents = inventory.getContents();
+        int[] foundSlots = new int[contents.length];
+        Tool[] foundTools = new Tool[contents.length];
+        int size = 0;
+        for (int i = 0; i < contents.length; i++) {
+            Tool tool = registry.get(contents[i]);
+            if (tool != null) {
+                foundSlots[size] = i;
+                foundTools[size] = tool;
+                size++;
+            }
+        }
+        List<String>[] foundLore = newLoreArray(size);
+        for (int i = 0; i < size; i++) {
+            // A tool that only moved keeps its lore, the lore of a tool that was not known yet is rewritten once
+            for (int j = 0; j < tools.length; j++) {
+                if (tools[j] == foundTools[i]) {
+                    foundLore[i] = lore[j];
+                    break;
+                }
+            }
+        }
+        slots = Arrays.copyOf(foundSlots, size);
+        tools = Arrays.copyOf(foundTools, size);
+        lore = foundLore;
+    }
+
+    private static List<Component> toComponents(List<String> lines) {
+        List<Component> components = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            // Lore set through the item meta is not italic, so patched lore should not be either
+            components.add(LEGACY.deserialize(line).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE));
+        }
+        return components;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newLoreArray(int size) {
+        return (List<String>[]) new List[size];
+    }
+}
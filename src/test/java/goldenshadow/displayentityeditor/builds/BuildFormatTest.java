@@ -0,0 +1,145 @@
+package goldenshadow.displayentityeditor.builds;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes builds with a {@link BuildWriter} and reads them back with a {@link BuildReader}. Entries are compared by the bytes
+ * they are written as, so every field takes part without the test needing a display.
+ */
+class BuildFormatTest {
+
+    @Test
+    void roundTripAcrossChunks() throws IOException {
+        // More than two chunks, with the last one not full
+        List<byte[]> originals = new ArrayList<>();
+        for (int i = 0; i < BuildWriter.CHUNK_SIZE * 2 + 17; i++) {
+            originals.add(textEntry(i, "Line " + i, (byte) (i % 3)));
+        }
+        byte[] build = write(originals);
+
+        List<byte[]> read = new ArrayList<>();
+        try (BuildReader reader = new BuildReader(new ByteArrayInputStream(build))) {
+            BuildEntry entry;
+            while ((entry = reader.next()) != null) {
+                read.add(bytes(entry));
+            }
+        }
+        assertEquals(originals.size(), read.size());
+        for (int i = 0; i < originals.size(); i++) {
+            assertArrayEquals(originals.get(i), read.get(i), "entry " + i);
+        }
+    }
+
+    @Test
+    void emptyBuild() throws IOException {
+        try (BuildReader reader = new BuildReader(new ByteArrayInputStream(write(List.of())))) {
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void corruptOrdinalFails() {
+        byte[] entry = textEntry(0, "text", (byte) 100);
+        assertThrows(IOException.class, () -> BuildEntry.read(new DataInputStream(new ByteArrayInputStream(entry)), BuildWriter.VERSION));
+    }
+
+    @Test
+    void unknownTypeFails() {
+        byte[] entry = textEntry(0, "text", (byte) 0);
+        entry[0] = 7;
+        assertThrows(IOException.class, () -> BuildEntry.read(new DataInputStream(new ByteArrayInputStream(entry)), BuildWriter.VERSION));
+    }
+
+    @Test
+    void cutOffFileFails() throws IOException {
+        byte[] build = write(List.of(textEntry(0, "text", (byte) 0), textEntry(1, "more text", (byte) 1)));
+        byte[] cutOff = Arrays.copyOf(build, build.length - 8);
+        try (BuildReader reader = new BuildReader(new ByteArrayInputStream(cutOff))) {
+            assertThrows(IOException.class, () -> {
+                while (reader.next() != null) {
+                    // Read until the end of the file is reached
+                }
+            });
+        }
+    }
+
+    @Test
+    void notABuildFails() {
+        byte[] bytes = "not a build file".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> new BuildReader(new ByteArrayInputStream(bytes)));
+    }
+
+    private static byte[] write(List<byte[]> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BuildWriter writer = new BuildWriter(out)) {
+            for (byte[] entry : entries) {
+                writer.write(BuildEntry.read(new DataInputStream(new ByteArrayInputStream(entry)), BuildWriter.VERSION));
+            }
+            assertEquals(entries.size(), writer.getWritten());
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(BuildEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        entry.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Used to write a text display entry by hand, in the layout {@link BuildEntry#write(DataOutput)} uses
+     */
+    private static byte[] textEntry(int i, String text, byte alignment) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(2);
+            out.writeFloat(i);
+            out.writeFloat(1.5f);
+            out.writeFloat(-i);
+            out.writeFloat(90);
+            out.writeFloat(-10);
+            float[] transformation = {0.5f, 0, -0.5f, 0, 0, 0, 1, 1, 2, 1, 0, 0.7071068f, 0, 0.7071068f};
+            for (float f : transformation) {
+                out.writeFloat(f);
+            }
+            out.writeByte(i % 4);
+            out.writeByte(1 | 1 << 3);
+            out.writeFloat(1);
+            out.writeFloat(0);
+            out.writeFloat(1);
+            out.writeFloat(0);
+            out.writeFloat(0);
+            out.writeShort(i % 2 == 0 ? -1 : 15 << 4 | 7);
+            out.writeBoolean(true);
+            out.writeInt(0xFF00FF00);
+            writeString(out, i % 3 == 0 ? null : "Name " + i);
+            writeString(out, text);
+            out.writeBoolean(false);
+            out.writeByte(-1);
+            out.writeByte(alignment);
+            out.writeInt(200);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
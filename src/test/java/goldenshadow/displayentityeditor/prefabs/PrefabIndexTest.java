@@ -0,0 +1,90 @@
+package goldenshadow.displayentityeditor.prefabs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes prefab indexes and reads them back, including indexes in the format from before packs had names
+ */
+class PrefabIndexTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void roundTrip() throws IOException {
+        Path file = folder.resolve("prefabs.index");
+        List<PrefabLibrary.Prefab> prefabs = List.of(
+                new PrefabLibrary.Prefab("tree", 0, 1234, 40),
+                new PrefabLibrary.Prefab("lamp_post", 1234, 99, 3),
+                new PrefabLibrary.Prefab("großes-haus", 1L << 33, Integer.MAX_VALUE, 100000));
+        PrefabIndex.write(file, "prefabs-1700000000000.pack", prefabs);
+
+        PrefabIndex index = PrefabIndex.read(file);
+        assertEquals("prefabs-1700000000000.pack", index.pack());
+        assertEquals(prefabs, index.prefabs());
+    }
+
+    @Test
+    void emptyIndex() throws IOException {
+        Path file = folder.resolve("prefabs.index");
+        PrefabIndex.write(file, "prefabs.pack", List.of());
+        assertEquals(new PrefabIndex("prefabs.pack", List.of()), PrefabIndex.read(file));
+    }
+
+    @Test
+    void replacingLeavesNoTemporaryFiles() throws IOException {
+        Path file = folder.resolve("prefabs.index");
+        PrefabIndex.write(file, "prefabs.pack", List.of(new PrefabLibrary.Prefab("a", 0, 10, 1)));
+        PrefabIndex.write(file, "prefabs.pack", List.of(new PrefabLibrary.Prefab("b", 10, 20, 2)));
+        assertEquals(List.of(new PrefabLibrary.Prefab("b", 10, 20, 2)), PrefabIndex.read(file).prefabs());
+        try (var files = Files.list(folder)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void readsVersionOne() throws IOException {
+        Path file = folder.resolve("prefabs.index");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(PrefabIndex.MAGIC);
+            out.writeShort(1);
+            out.writeInt(1);
+            byte[] name = "tree".getBytes(StandardCharsets.UTF_8);
+            out.writeByte(name.length);
+            out.write(name);
+            out.writeLong(0);
+            out.writeInt(1234);
+            out.writeInt(40);
+        }
+        PrefabIndex index = PrefabIndex.read(file);
+        assertNull(index.pack());
+        assertEquals(List.of(new PrefabLibrary.Prefab("tree", 0, 1234, 40)), index.prefabs());
+    }
+
+    @Test
+    void cutOffIndexFails() throws IOException {
+        Path file = folder.resolve("prefabs.index");
+        PrefabIndex.write(file, "prefabs.pack", List.of(new PrefabLibrary.Prefab("tree", 0, 1234, 40)));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> PrefabIndex.read(file));
+    }
+
+    @Test
+    void notAnIndexFails() throws IOException {
+        Path file = folder.resolve("prefabs.index");
+        Files.writeString(file, "definitely not an index");
+        assertThrows(IOException.class, () -> PrefabIndex.read(file));
+    }
+}